@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.setup.DependencyAnalysis;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testcase.factories.RandomLengthTestFactory;
+import org.evosuite.utils.Randomness;
+
+/**
+ * Sets up EvoSuite for one of the synthetic classes under test shipped with
+ * the client test sources, the same way the client unit tests do, so that
+ * benchmarks measure the search components against a real test cluster.
+ */
+public class BenchmarkFixture {
+
+	/** Classes under test used by the benchmarks that need a test cluster */
+	public static final String FLAG_EXAMPLE = "com.examples.with.different.packagename.FlagExample1";
+
+	public static final String ARRAY_STACK = "com.examples.with.different.packagename.ArrayStack";
+
+	public static final long SEED = 42;
+
+	private BenchmarkFixture() {
+	}
+
+	/**
+	 * Resets all global state and analyzes the given class under test
+	 * 
+	 * @param targetClass
+	 * @throws ClassNotFoundException
+	 */
+	public static void setUpTarget(String targetClass) throws ClassNotFoundException {
+		ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+		Properties.getInstance().resetToDefaults();
+		TestGenerationContext.getInstance().resetContext();
+		ClassReInitializer.resetSingleton();
+		Randomness.setSeed(SEED);
+
+		// Output and statistics are irrelevant for the measurements
+		Properties.TARGET_CLASS = targetClass;
+		Properties.ASSERTIONS = false;
+
+		String cp = ClassPathHandler.getInstance().getTargetProjectClasspath();
+		DependencyAnalysis.analyzeClass(targetClass, Arrays.asList(cp.split(File.pathSeparator)));
+	}
+
+	/**
+	 * Generates and executes a fixed number of random tests for the current
+	 * target. The execution results are attached to the chromosomes.
+	 * 
+	 * @param number
+	 * @return
+	 */
+	public static List<TestChromosome> randomTests(int number) {
+		RandomLengthTestFactory factory = new RandomLengthTestFactory();
+		List<TestChromosome> tests = new ArrayList<>(number);
+		for (int i = 0; i < number; i++) {
+			TestChromosome test = factory.getChromosome();
+			ExecutionResult result = TestCaseExecutor.runTest(test.getTestCase());
+			test.setLastExecutionResult(result);
+			test.setChanged(false);
+			tests.add(test);
+		}
+		return tests;
+	}
+
+	/**
+	 * Restores the global state after a benchmark trial
+	 */
+	public static void tearDown() {
+		TestCaseExecutor.pullDown();
+		ExecutionTracer.getExecutionTracer().clear();
+		TestGenerationContext.getInstance().resetContext();
+		Properties.getInstance().resetToDefaults();
+	}
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and writes the raw JMH results as JSON together with a
+ * CSV summary. If a baseline CSV from a previous run is given, every benchmark
+ * is compared against it and the process exits with status 1 if any of them
+ * got slower by more than the threshold.
+ * 
+ * <pre>
+ * java -jar evosuite-benchmarks.jar [-o dir] [-baseline file.csv] [-threshold percent] [regexp...]
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+	private static final String CSV_HEADER = "benchmark,params,score,error,unit";
+
+	private static final double DEFAULT_THRESHOLD = 10.0;
+
+	public static void main(String[] args) throws RunnerException, IOException {
+		File outputDir = new File("benchmark-results");
+		File baseline = null;
+		double threshold = DEFAULT_THRESHOLD;
+		List<String> includes = new ArrayList<>();
+
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "-o":
+				outputDir = new File(args[++i]);
+				break;
+			case "-baseline":
+				baseline = new File(args[++i]);
+				break;
+			case "-threshold":
+				threshold = Double.parseDouble(args[++i]);
+				break;
+			default:
+				includes.add(args[i]);
+			}
+		}
+		if (includes.isEmpty())
+			includes.add(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark");
+
+		outputDir.mkdirs();
+		File json = new File(outputDir, "results.json");
+		File csv = new File(outputDir, "results.csv");
+
+		ChainedOptionsBuilder options = new OptionsBuilder().resultFormat(ResultFormatType.JSON)
+		        .result(json.getAbsolutePath());
+		for (String include : includes)
+			options.include(include);
+		Collection<RunResult> results = new Runner(options.build()).run();
+
+		Map<String, String[]> current = summarize(results);
+		writeCsv(current, csv);
+		System.out.println("Results written to " + json + " and " + csv);
+
+		if (baseline != null) {
+			int regressions = compare(readCsv(baseline), current, threshold);
+			if (regressions > 0) {
+				System.out.println(regressions + " benchmark(s) regressed by more than " + threshold + "%");
+				System.exit(1);
+			}
+		}
+	}
+
+	/**
+	 * One CSV row per benchmark and parameter combination, keyed by the first
+	 * two columns
+	 */
+	private static Map<String, String[]> summarize(Collection<RunResult> results) {
+		Map<String, String[]> rows = new LinkedHashMap<>();
+		for (RunResult result : results) {
+			BenchmarkParams params = result.getParams();
+			StringBuilder values = new StringBuilder();
+			for (String key : params.getParamsKeys()) {
+				if (values.length() > 0)
+					values.append(';');
+				values.append(key).append('=').append(params.getParam(key));
+			}
+			Result<?> primary = result.getPrimaryResult();
+			String[] row = new String[] { params.getBenchmark(), values.toString(),
+			        String.format(Locale.ROOT, "%.4f", primary.getScore()),
+			        String.format(Locale.ROOT, "%.4f", primary.getScoreError()), primary.getScoreUnit() };
+			rows.put(row[0] + "," + row[1], row);
+		}
+		return rows;
+	}
+
+	private static void writeCsv(Map<String, String[]> rows, File file) throws IOException {
+		try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+			out.println(CSV_HEADER);
+			for (String[] row : rows.values())
+				out.println(String.join(",", row));
+		}
+	}
+
+	private static Map<String, String[]> readCsv(File file) throws IOException {
+		Map<String, String[]> rows = new LinkedHashMap<>();
+		try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			String line = in.readLine(); // header
+			while ((line = in.readLine()) != null) {
+				String[] row = line.split(",", -1);
+				if (row.length == 5)
+					rows.put(row[0] + "," + row[1], row);
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * All benchmarks report the average time per operation, so a higher score
+	 * is worse
+	 * 
+	 * @return the number of regressions above the threshold
+	 */
+	private static int compare(Map<String, String[]> baseline, Map<String, String[]> current, double threshold) {
+		int regressions = 0;
+		System.out.println(String.format(Locale.ROOT, "%-70s %12s %12s %9s", "Benchmark", "Baseline", "Current",
+		        "Change"));
+		for (Map.Entry<String, String[]> entry : current.entrySet()) {
+			String[] now = entry.getValue();
+			String[] before = baseline.get(entry.getKey());
+			String name = now[0].substring(now[0].lastIndexOf('.', now[0].lastIndexOf('.') - 1) + 1)
+			        + (now[1].isEmpty() ? "" : " [" + now[1] + "]");
+			if (before == null) {
+				System.out.println(String.format(Locale.ROOT, "%-70s %12s %12s %9s", name, "-", now[2], "new"));
+				continue;
+			}
+			if (!before[4].equals(now[4])) {
+				System.out.println(String.format(Locale.ROOT, "%-70s units differ (%s vs %s)", name, before[4],
+				        now[4]));
+				continue;
+			}
+			double oldScore = Double.parseDouble(before[2]);
+			double newScore = Double.parseDouble(now[2]);
+			double change = oldScore == 0.0 ? 0.0 : 100.0 * (newScore - oldScore) / oldScore;
+			boolean regressed = change > threshold;
+			if (regressed)
+				regressions++;
+			System.out.println(String.format(Locale.ROOT, "%-70s %12.4f %12.4f %+8.1f%%%s", name, oldScore,
+			        newScore, change, regressed ? " !" : ""));
+		}
+		return regressions;
+	}
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.branch.BranchCoverageFactory;
+import org.evosuite.coverage.branch.BranchCoverageTestFitness;
+import org.evosuite.testcase.TestChromosome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Branch fitness (approach level and branch distance) of all branch goals of
+ * the class under test, evaluated on the stored execution result of a test.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BranchFitnessBenchmark {
+
+	@Param({ BenchmarkFixture.FLAG_EXAMPLE, BenchmarkFixture.ARRAY_STACK })
+	public String target;
+
+	private List<BranchCoverageTestFitness> goals;
+
+	private List<TestChromosome> tests;
+
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() throws ClassNotFoundException {
+		BenchmarkFixture.setUpTarget(target);
+		// Only measure the fitness computation itself
+		Properties.TEST_ARCHIVE = false;
+		goals = new BranchCoverageFactory().getCoverageGoals();
+		tests = BenchmarkFixture.randomTests(32);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkFixture.tearDown();
+	}
+
+	@Benchmark
+	public double allGoalsOnOneTest() {
+		TestChromosome test = tests.get(next++ % tests.size());
+		double sum = 0.0;
+		for (BranchCoverageTestFitness goal : goals)
+			sum += goal.getFitness(test, test.getLastExecutionResult());
+		return sum;
+	}
+}
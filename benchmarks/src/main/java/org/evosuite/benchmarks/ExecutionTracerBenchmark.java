@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the probes the instrumented code calls on every executed method,
+ * line and branch. A benchmark invocation simulates one call of an
+ * instrumented method with a fixed number of conditional branches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExecutionTracerBenchmark {
+
+	private static final String CLASS_NAME = "com.examples.Synthetic";
+
+	private static final String METHOD_NAME = "method(I)I";
+
+	/** The trace keeps every finished call, so it is cleared periodically */
+	private static final int CALLS_BEFORE_CLEAR = 1024;
+
+	@Param({ "4", "32" })
+	public int branches;
+
+	private ExecutionTraceImpl trace;
+
+	private int calls;
+
+	private int value;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Properties.getInstance().resetToDefaults();
+		ExecutionTracer.setThread(Thread.currentThread());
+		ExecutionTracer.enable();
+		ExecutionTracer.getExecutionTracer().clear();
+		trace = new ExecutionTraceImpl();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		ExecutionTracer.getExecutionTracer().clear();
+		Properties.getInstance().resetToDefaults();
+	}
+
+	/**
+	 * The static probes, including the thread, timeout and dynamic constant
+	 * bookkeeping done before the trace is updated
+	 */
+	@Benchmark
+	public void tracerProbes() {
+		if (++calls % CALLS_BEFORE_CLEAR == 0)
+			ExecutionTracer.getExecutionTracer().clear();
+
+		ExecutionTracer.enteredMethod(CLASS_NAME, METHOD_NAME, null, 0);
+		for (int branch = 1; branch <= branches; branch++) {
+			ExecutionTracer.passedLine(CLASS_NAME, METHOD_NAME, branch);
+			ExecutionTracer.passedBranch(value++, branch, Opcodes.IF_ICMPLT, branch, branch);
+		}
+		ExecutionTracer.leftMethod(CLASS_NAME, METHOD_NAME);
+	}
+
+	/**
+	 * Only the bookkeeping of ExecutionTraceImpl.branchPassed
+	 */
+	@Benchmark
+	public void traceBranchPassed() {
+		if (++calls % CALLS_BEFORE_CLEAR == 0)
+			trace.clear();
+
+		trace.enteredMethod(CLASS_NAME, METHOD_NAME, null, 0);
+		for (int branch = 1; branch <= branches; branch++) {
+			double distance = (value++ & 7) + 1.0;
+			trace.branchPassed(branch, branch, (branch & 1) == 0 ? 0.0 : distance, (branch & 1) == 0 ? distance : 0.0);
+		}
+		trace.exitMethod(CLASS_NAME, METHOD_NAME);
+	}
+}
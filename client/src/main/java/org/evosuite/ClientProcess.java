@@ -22,6 +22,8 @@
  */
 package org.evosuite;
 
+import java.lang.management.ManagementFactory;
+
 import org.dom4j.DocumentFactory;
 import org.dom4j.dom.DOMDocumentFactory;
 import org.evosuite.classpath.ClassPathHacker;
@@ -29,6 +31,7 @@ import org.evosuite.junit.writer.TestSuiteWriterUtils;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.result.TestGenerationResultBuilder;
 import org.evosuite.rmi.ClientServices;
+import org.evosuite.rmi.service.ClientNodeLocal;
 import org.evosuite.rmi.service.MasterNodeRemote;
 import org.evosuite.runtime.RuntimeSettings;
 import org.evosuite.runtime.classhandling.JDKClassResetter;
@@ -63,6 +66,9 @@ public class ClientProcess {
 
 	public static TestGenerationResult result;
 
+	/** Milliseconds from the start of the JVM until the client was registered */
+	private static long startupTime;
+
 	/**
 	 * <p>
 	 * run
@@ -94,6 +100,8 @@ public class ClientProcess {
 					+ Properties.PROCESS_COMMUNICATION_PORT);
 		}
 
+		startupTime = ManagementFactory.getRuntimeMXBean().getUptime();
+
 		if(Properties.SPAWN_PROCESS_MANAGER_PORT != null){
 			SpawnProcessKeepAliveChecker.getInstance().registerToRemoteServerAndDieIfFails(
 					Properties.SPAWN_PROCESS_MANAGER_PORT
@@ -105,7 +113,12 @@ public class ClientProcess {
 		 * The master will control this node directly.
 		 */
 
-		ClientServices.getInstance().getClientNode().waitUntilDone();
+		ClientNodeLocal clientNode = ClientServices.getInstance().getClientNode();
+		clientNode.waitUntilDone();
+		// a reused client stays alive for further targets
+		while (clientNode.waitForNextTarget()) {
+			clientNode.waitUntilDone();
+		}
 		ClientServices.getInstance().stopServices();
 		SpawnProcessKeepAliveChecker.getInstance().unRegister();
 	}
@@ -135,7 +148,7 @@ public class ClientProcess {
 		//AgentLoader.loadAgent();
 	}
 
-	private static void setupRuntimeProperties(){
+	public static void setupRuntimeProperties(){
 		RuntimeSettings.useVFS = Properties.VIRTUAL_FS;
 		RuntimeSettings.mockJVMNonDeterminism = Properties.REPLACE_CALLS;
 		RuntimeSettings.mockSystemIn = Properties.REPLACE_SYSTEM_IN;
@@ -143,6 +156,7 @@ public class ClientProcess {
 		RuntimeSettings.sandboxMode = Properties.SANDBOX_MODE;
         RuntimeSettings.maxNumberOfThreads = Properties.MAX_STARTED_THREADS;
         RuntimeSettings.maxNumberOfIterationsPerLoop = Properties.MAX_LOOP_ITERATIONS;
+        RuntimeSettings.useThreadLocalLoopCounters = Properties.LOOP_COUNTER_PER_THREAD;
         RuntimeSettings.useVNET = Properties.VIRTUAL_NET;
         RuntimeSettings.useSeparateClassLoader = Properties.USE_SEPARATE_CLASSLOADER;
 		RuntimeSettings.className = Properties.TARGET_CLASS;
@@ -186,6 +200,13 @@ public class ClientProcess {
 				defaultSingletonClass);
 	}
 
+	/**
+	 * Returns how long it took the client JVM to start and connect to the master
+	 */
+	public static long getStartupTime() {
+		return startupTime;
+	}
+
 	/**
 	 * Returns the client's identifier.
 	 */
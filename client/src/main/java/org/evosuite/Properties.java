@@ -177,6 +177,9 @@ public class Properties {
 	@Parameter(key = "fast_channel_score_threshold", group = "Test Creation", description = "evaluate whether a computation path is fast channel")
 	public static double FAST_CHANNEL_SCORE_THRESHOLD = 0.5;
 	
+	@Parameter(key = "smart_seed_store_dir", group = "Test Creation", description = "Directory where the branch sensitivity analysis of smart seed is stored per class bytecode, so that later runs on an unchanged class skip it. Disabled if empty")
+	public static String SMART_SEED_STORE_DIR = "";
+	
 	@Parameter(key = "apply_gradient_analysis", group = "Test Creation", description = "let evosuite++ evaluate the gradients of a branch")
 	public static boolean APPLY_GRADEINT_ANALYSIS = false;
 	
@@ -246,6 +249,10 @@ public class Properties {
 	@Parameter(key = "carve_object_pool", group = "Test Creation", description = "Carve junit tests for pool")
 	public static boolean CARVE_OBJECT_POOL = false;
 
+	@Parameter(key = "carving_spill_threshold", group = "Test Creation", description = "Megabytes of serialized objects a capture log keeps on the heap before it spills them to a memory-mapped file (0 to never spill)")
+	@IntValue(min = 0)
+	public static int CARVING_SPILL_THRESHOLD = 64;
+
 	@Parameter(key = "seed_types", group = "Test Creation", description = "Use type information gathered from casts to instantiate generics")
 	public static boolean SEED_TYPES = true;
 
@@ -465,6 +472,22 @@ public class Properties {
 	@Parameter(key = "dse_variable_resets", group = "DSE", description = "Times DSE resets the int and real variables with random values")
 	public static int DSE_VARIABLE_RESETS = 2;
 
+	@Parameter(key = "dse_solver_threads", group = "DSE", description = "Number of worker threads solving DSE queries concurrently. Only external solvers (Z3, CVC4) are solved in parallel")
+	@IntValue(min = 1)
+	public static int DSE_SOLVER_THREADS = 1;
+
+	public enum DSEWorklistHeuristic {
+		/** negate the conditions of each test in creation order, deepest condition first */
+		GENERATIONAL,
+		/** negate the conditions of the newest test first, deepest condition first */
+		DEPTH_FIRST,
+		/** negate the conditions closest to the entry method first */
+		SHORTEST_PREFIX_FIRST;
+	}
+
+	@Parameter(key = "dse_worklist_heuristic", group = "DSE", description = "Order in which the DSE algorithm explores pending branch negations")
+	public static DSEWorklistHeuristic DSE_WORKLIST_HEURISTIC = DSEWorklistHeuristic.GENERATIONAL;
+
 	public enum DSEType {
 		/** apply DSE per statement */
 		STATEMENT,
@@ -903,7 +926,7 @@ public class Properties {
 	 * The types of CTG schedules that can be used
 	 */
 	public enum AvailableSchedule {
-		SIMPLE, BUDGET, SEEDING, BUDGET_AND_SEEDING, HISTORY
+		SIMPLE, BUDGET, SEEDING, BUDGET_AND_SEEDING, HISTORY, ADAPTIVE
 	};
 
 	/*
@@ -1121,6 +1144,9 @@ public class Properties {
 	@Parameter(key = "max_mutants_per_test", group = "Output", description = "How many mutants to use when trying to find assertions for a test")
 	public static int MAX_MUTANTS_PER_TEST = 100;
 
+	@Parameter(key = "skip_uninfected_mutants", group = "Output", description = "Do not execute tests on mutants that were reached but never infected by the test")
+	public static boolean SKIP_UNINFECTED_MUTANTS = true;
+
 	@Parameter(key = "max_mutants_per_method", group = "Output", description = "How many mutants can be inserted into a single method")
 	public static int MAX_MUTANTS_PER_METHOD = 700;
 
@@ -1186,6 +1212,10 @@ public class Properties {
 	@Parameter(key = "output_granularity", group = "Output", description = "Write all test cases for a class into a single file or to separate files.")
 	public static OutputGranularity OUTPUT_GRANULARITY = OutputGranularity.MERGED;
 
+	@Parameter(key = "test_writer_threads", group = "Output", description = "Number of threads converting test cases to JUnit code when writing a test suite")
+	@IntValue(min = 1)
+	public static int TEST_WRITER_THREADS = 1;
+
 	@Parameter(key = "max_coverage_depth", group = "Output", description = "Maximum depth in the calltree to count a branch as covered")
 	public static int MAX_COVERAGE_DEPTH = -1;
 
@@ -1434,6 +1464,9 @@ public class Properties {
     @Parameter(key = "max_loop_iterations", group = "Test Execution", description = "Max number of iterations allowed per loop. A negative value means no check is done.")
     public static long MAX_LOOP_ITERATIONS = RuntimeSettings.maxNumberOfIterationsPerLoop;
 
+    @Parameter(key = "loop_counter_per_thread", group = "Test Execution", description = "Count loop iterations separately for each thread of the SUT")
+    public static boolean LOOP_COUNTER_PER_THREAD = RuntimeSettings.useThreadLocalLoopCounters;
+
     // ---------------------------------------------------------------
 	// Debugging
 
@@ -1610,6 +1643,10 @@ public class Properties {
     @Parameter(key = "regression_statistics", group = "Runtime", description = "Track extra search statistics during regression testing")
     public static boolean REGRESSION_STATISTICS = false;
 
+    @Parameter(key = "regression_analysis_threads", group = "Runtime", description = "Number of threads computing the object distance of a test on both versions while the next tests execute (0 computes it in the search thread)")
+    @IntValue(min = 0)
+    public static int REGRESSION_ANALYSIS_THREADS = 0;
+
 	@Parameter(key = "keep_regression_archive", group = "Runtime", description = "Keep an archive of regression tests")
 	public static boolean KEEP_REGRESSION_ARCHIVE = false;
 	
@@ -1643,6 +1680,17 @@ public class Properties {
 	@Parameter(key = "client_on_thread", group = "Runtime", description = "Run client process on same JVM of master in separate thread. To be used only for debugging purposes")
 	public static volatile boolean CLIENT_ON_THREAD = false;
 
+	@Parameter(key = "client_reuse_limit", group = "Runtime", description = "Maximum number of target classes a client process generates tests for before it is replaced by a fresh one. With 1, a new client is started for each class")
+	@IntValue(min = 1)
+	public static int CLIENT_REUSE_LIMIT = 1;
+
+	@Parameter(key = "client_recycle_heap_ratio", group = "Runtime", description = "A reused client process is replaced if, once reset for the next class, it still uses more than this fraction of its maximum heap")
+	@DoubleValue(min = 0.0, max = 1.0)
+	public static double CLIENT_RECYCLE_HEAP_RATIO = 0.6;
+
+	@Parameter(key = "cds_archive_dir", group = "Runtime", description = "Directory for class data sharing archives of the client and master JVMs. The first run records an archive of the loaded EvoSuite classes, later runs map it to start faster. Needs a JDK with dynamic archiving (13+), ignored otherwise")
+	public static String CDS_ARCHIVE_DIR = "";
+
 
 	@Parameter(key = "is_running_a_system_test", group = "Runtime", description = "Specify that a system test is running. To be used only for debugging purposes")
 	public static volatile boolean IS_RUNNING_A_SYSTEM_TEST = false;
@@ -2043,6 +2091,23 @@ public class Properties {
 		return parameterMap.containsKey(parameterName);
 	}
 
+	/**
+	 * Get the current value of a parameter, as stored in its field
+	 *
+	 * @param key
+	 *            a {@link java.lang.String} object.
+	 * @return the value of the parameter
+	 * @throws NoSuchParameterException
+	 * @throws IllegalAccessException
+	 */
+	public static Object getValue(String key) throws NoSuchParameterException,
+			IllegalAccessException {
+		if (!parameterMap.containsKey(key))
+			throw new NoSuchParameterException(key);
+
+		return parameterMap.get(key).get(null);
+	}
+
 	/**
 	 * Set parameter to new integer value
 	 *
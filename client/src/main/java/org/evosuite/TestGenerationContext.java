@@ -28,6 +28,7 @@ import java.util.List;
 
 import org.evosuite.assertion.InspectorManager;
 import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.classpath.ResourceList;
 import org.evosuite.contracts.ContractChecker;
 import org.evosuite.contracts.FailingTestSet;
 import org.evosuite.coverage.branch.BranchPool;
@@ -53,6 +54,7 @@ import org.evosuite.runtime.util.SystemInUtil;
 import org.evosuite.seeding.CastClassManager;
 import org.evosuite.seeding.ConstantPoolManager;
 import org.evosuite.seeding.ObjectPoolManager;
+import org.evosuite.seeding.smart.SensitivityMutator;
 import org.evosuite.setup.ConcreteClassAnalyzer;
 import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.TestCluster;
@@ -63,6 +65,7 @@ import org.evosuite.testcase.execution.ExecutionTracer;
 import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
 import org.evosuite.utils.ArrayUtil;
+import org.evosuite.utils.generic.GenericTypeCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -164,6 +167,7 @@ public class TestGenerationContext {
 
 		// A fresh context needs a fresh class loader to make sure we can
 		// re-instrument classes
+		ClassLoader oldLoader = classLoader;
 		classLoader = new InstrumentingClassLoader();
 
 		if (!DBManager.getInstance().isWasAccessed()) {
@@ -176,6 +180,13 @@ public class TestGenerationContext {
 
 		// TODO: BranchPool should not be static
 		BranchPool.getInstance(classLoader).reset();
+		// the client is reused across targets, nothing may keep the old
+		// loader and its instrumented classes reachable
+		if (oldLoader != null) {
+			BranchPool.release(oldLoader);
+			CFGMethodAdapter.methods.remove(oldLoader);
+			ResourceList.release(oldLoader);
+		}
 		RemoveFinalClassAdapter.reset();
 		LinePool.reset();
 		MutationPool.clear();
@@ -195,6 +206,7 @@ public class TestGenerationContext {
 		// DependencyAnalysis.analyse is called
 		TestCluster.reset();
 		CastClassManager.getInstance().clear();
+		GenericTypeCache.clear();
 		ConcreteClassAnalyzer.getInstance().clear();
 		// This counts the current level of recursion during test generation
 		org.evosuite.testcase.TestFactory.getInstance().reset();
@@ -214,6 +226,7 @@ public class TestGenerationContext {
 		ConstantPoolManager.getInstance().reset();
 		ObjectPoolManager.getInstance().reset();
 		CarvingManager.getInstance().clear();
+		SensitivityMutator.reset();
 
 		// TODO: Why are we doing this?
 		if (Properties.INSTRUMENT_CONTEXT || ArrayUtil.contains(Properties.CRITERION, Properties.Criterion.DEFUSE)
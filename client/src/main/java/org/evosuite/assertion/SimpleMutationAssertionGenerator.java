@@ -32,6 +32,7 @@ import java.util.Map.Entry;
 import org.evosuite.Properties;
 import org.evosuite.TestSuiteGenerator;
 import org.evosuite.TimeController;
+import org.evosuite.coverage.mutation.MutantExecutionScheduler;
 import org.evosuite.coverage.mutation.Mutation;
 import org.evosuite.coverage.mutation.MutationTimeoutStoppingCondition;
 import org.evosuite.rmi.ClientServices;
@@ -144,15 +145,8 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
 		}
 
 		Map<Mutation, List<OutputTrace<?>>> mutationTraces = new HashMap<Mutation, List<OutputTrace<?>>>();
-		List<Mutation> executedMutants = new ArrayList<Mutation>();
-
-		for (Integer mutationId : origResult.getTrace().getTouchedMutants()) {
-			if (!mutants.containsKey(mutationId)) {
-				//logger.warn("Mutation ID unknown: " + mutationId);
-				//logger.warn(mutants.keySet().toString());
-			} else
-				executedMutants.add(mutants.get(mutationId));
-		}
+		List<Mutation> executedMutants = MutantExecutionScheduler.getMutantsToExecute(origResult.getTrace(),
+		        mutants);
 
 		Randomness.shuffle(executedMutants);
 		logger.debug("Executed mutants: "+origResult.getTrace().getTouchedMutants());
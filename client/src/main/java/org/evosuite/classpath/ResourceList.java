@@ -174,6 +174,17 @@ public class ResourceList {
 		instanceMap.clear();
 	}
 
+	/**
+	 * Removes the resource list of the given class loader, e.g. once the
+	 * class loader is no longer used.
+	 */
+	public static void release(ClassLoader classLoader) {
+		ResourceList list = instanceMap.remove(classLoader);
+		if (list != null) {
+			list.resetCache();
+		}
+	}
+
 
 	/**
 	 * is the target class among the ones in the SUT classpath?
@@ -95,6 +95,14 @@ public class BranchPool {
 
 		return instanceMap.get(classLoader);
 	}
+
+	/**
+	 * Removes the pool of the given class loader, e.g. once the class loader
+	 * is no longer used.
+	 */
+	public static void release(ClassLoader classLoader) {
+		instanceMap.remove(classLoader);
+	}
 	// fill the pool
 
 	/**
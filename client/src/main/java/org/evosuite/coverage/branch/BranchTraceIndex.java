@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.evosuite.testcase.execution.ExecutionTrace;
+import org.evosuite.testcase.execution.MethodCall;
+
+/**
+ * Read-only view of an {@link ExecutionTrace} that is built once and then
+ * used to compute the distances of all branch goals for the same execution.
+ *
+ * Without the index every goal would rebuild the sets of covered branches and
+ * scan the branch trace of every call to its method.
+ *
+ * @see ControlFlowDistanceCalculator
+ */
+public class BranchTraceIndex {
+
+	private final ExecutionTrace trace;
+
+	private final Set<Integer> coveredTrueBranches;
+
+	private final Set<Integer> coveredFalseBranches;
+
+	/** className.methodName -> calls of that method, in trace order */
+	private final Map<String, List<CallIndex>> callsByMethod;
+
+	/**
+	 * Minimal true and false distances of each branch traced within a
+	 * single method call
+	 */
+	static final class CallIndex {
+
+		private final Map<Integer, double[]> distances;
+
+		private CallIndex(MethodCall call) {
+			List<Integer> path = call.branchTrace;
+			distances = new HashMap<Integer, double[]>(path.size() * 2);
+			for (int pos = 0; pos < path.size(); pos++) {
+				double trueDistance = call.trueDistanceTrace.get(pos);
+				double falseDistance = call.falseDistanceTrace.get(pos);
+				double[] d = distances.get(path.get(pos));
+				if (d == null) {
+					distances.put(path.get(pos), new double[] { trueDistance, falseDistance });
+				} else {
+					d[0] = Math.min(d[0], trueDistance);
+					d[1] = Math.min(d[1], falseDistance);
+				}
+			}
+		}
+
+		/**
+		 * @return the minimal distance of the given branch evaluating to
+		 *         value in this call, or null if the branch was not traced
+		 */
+		Double getDistance(int branchId, boolean value) {
+			double[] d = distances.get(branchId);
+			if (d == null)
+				return null;
+			return value ? d[0] : d[1];
+		}
+	}
+
+	public BranchTraceIndex(ExecutionTrace trace) {
+		this.trace = trace;
+		this.coveredTrueBranches = trace.getCoveredTrueBranches();
+		this.coveredFalseBranches = trace.getCoveredFalseBranches();
+		this.callsByMethod = new HashMap<String, List<CallIndex>>();
+		for (MethodCall call : trace.getMethodCalls()) {
+			String key = call.className + "." + call.methodName;
+			List<CallIndex> calls = callsByMethod.get(key);
+			if (calls == null) {
+				calls = new ArrayList<CallIndex>();
+				callsByMethod.put(key, calls);
+			}
+			calls.add(new CallIndex(call));
+		}
+	}
+
+	/**
+	 * @return the trace this index was built for
+	 */
+	public ExecutionTrace getTrace() {
+		return trace;
+	}
+
+	public Set<Integer> getCoveredTrueBranches() {
+		return Collections.unmodifiableSet(coveredTrueBranches);
+	}
+
+	public Set<Integer> getCoveredFalseBranches() {
+		return Collections.unmodifiableSet(coveredFalseBranches);
+	}
+
+	public boolean isCovered(int branchId, boolean value) {
+		if (value)
+			return coveredTrueBranches.contains(branchId);
+		else
+			return coveredFalseBranches.contains(branchId);
+	}
+
+	/**
+	 * @return the indexed calls of the given method, empty if it was not called
+	 */
+	List<CallIndex> getCalls(String className, String methodName) {
+		List<CallIndex> calls = callsByMethod.get(className + "." + methodName);
+		if (calls == null)
+			return Collections.emptyList();
+		return calls;
+	}
+}
@@ -23,11 +23,9 @@ import java.util.*;
 
 import org.evosuite.coverage.ControlFlowDistance;
 import org.evosuite.coverage.TestCoverageGoal;
-import org.evosuite.graphs.cfg.BytecodeInstruction;
-import org.evosuite.graphs.cfg.ControlDependency;
+import org.evosuite.graphs.cdg.ControlDependenceTable;
 import org.evosuite.testcase.statements.Statement;
 import org.evosuite.testcase.execution.ExecutionResult;
-import org.evosuite.testcase.execution.MethodCall;
 import org.evosuite.testcase.statements.ConstructorStatement;
 import org.objectweb.asm.Type;
 import org.slf4j.Logger;
@@ -117,16 +115,11 @@ public class ControlFlowDistanceCalculator {
 		if (branch == null)
 			return getRootDistance(result, className, methodName);
 
-		if(value) {
-			if (result.getTrace().getCoveredTrueBranches().contains(branch.getActualBranchId()))
-				return new ControlFlowDistance(0, 0.0);
-		}
-		else {
-			if (result.getTrace().getCoveredFalseBranches().contains(branch.getActualBranchId())) 
-                return new ControlFlowDistance(0, 0.0);
-		}
+		BranchTraceIndex index = result.getBranchTraceIndex();
+		if (index.isCovered(branch.getActualBranchId(), value))
+			return new ControlFlowDistance(0, 0.0);
 
-		ControlFlowDistance nonRootDistance = getNonRootDistance(result, branch, value);
+		ControlFlowDistance nonRootDistance = getNonRootDistance(index, branch, value);
 
 		if (nonRootDistance == null)
 			throw new IllegalStateException(
@@ -202,7 +195,7 @@ public class ControlFlowDistanceCalculator {
 		return d;
 	}
 
-	private static ControlFlowDistance getNonRootDistance(ExecutionResult result,
+	private static ControlFlowDistance getNonRootDistance(BranchTraceIndex index,
 	        Branch branch, boolean value) {
 
 		if (branch == null)
@@ -212,49 +205,24 @@ public class ControlFlowDistanceCalculator {
 		String className = branch.getClassName();
 		String methodName = branch.getMethodName();
 
+		ControlDependenceTable table = branch.getInstruction().getCDG().getDependenceTable();
+
 		ControlFlowDistance r = new ControlFlowDistance();
-		r.setApproachLevel(branch.getInstruction().getActualCFG().getDiameter() + 1);
+		r.setApproachLevel(table.getDiameter() + 1);
 
 		// Minimal distance between target node and path
-		for (MethodCall call : result.getTrace().getMethodCalls()) {
-			if (call.className.equals(className) && call.methodName.equals(methodName)) {
-				ControlFlowDistance d2;
-				Set<Branch> handled = new HashSet<Branch>();
-				//				result.intermediateDistances = new HashMap<Branch,ControlFlowDistance>();
-				d2 = getNonRootDistance(result, call, branch, value, className,
-				                        methodName, handled);
-				if (d2.compareTo(r) < 0) {
-					r = d2;
-				}
+		for (BranchTraceIndex.CallIndex call : index.getCalls(className, methodName)) {
+			ControlFlowDistance d2 = getNonRootDistance(call, table, branch, value);
+			if (d2.compareTo(r) < 0) {
+				r = d2;
 			}
 		}
 
 		return r;
 	}
 
-	private static ControlFlowDistance getNonRootDistance(ExecutionResult result,
-	        MethodCall call, Branch branch, boolean value, String className,
-	        String methodName, Set<Branch> handled) {
-
-		if (branch == null)
-			throw new IllegalStateException(
-			        "expect getNonRootDistance() to only be called if this goal's branch is not a root branch");
-		if (call == null)
-			throw new IllegalArgumentException("null given");
-
-		//		ControlFlowDistance r = result.intermediateDistances.get(branch);
-
-		if (handled.contains(branch)) {
-			//			if(r== null)
-			return worstPossibleDistanceForMethod(branch);
-			//			else {
-			//				return r;
-			//			}
-		}
-		handled.add(branch);
-
-		List<Double> trueDistances = call.trueDistanceTrace;
-		List<Double> falseDistances = call.falseDistanceTrace;
+	private static ControlFlowDistance getNonRootDistance(BranchTraceIndex.CallIndex call,
+	        ControlDependenceTable table, Branch branch, boolean value) {
 
 		// IDEA:
 		// if this goal's branch is traced in the given path, return the
@@ -263,109 +231,64 @@ public class ControlFlowDistanceCalculator {
 		// and return 1 + minimum of the branch coverage goal distance over all
 		// such branches taking as value the branchExpressionValue
 
-		Set<Integer> branchTracePositions = determineBranchTracePositions(call, branch);
-
-		if (!branchTracePositions.isEmpty()) {
-
+		Double tracedDistance = call.getDistance(branch.getActualBranchId(), value);
+		if (tracedDistance != null) {
 			// branch was traced in given path
-			ControlFlowDistance r = new ControlFlowDistance(0, Double.MAX_VALUE);
-
-			for (Integer branchTracePosition : branchTracePositions)
-				if (value)
-					r.setBranchDistance(Math.min(r.getBranchDistance(),
-					                             trueDistances.get(branchTracePosition)));
-				else
-					r.setBranchDistance(Math.min(r.getBranchDistance(),
-					                             falseDistances.get(branchTracePosition)));
-
-//			if (r.getBranchDistance() == Double.MAX_VALUE)
-//				throw new IllegalStateException("should be impossible");
-
-			//			result.intermediateDistances.put(branch, r);
-			return r;
+			return new ControlFlowDistance(0, tracedDistance);
 		}
 
-		ControlFlowDistance controlDependenceDistance = getControlDependenceDistancesFor(result,
-		                                                                                 call,
-		                                                                                 branch.getInstruction(),
-		                                                                                 className,
-		                                                                                 methodName,
-		                                                                                 handled);
-
-		controlDependenceDistance.increaseApproachLevel();
+		boolean[] handled = new boolean[table.size()];
+		int index = table.indexOf(branch);
+		if (index >= 0)
+			handled[index] = true;
 
-		//		result.intermediateDistances.put(branch, controlDependenceDistance);
-
-		return controlDependenceDistance;
+		return getControlDependenceDistance(call, table, table.getDependencies(branch), handled);
 	}
 
-	private static ControlFlowDistance getControlDependenceDistancesFor(
-	        ExecutionResult result, MethodCall call, BytecodeInstruction instruction,
-	        String className, String methodName, Set<Branch> handled) {
+	private static ControlFlowDistance getNonRootDistance(BranchTraceIndex.CallIndex call,
+	        ControlDependenceTable table, int index, boolean value, boolean[] handled) {
 
-		Set<ControlFlowDistance> cdDistances = getDistancesForControlDependentBranchesOf(result,
-		                                                                                 call,
-		                                                                                 instruction,
-		                                                                                 className,
-		                                                                                 methodName,
-		                                                                                 handled);
+		if (handled[index]) {
+			ControlFlowDistance worst = new ControlFlowDistance();
+			worst.setApproachLevel(table.getDiameter() + 2);
+			return worst;
+		}
+		handled[index] = true;
 
-		if (cdDistances == null)
-			throw new IllegalStateException("expect cdDistances to never be null");
+		Double tracedDistance = call.getDistance(table.getBranchId(index), value);
+		if (tracedDistance != null) {
+			return new ControlFlowDistance(0, tracedDistance);
+		}
 
-		return Collections.min(cdDistances);
+		return getControlDependenceDistance(call, table, table.getDependencies(index), handled);
 	}
 
 	/**
-	 * Returns a set containing the ControlFlowDistances in the given result for
-	 * all branches the given instruction is control dependent on
-	 * 
-	 * @param handled
+	 * Returns one plus the minimal distance over all the given control
+	 * dependencies, as encoded by the {@link ControlDependenceTable}
 	 */
-	private static Set<ControlFlowDistance> getDistancesForControlDependentBranchesOf(
-	        ExecutionResult result, MethodCall call, BytecodeInstruction instruction,
-	        String className, String methodName, Set<Branch> handled) {
-
-		Set<ControlFlowDistance> r = new HashSet<ControlFlowDistance>();
-		Set<ControlDependency> nextToLookAt = instruction.getControlDependencies();
-		//TODO adopt another way to calculate branch distance?
-		for (ControlDependency next : nextToLookAt) {
-			if (instruction.equals(next.getBranch().getInstruction()))
-				continue; // avoid loops
-
-			boolean nextValue = next.getBranchExpressionValue();
-			ControlFlowDistance nextDistance = getNonRootDistance(result, call,
-			                                                      next.getBranch(),
-			                                                      nextValue, className,
-			                                                      methodName, handled);
-			assert (nextDistance != null);
-			r.add(nextDistance);
+	private static ControlFlowDistance getControlDependenceDistance(
+	        BranchTraceIndex.CallIndex call, ControlDependenceTable table, int[] dependencies,
+	        boolean[] handled) {
+
+		ControlFlowDistance min = null;
+		for (int dependency : dependencies) {
+			ControlFlowDistance d = getNonRootDistance(call, table,
+			                                           ControlDependenceTable.getIndex(dependency),
+			                                           ControlDependenceTable.getValue(dependency),
+			                                           handled);
+			if (min == null || d.compareTo(min) < 0)
+				min = d;
 		}
 
-		if (r.isEmpty()) {
-			// instruction only dependent on root branch
-			// since this method is called by getNonRootDistance(MethodCall)
-			// which in turn is only called when a MethodCall for this branch's
-			// method was found in the given result, i can safely assume that
-			// the 0-distance is a control dependence distance for the given
-			// instruction ... right?
-			r.add(new ControlFlowDistance());
+		if (min == null) {
+			// instruction only dependent on root branch, and a call to its
+			// method was found in the given result
+			min = new ControlFlowDistance();
 		}
 
-		return r;
-	}
-
-	private static Set<Integer> determineBranchTracePositions(MethodCall call,
-	        Branch branch) {
-
-		Set<Integer> r = new HashSet<Integer>();
-		List<Integer> path = call.branchTrace;
-		for (int pos = 0; pos < path.size(); pos++) {
-			if (path.get(pos) == branch.getActualBranchId()) { //.getActualBranchId()); {
-				r.add(pos);
-			}
-		}
-		return r;
+		min.increaseApproachLevel();
+		return min;
 	}
 
 }
@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.mutation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.execution.ExecutionTrace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides on which mutants a test needs to be executed, using the mutation
+ * information collected while executing the test on the original class.
+ * 
+ * A mutant that was never reached cannot change the behaviour of the test.
+ * The same holds for a mutant that was reached but never infected the state
+ * (i.e., its infection distance was always greater than 0), as the executed
+ * mutated instruction computed the same value as the original one.
+ */
+public class MutantExecutionScheduler {
+
+	private static final Logger logger = LoggerFactory.getLogger(MutantExecutionScheduler.class);
+
+	/**
+	 * Returns the mutants that need to be executed with the test that
+	 * produced the given trace on the original class
+	 * 
+	 * @param trace
+	 *            the trace of the test on the original class
+	 * @param mutants
+	 *            the known mutants, by id
+	 * @return
+	 */
+	public static List<Mutation> getMutantsToExecute(ExecutionTrace trace, Map<Integer, Mutation> mutants) {
+		List<Mutation> mutantsToExecute = new ArrayList<Mutation>();
+		Map<Integer, Double> distances = trace.getMutationDistances();
+		int skipped = 0;
+		for (Integer mutationId : trace.getTouchedMutants()) {
+			Mutation mutation = mutants.get(mutationId);
+			if (mutation == null) {
+				continue;
+			}
+			if (Properties.SKIP_UNINFECTED_MUTANTS && !isInfected(distances.get(mutationId))) {
+				skipped++;
+				continue;
+			}
+			mutantsToExecute.add(mutation);
+		}
+		logger.debug("Scheduled {} mutants, skipped {} uninfected mutants", mutantsToExecute.size(), skipped);
+		return mutantsToExecute;
+	}
+
+	private static boolean isInfected(Double infectionDistance) {
+		// Without an infection distance we cannot tell, so the mutant is executed
+		return infectionDistance == null || infectionDistance <= 0.0;
+	}
+}
@@ -1,6 +1,7 @@
 package org.evosuite.ga;
 
 import java.util.Collection;
+import java.util.List;
 
 public abstract class NoveltyFunction<T extends Chromosome> {
 
@@ -21,4 +22,18 @@ public abstract class NoveltyFunction<T extends Chromosome> {
 
         return distance;
     }
+
+    /**
+     * Computes the novelty of every individual of the population. Subclasses
+     * can override this to avoid comparing all pairs of individuals.
+     *
+     * @return the novelty of each individual, in population order
+     */
+    public double[] getNovelty(List<T> population) {
+        double[] novelty = new double[population.size()];
+        for (int i = 0; i < novelty.length; i++) {
+            novelty[i] = getNovelty(population.get(i), population);
+        }
+        return novelty;
+    }
 }
@@ -48,16 +48,21 @@ public class NoveltySearch<T extends Chromosome> extends GeneticAlgorithm<T>  {
         Iterator<T> iterator = population.iterator();
         Map<T, Double> noveltyMap = new LinkedHashMap<>();
 
+        // TODO: This needs to take the archive into account
+        double[] novelty = isFinished() ? null : noveltyFunction.getNovelty(population);
+        int index = 0;
+
         while (iterator.hasNext()) {
             T c = iterator.next();
             if (isFinished()) {
                 if (c.isChanged())
                     iterator.remove();
+            } else if (novelty != null) {
+                noveltyMap.put(c, novelty[index]);
             } else {
-                // TODO: This needs to take the archive into account
-                double novelty = noveltyFunction.getNovelty(c, population);
-                noveltyMap.put(c, novelty);
+                noveltyMap.put(c, noveltyFunction.getNovelty(c, population));
             }
+            index++;
         }
 
         // Sort population
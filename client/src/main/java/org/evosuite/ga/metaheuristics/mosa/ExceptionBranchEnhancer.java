@@ -28,7 +28,6 @@ import org.evosuite.graphs.cfg.BasicBlock;
 import org.evosuite.graphs.cfg.BytecodeInstruction;
 import org.evosuite.graphs.cfg.BytecodeInstructionPool;
 import org.evosuite.graphs.cfg.ControlDependency;
-import org.evosuite.graphs.cfg.ControlFlowEdge;
 import org.evosuite.runtime.instrumentation.RuntimeInstrumentation;
 import org.evosuite.runtime.mock.MockFramework;
 import org.evosuite.setup.Call;
@@ -42,7 +41,6 @@ import org.evosuite.testcase.statements.MethodStatement;
 import org.evosuite.testcase.statements.Statement;
 import org.evosuite.utils.MethodUtil;
 import org.evosuite.utils.Randomness;
-import org.jgrapht.alg.DijkstraShortestPath;
 
 public class ExceptionBranchEnhancer<T extends Chromosome> {
 	private static final double EXCEPTION_THRESHOLD = 0.1;
@@ -542,7 +540,6 @@ public class ExceptionBranchEnhancer<T extends Chromosome> {
 		return -1;
 	}
 
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private double getIntraproceduralControlDistance(BytecodeInstruction exceptionIns, BytecodeInstruction parentIns) {
 		BasicBlock exceptionBlock = exceptionIns.getBasicBlock();
 		BasicBlock parentBlock = parentIns.getBasicBlock();
@@ -554,27 +551,18 @@ public class ExceptionBranchEnhancer<T extends Chromosome> {
 			return 1.0*innerBlockDistance/(innerBlockDistance+1);
 		}
 		
-		DijkstraShortestPath d = new DijkstraShortestPath(exceptionBlock.getCDG().getGraph(),
-				parentBlock, exceptionBlock);
-		if(d.getPath() == null) {
+		List<BasicBlock> path = exceptionBlock.getCDG().getShortestPath(parentBlock, exceptionBlock);
+		if(path == null) {
 			return -1;
 		}
 		else {
 			int innerBlockDistance = parentBlock.getLastInstruction().getInstructionId() 
 					- parentBlock.getFirstInstruction().getInstructionId();
-			for(Object edge: d.getPathEdgeList()) {
-				if(edge instanceof ControlFlowEdge) {
-					ControlFlowEdge cfe = (ControlFlowEdge)edge;
-					Object target = cfe.getTarget();
-					if(target instanceof BasicBlock) {
-						BasicBlock tBlock = (BasicBlock)target;
-						int insNum = tBlock.getLastInstruction().getInstructionId() 
-								- tBlock.getFirstInstruction().getInstructionId();
-						
-						innerBlockDistance += insNum;
-					}
-				}
+			for(BasicBlock tBlock: path.subList(1, path.size())) {
+				int insNum = tBlock.getLastInstruction().getInstructionId() 
+						- tBlock.getFirstInstruction().getInstructionId();
 				
+				innerBlockDistance += insNum;
 			}
 			
 			return 1.0*innerBlockDistance/(innerBlockDistance+1);
@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.evosuite.coverage.branch.BranchCoverageTestFitness;
+import org.evosuite.coverage.branch.BranchTraceIndex;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
 import org.evosuite.testcase.TestCase;
@@ -101,6 +102,9 @@ public class BranchesManager<T extends Chromosome> extends StructuralGoalManager
 			return;
 		}
 
+		// index the trace once, all branch goals below are evaluated on it
+		BranchTraceIndex traceIndex = result.getBranchTraceIndex();
+
 		// 1) we update the set of currents goals
 		Set<FitnessFunction<T>> visitedStatements = new HashSet<FitnessFunction<T>>(this.getUncoveredGoals().size()*2);
 		LinkedList<FitnessFunction<T>> targets = new LinkedList<FitnessFunction<T>>();
@@ -126,13 +130,13 @@ public class BranchesManager<T extends Chromosome> extends StructuralGoalManager
 		}
 		currentGoals.removeAll(this.getCoveredGoals());
 		// 2) we update the archive
-		for (Integer branchid : result.getTrace().getCoveredFalseBranches()){
+		for (Integer branchid : traceIndex.getCoveredFalseBranches()){
 			FitnessFunction<T> branch = this.branchCoverageFalseMap.get(branchid);
 			if (branch == null)
 				continue;
 			updateCoveredGoals((FitnessFunction<T>) branch, c);
 		}
-		for (Integer branchid : result.getTrace().getCoveredTrueBranches()){
+		for (Integer branchid : traceIndex.getCoveredTrueBranches()){
 			FitnessFunction<T> branch = this.branchCoverageTrueMap.get(branchid);
 			if (branch == null)
 				continue;
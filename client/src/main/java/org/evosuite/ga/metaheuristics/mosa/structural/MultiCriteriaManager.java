@@ -35,6 +35,7 @@ import org.evosuite.TestGenerationContext;
 import org.evosuite.coverage.branch.BranchCoverageFactory;
 import org.evosuite.coverage.branch.BranchCoverageGoal;
 import org.evosuite.coverage.branch.BranchCoverageTestFitness;
+import org.evosuite.coverage.branch.BranchTraceIndex;
 import org.evosuite.coverage.cbranch.CBranchTestFitness;
 import org.evosuite.coverage.exception.ExceptionCoverageFactory;
 import org.evosuite.coverage.exception.ExceptionCoverageHelper;
@@ -404,6 +405,9 @@ public class MultiCriteriaManager<T extends Chromosome> extends StructuralGoalMa
 			return;
 		}
 
+		// index the trace once, all branch goals below are evaluated on it
+		BranchTraceIndex traceIndex = result.getBranchTraceIndex();
+
 		// 1) we update the set of currents goals
 		Set<FitnessFunction<T>> visitedTargets = new LinkedHashSet<FitnessFunction<T>>(getUncoveredGoals().size()*2);
 		LinkedList<FitnessFunction<T>> targets = new LinkedList<FitnessFunction<T>>();
@@ -423,7 +427,6 @@ public class MultiCriteriaManager<T extends Chromosome> extends StructuralGoalMa
 			// Current goal has been covered, fitness = 0
 			// 25.0 for not reached
 			if (value == 0.0) {
-				fitnessFunction.getFitness(c);
 				updateCoveredGoals(fitnessFunction, c);
 				if (fitnessFunction instanceof BranchCoverageTestFitness ||
 						fitnessFunction instanceof ContextFitnessFunction){
@@ -443,13 +446,13 @@ public class MultiCriteriaManager<T extends Chromosome> extends StructuralGoalMa
 		}
 		currentGoals.removeAll(this.getCoveredGoals());
 		// 2) we update the archive
-		for (Integer branchid : result.getTrace().getCoveredFalseBranches()){
+		for (Integer branchid : traceIndex.getCoveredFalseBranches()){
 			FitnessFunction<T> branch = this.getBranchCoverageFalseMap().get(branchid);
 			if (branch == null)
 				continue;
 			updateCoveredGoals((FitnessFunction<T>) branch, c);
 		}
-		for (Integer branchid : result.getTrace().getCoveredTrueBranches()){
+		for (Integer branchid : traceIndex.getCoveredTrueBranches()){
 			FitnessFunction<T> branch = this.getBranchCoverageTrueMap().get(branchid);
 			if (branch == null)
 				continue;
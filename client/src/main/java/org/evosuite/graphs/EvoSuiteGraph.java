@@ -26,11 +26,13 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 
 import org.evosuite.utils.LoggingUtils;
 import org.jgrapht.DirectedGraph;
+import org.jgrapht.WeightedGraph;
 import org.jgrapht.alg.DijkstraShortestPath;
 import org.jgrapht.ext.DOTExporter;
 import org.jgrapht.ext.IntegerNameProvider;
@@ -76,6 +78,14 @@ public abstract class EvoSuiteGraph<V, E extends DefaultEdge> {
 	protected DirectedGraph<V, E> graph;
 	protected Class<E> edgeClass;
 
+	/** Incremented whenever the graph is changed through this class */
+	private int modificationCount = 0;
+
+	private ReachabilityIndex<V> reachabilityIndex;
+	private int indexedModificationCount;
+	private int indexedVertexCount;
+	private int indexedEdgeCount;
+
 	// for .dot functionality
 	// TODO need jgrapht-0.8.3
 	ComponentAttributeProvider<V> vertexAttributeProvider = null;
@@ -317,6 +327,7 @@ public abstract class EvoSuiteGraph<V, E extends DefaultEdge> {
 	 * @return a boolean.
 	 */
 	protected boolean addVertex(V v) {
+		modificationCount++;
 		return graph.addVertex(v);
 	}
 
@@ -328,7 +339,7 @@ public abstract class EvoSuiteGraph<V, E extends DefaultEdge> {
 	 * @return a E object.
 	 */
 	protected E addEdge(V src, V target) {
-
+		modificationCount++;
 		return graph.addEdge(src, target);
 	}
 
@@ -341,7 +352,7 @@ public abstract class EvoSuiteGraph<V, E extends DefaultEdge> {
 	 * @return a boolean.
 	 */
 	protected boolean addEdge(V src, V target, E e) {
-
+		modificationCount++;
 		return graph.addEdge(src, target, e);
 	}
 
@@ -694,9 +705,40 @@ public abstract class EvoSuiteGraph<V, E extends DefaultEdge> {
 	 * @return a int.
 	 */
 	public int getDistance(V v1, V v2) {
-		DijkstraShortestPath<V, E> d = new DijkstraShortestPath<V, E>(graph,
-				v1, v2);
-		return (int) Math.round(d.getPathLength());
+		if (graph instanceof WeightedGraph) {
+			DijkstraShortestPath<V, E> d = new DijkstraShortestPath<V, E>(graph,
+					v1, v2);
+			return (int) Math.round(d.getPathLength());
+		}
+		return getReachabilityIndex().getDistance(v1, v2);
+	}
+
+	/**
+	 * Returns the vertices on a shortest path between the given vertices,
+	 * both included, or null if there is no such path
+	 *
+	 * @param v1 a V object.
+	 * @param v2 a V object.
+	 * @return a {@link java.util.List} object.
+	 */
+	public List<V> getShortestPath(V v1, V v2) {
+		return getReachabilityIndex().getShortestPath(v1, v2);
+	}
+
+	/**
+	 * Distances are answered from an index that is built on first use and
+	 * rebuilt once the graph has changed
+	 */
+	private ReachabilityIndex<V> getReachabilityIndex() {
+		if (reachabilityIndex == null || indexedModificationCount != modificationCount
+				|| indexedVertexCount != graph.vertexSet().size()
+				|| indexedEdgeCount != graph.edgeSet().size()) {
+			reachabilityIndex = new ReachabilityIndex<V>(graph);
+			indexedModificationCount = modificationCount;
+			indexedVertexCount = graph.vertexSet().size();
+			indexedEdgeCount = graph.edgeSet().size();
+		}
+		return reachabilityIndex;
 	}
 
 	/**
@@ -79,6 +79,14 @@ public class GraphPool {
 		return instanceMap.get(classLoader);
 	}
 
+	/**
+	 * Removes the pool of the given class loader, e.g. once the class loader
+	 * is no longer used.
+	 */
+	public static void release(ClassLoader classLoader) {
+		instanceMap.remove(classLoader);
+	}
+
 	/**
 	 * Complete control flow graph, contains each bytecode instruction, each
 	 * label and line number node Think of the direct Known Subclasses of
@@ -0,0 +1,182 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.jgrapht.DirectedGraph;
+
+/**
+ * Shortest distances between the vertices of an unweighted directed graph.
+ *
+ * The successors of each vertex are flattened into int arrays once. The
+ * distances from a vertex are computed by a single breadth first search when
+ * that vertex is used as source, and kept together with the search tree so
+ * shortest paths can be read off without searching again. Only the searches
+ * of the most recently used sources are kept, as the graphs stay in the
+ * GraphPool for the whole run.
+ *
+ * The index is a snapshot: it has to be rebuilt if the graph changes.
+ *
+ * @param <V> the vertex type
+ */
+public class ReachabilityIndex<V> {
+
+	/** Distance of a vertex that cannot be reached */
+	public static final int UNREACHABLE = -1;
+
+	/** Default number of sources whose searches are kept */
+	private static final int DEFAULT_CACHE_SIZE = 16;
+
+	private final Map<V, Integer> indices;
+
+	private final List<V> vertices;
+
+	private final int[][] successors;
+
+	/** Breadth first searches of the most recently used sources */
+	private final Map<Integer, Search> searches;
+
+	/**
+	 * Distances from one source, and the predecessor of each vertex on a
+	 * shortest path from that source
+	 */
+	private static final class Search {
+		private final int[] distances;
+		private final int[] parents;
+
+		private Search(int[] distances, int[] parents) {
+			this.distances = distances;
+			this.parents = parents;
+		}
+	}
+
+	/**
+	 * <p>Constructor for ReachabilityIndex.</p>
+	 *
+	 * @param graph a {@link org.jgrapht.DirectedGraph} object.
+	 * @param <E> the edge type
+	 */
+	public <E> ReachabilityIndex(DirectedGraph<V, E> graph) {
+		this(graph, DEFAULT_CACHE_SIZE);
+	}
+
+	<E> ReachabilityIndex(DirectedGraph<V, E> graph, final int cacheSize) {
+		int size = graph.vertexSet().size();
+		indices = new HashMap<V, Integer>(size * 2);
+		vertices = new ArrayList<V>(size);
+		for (V v : graph.vertexSet()) {
+			indices.put(v, vertices.size());
+			vertices.add(v);
+		}
+
+		successors = new int[size][];
+		for (int i = 0; i < size; i++) {
+			int[] r = new int[graph.outDegreeOf(vertices.get(i))];
+			int pos = 0;
+			for (E e : graph.outgoingEdgesOf(vertices.get(i))) {
+				r[pos++] = indices.get(graph.getEdgeTarget(e));
+			}
+			successors[i] = r;
+		}
+
+		searches = new LinkedHashMap<Integer, Search>(16, 0.75f, true) {
+			private static final long serialVersionUID = 4313958476532137415L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Search> eldest) {
+				return size() > cacheSize;
+			}
+		};
+	}
+
+	/**
+	 * @return the length of a shortest path from v1 to v2, or
+	 *         {@link #UNREACHABLE} if there is no such path
+	 */
+	public int getDistance(V v1, V v2) {
+		int source = indexOf(v1);
+		int target = indexOf(v2);
+		return search(source).distances[target];
+	}
+
+	/**
+	 * @return the vertices on a shortest path from v1 to v2, both included,
+	 *         or null if v2 cannot be reached from v1
+	 */
+	public List<V> getShortestPath(V v1, V v2) {
+		int source = indexOf(v1);
+		int target = indexOf(v2);
+		Search search = search(source);
+		if (search.distances[target] == UNREACHABLE)
+			return null;
+
+		LinkedList<V> path = new LinkedList<V>();
+		for (int v = target; v != source; v = search.parents[v]) {
+			path.addFirst(vertices.get(v));
+		}
+		path.addFirst(vertices.get(source));
+		return path;
+	}
+
+	private int indexOf(V v) {
+		Integer index = indices.get(v);
+		if (index == null)
+			throw new IllegalArgumentException("vertex not contained in this graph: " + v);
+		return index;
+	}
+
+	private synchronized Search search(int source) {
+		Search search = searches.get(source);
+		if (search != null)
+			return search;
+
+		int[] dist = new int[vertices.size()];
+		int[] tree = new int[vertices.size()];
+		Arrays.fill(dist, UNREACHABLE);
+		Arrays.fill(tree, -1);
+
+		int[] queue = new int[vertices.size()];
+		int head = 0;
+		int tail = 0;
+		dist[source] = 0;
+		queue[tail++] = source;
+		while (head < tail) {
+			int v = queue[head++];
+			for (int w : successors[v]) {
+				if (dist[w] == UNREACHABLE) {
+					dist[w] = dist[v] + 1;
+					tree[w] = v;
+					queue[tail++] = w;
+				}
+			}
+		}
+
+		search = new Search(dist, tree);
+		searches.put(source, search);
+		return search;
+	}
+}
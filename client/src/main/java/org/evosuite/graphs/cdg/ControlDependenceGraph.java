@@ -41,6 +41,8 @@ public class ControlDependenceGraph extends EvoSuiteGraph<BasicBlock, ControlFlo
 	private final String className;
 	private final String methodName;
 
+	private ControlDependenceTable dependenceTable;
+
 	/**
 	 * <p>Constructor for ControlDependenceGraph.</p>
 	 *
@@ -79,6 +81,18 @@ public class ControlDependenceGraph extends EvoSuiteGraph<BasicBlock, ControlFlo
 	// return getControlDependentBranches(insBlock);
 	// }
 
+	/**
+	 * Returns the flattened control dependencies of this method, building
+	 * them on first access.
+	 *
+	 * @return a {@link org.evosuite.graphs.cdg.ControlDependenceTable} object.
+	 */
+	public synchronized ControlDependenceTable getDependenceTable() {
+		if (dependenceTable == null)
+			dependenceTable = new ControlDependenceTable(this, cfg.getDiameter());
+		return dependenceTable;
+	}
+
 	/**
 	 * Checks whether this graph knows the given instruction. That is there is a
 	 * BasicBlock in this graph's vertexSet containing the given instruction.
@@ -0,0 +1,188 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.graphs.cdg;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.evosuite.coverage.branch.Branch;
+import org.evosuite.graphs.cfg.BasicBlock;
+import org.evosuite.graphs.cfg.BytecodeInstruction;
+import org.evosuite.graphs.cfg.ControlDependency;
+
+/**
+ * Flattened view of the control dependencies of a method, built once from its
+ * {@link ControlDependenceGraph}.
+ * 
+ * Every branch some block of the method is control dependent on gets a local
+ * index. For each such branch the table stores the branches it is in turn
+ * control dependent on as an int array, each entry encoding the index of the
+ * parent branch and the outcome it has to take. Approach levels can then be
+ * computed by walking these arrays instead of querying the graph.
+ * 
+ * @see org.evosuite.coverage.branch.ControlFlowDistanceCalculator
+ */
+public class ControlDependenceTable {
+
+	private final Map<Branch, Integer> indices = new HashMap<Branch, Integer>();
+
+	private final int[] branchIds;
+
+	private final int[][] dependencies;
+
+	/** Dependencies of branches that no other branch depends on */
+	private final Map<Branch, int[]> leafDependencies = new ConcurrentHashMap<Branch, int[]>();
+
+	private final int diameter;
+
+	/**
+	 * <p>Constructor for ControlDependenceTable.</p>
+	 *
+	 * @param cdg a {@link org.evosuite.graphs.cdg.ControlDependenceGraph} object.
+	 * @param diameter the diameter of the control flow graph of the method
+	 */
+	public ControlDependenceTable(ControlDependenceGraph cdg, int diameter) {
+		this.diameter = diameter;
+
+		List<Branch> branches = new ArrayList<Branch>();
+		for (BasicBlock block : cdg.vertexSet()) {
+			for (ControlDependency cd : cdg.getControlDependentBranches(block)) {
+				register(cd.getBranch(), branches);
+			}
+		}
+
+		// parents of a registered branch are registered as well, so the
+		// list may grow while we are looking at it
+		List<int[]> dependencyList = new ArrayList<int[]>();
+		for (int i = 0; i < branches.size(); i++) {
+			Set<ControlDependency> cds = branches.get(i).getInstruction().getControlDependencies();
+			for (ControlDependency cd : cds) {
+				register(cd.getBranch(), branches);
+			}
+			dependencyList.add(encode(branches.get(i).getInstruction(), cds));
+		}
+
+		this.branchIds = new int[branches.size()];
+		this.dependencies = new int[branches.size()][];
+		for (int i = 0; i < branches.size(); i++) {
+			branchIds[i] = branches.get(i).getActualBranchId();
+			dependencies[i] = dependencyList.get(i);
+		}
+	}
+
+	private void register(Branch branch, List<Branch> branches) {
+		if (!indices.containsKey(branch)) {
+			indices.put(branch, branches.size());
+			branches.add(branch);
+		}
+	}
+
+	private int[] encode(BytecodeInstruction instruction, Set<ControlDependency> cds) {
+		int[] r = new int[cds.size()];
+		int size = 0;
+		for (ControlDependency cd : cds) {
+			if (instruction.equals(cd.getBranch().getInstruction()))
+				continue; // avoid loops
+			Integer index = indices.get(cd.getBranch());
+			if (index == null)
+				throw new IllegalStateException("Branch not known to the control dependence table: "
+				        + cd.getBranch());
+			r[size++] = encode(index, cd.getBranchExpressionValue());
+		}
+		return size == r.length ? r : Arrays.copyOf(r, size);
+	}
+
+	private static int encode(int index, boolean value) {
+		return (index << 1) | (value ? 1 : 0);
+	}
+
+	/**
+	 * @return the local index encoded in an entry of a dependency array
+	 */
+	public static int getIndex(int dependency) {
+		return dependency >>> 1;
+	}
+
+	/**
+	 * @return the branch outcome encoded in an entry of a dependency array
+	 */
+	public static boolean getValue(int dependency) {
+		return (dependency & 1) != 0;
+	}
+
+	/**
+	 * @return the number of branches in the table
+	 */
+	public int size() {
+		return branchIds.length;
+	}
+
+	/**
+	 * @return the local index of the given branch, or -1 if no block of the
+	 *         method is control dependent on it
+	 */
+	public int indexOf(Branch branch) {
+		Integer index = indices.get(branch);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * @return the actual branch id of the branch at the given local index
+	 */
+	public int getBranchId(int index) {
+		return branchIds[index];
+	}
+
+	/**
+	 * @return the encoded dependencies of the branch at the given local index
+	 */
+	public int[] getDependencies(int index) {
+		return dependencies[index];
+	}
+
+	/**
+	 * @return the encoded dependencies of the given branch of this method
+	 */
+	public int[] getDependencies(Branch branch) {
+		Integer index = indices.get(branch);
+		if (index != null)
+			return dependencies[index];
+
+		int[] r = leafDependencies.get(branch);
+		if (r == null) {
+			BytecodeInstruction instruction = branch.getInstruction();
+			r = encode(instruction, instruction.getControlDependencies());
+			leafDependencies.put(branch, r);
+		}
+		return r;
+	}
+
+	/**
+	 * @return the diameter of the control flow graph of the method
+	 */
+	public int getDiameter() {
+		return diameter;
+	}
+}
@@ -65,6 +65,14 @@ public class BytecodeInstructionPool {
 		return instanceMap.get(classLoader);
 	}
 
+	/**
+	 * Removes the pool of the given class loader, e.g. once the class loader
+	 * is no longer used.
+	 */
+	public static void release(ClassLoader classLoader) {
+		instanceMap.remove(classLoader);
+	}
+
 	// maps className -> method inside that class -> list of
 	// BytecodeInstructions
 	private final Map<String, Map<String, List<BytecodeInstruction>>> instructionMap = new LinkedHashMap<>();
@@ -0,0 +1,274 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation.testability;
+
+import java.util.Arrays;
+
+/**
+ * Levenshtein distance computed with the bit-vector algorithm of Myers, as
+ * formulated for edit distance by Hyyro. The shorter string is encoded as bit
+ * vectors of 64 characters, so strings up to 64 characters take one word per
+ * column of the longer string and longer ones are processed in blocks.
+ * 
+ * The buffers are kept per thread, so that the distance does not allocate
+ * once they have grown to the size of the compared strings.
+ */
+public class StringDistance {
+
+	private static final int ASCII = 128;
+
+	private static final ThreadLocal<Buffers> BUFFERS = new ThreadLocal<Buffers>() {
+		@Override
+		protected Buffers initialValue() {
+			return new Buffers();
+		}
+	};
+
+	/**
+	 * Per-thread match vectors: for each character of the pattern the bit
+	 * mask of its positions, block by block. ASCII characters are looked up
+	 * directly, the others in a small open addressing table.
+	 */
+	private static class Buffers {
+		long[] ascii = new long[ASCII];
+		int[] keys = new int[16];
+		long[] masks = new long[16];
+		int mask = 15;
+		long[] vp = new long[1];
+		long[] vn = new long[1];
+		int blocks = 1;
+
+		void prepare(String pattern, int blocks, boolean ignoreCase) {
+			this.blocks = blocks;
+			if (ascii.length < ASCII * blocks) {
+				ascii = new long[ASCII * blocks];
+				vp = new long[blocks];
+				vn = new long[blocks];
+			}
+			// at most three entries per character, kept at half load
+			int entries = Math.max(8, pattern.length()) * (ignoreCase ? 3 : 1);
+			int size = Integer.highestOneBit(entries * 4);
+			if (keys.length < size || masks.length < size * blocks) {
+				keys = new int[size];
+				masks = new long[size * blocks];
+			}
+			mask = size - 1;
+			Arrays.fill(keys, 0, size, -1);
+
+			for (int i = 0; i < pattern.length(); i++) {
+				char c = pattern.charAt(i);
+				long bit = 1L << (i & 63);
+				int block = i >>> 6;
+				set(c, block, bit);
+				if (ignoreCase) {
+					set(c + 32, block, bit);
+					if (c >= 32) {
+						set(c - 32, block, bit);
+					}
+				}
+			}
+		}
+
+		private void set(int c, int block, long bit) {
+			if (c < ASCII) {
+				ascii[c * blocks + block] |= bit;
+			} else {
+				int slot = slot(c, true);
+				masks[slot * blocks + block] |= bit;
+			}
+		}
+
+		private int slot(int c, boolean insert) {
+			int slot = (c * 0x9E3779B1 >>> 16) & mask;
+			while (keys[slot] != c) {
+				if (keys[slot] == -1) {
+					if (!insert) {
+						return -1;
+					}
+					keys[slot] = c;
+					for (int b = 0; b < blocks; b++) {
+						masks[slot * blocks + b] = 0L;
+					}
+					return slot;
+				}
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+
+		long get(char c, int block) {
+			if (c < ASCII) {
+				return ascii[c * blocks + block];
+			}
+			int slot = slot(c, false);
+			return slot < 0 ? 0L : masks[slot * blocks + block];
+		}
+
+		void clear(String pattern, boolean ignoreCase) {
+			for (int i = 0; i < pattern.length(); i++) {
+				clear(pattern.charAt(i));
+				if (ignoreCase) {
+					clear(pattern.charAt(i) + 32);
+					clear(pattern.charAt(i) - 32);
+				}
+			}
+		}
+
+		private void clear(int c) {
+			if (c >= 0 && c < ASCII) {
+				for (int b = 0; b < blocks; b++) {
+					ascii[c * blocks + b] = 0L;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the Levenshtein distance between the two strings
+	 */
+	public static int levenshtein(String s, String t) {
+		return levenshtein(s, t, false, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Computes the Levenshtein distance, giving up as soon as it is known to
+	 * exceed {@code limit}.
+	 * 
+	 * @param ignoreCase
+	 *            whether characters differing by 32, i.e., the ASCII letter
+	 *            case, are considered equal
+	 * @param limit
+	 *            the largest distance of interest
+	 * @return the distance, or a value larger than {@code limit} if the
+	 *         distance exceeds it
+	 */
+	public static int levenshtein(String s, String t, boolean ignoreCase, int limit) {
+		String pattern = s.length() <= t.length() ? s : t;
+		String text = pattern == s ? t : s;
+		int m = pattern.length();
+		int n = text.length();
+
+		if (m == 0) {
+			return n;
+		}
+		if (n - m > limit) {
+			return n - m;
+		}
+
+		int blocks = (m + 63) >>> 6;
+		Buffers buffers = BUFFERS.get();
+		buffers.prepare(pattern, blocks, ignoreCase);
+		try {
+			if (blocks == 1) {
+				return singleBlock(buffers, text, m, ignoreCase, limit);
+			} else {
+				return multipleBlocks(buffers, text, m, blocks, ignoreCase, limit);
+			}
+		} finally {
+			buffers.clear(pattern, ignoreCase);
+		}
+	}
+
+	private static int singleBlock(Buffers buffers, String text, int m, boolean ignoreCase, int limit) {
+		long last = 1L << (m - 1);
+		long vp = -1L;
+		long vn = 0L;
+		int score = m;
+		int n = text.length();
+
+		for (int j = 0; j < n; j++) {
+			long eq = buffers.get(text.charAt(j), 0);
+			long xv = eq | vn;
+			long xh = (((eq & vp) + vp) ^ vp) | eq;
+			long ph = vn | ~(xh | vp);
+			long mh = vp & xh;
+			if ((ph & last) != 0) {
+				score++;
+			} else if ((mh & last) != 0) {
+				score--;
+			}
+			ph = (ph << 1) | 1L;
+			mh = mh << 1;
+			vp = mh | ~(xv | ph);
+			vn = ph & xv;
+
+			// each remaining column lowers the distance by at most one
+			if (score - (n - j - 1) > limit) {
+				return score - (n - j - 1);
+			}
+		}
+		return score;
+	}
+
+	private static int multipleBlocks(Buffers buffers, String text, int m, int blocks, boolean ignoreCase,
+			int limit) {
+		long[] vp = buffers.vp;
+		long[] vn = buffers.vn;
+		for (int b = 0; b < blocks; b++) {
+			vp[b] = -1L;
+			vn[b] = 0L;
+		}
+		long last = 1L << ((m - 1) & 63);
+		int score = m;
+		int n = text.length();
+
+		for (int j = 0; j < n; j++) {
+			char c = text.charAt(j);
+			int hin = 1;
+			for (int b = 0; b < blocks; b++) {
+				long eq = buffers.get(c, b);
+				long pv = vp[b];
+				long mv = vn[b];
+				long xv = eq | mv;
+				if (hin < 0) {
+					eq |= 1L;
+				}
+				long xh = (((eq & pv) + pv) ^ pv) | eq;
+				long ph = mv | ~(xh | pv);
+				long mh = pv & xh;
+
+				long high = b == blocks - 1 ? last : 1L << 63;
+				int hout = 0;
+				if ((ph & high) != 0) {
+					hout = 1;
+				} else if ((mh & high) != 0) {
+					hout = -1;
+				}
+
+				ph <<= 1;
+				mh <<= 1;
+				if (hin < 0) {
+					mh |= 1L;
+				} else if (hin > 0) {
+					ph |= 1L;
+				}
+				vp[b] = mh | ~(xv | ph);
+				vn[b] = ph & xv;
+				hin = hout;
+			}
+			score += hin;
+
+			if (score - (n - j - 1) > limit) {
+				return score - (n - j - 1);
+			}
+		}
+		return score;
+	}
+}
@@ -16,6 +16,8 @@ import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.FieldInsnNode;
 import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
 import org.objectweb.asm.tree.LdcInsnNode;
 import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.MethodNode;
@@ -135,6 +137,18 @@ public class ValueRetrievalTransform {
 				continue;
 			}
 			
+			// 0. Skip the probe unless it is switched on at runtime
+			LabelNode skipProbe = new LabelNode();
+			int probeId = RuntimeSensitiveVariable.getProbeId(observation.toString());
+			mn.instructions.insertBefore(nextNode, new LdcInsnNode(probeId));
+			mn.instructions.insertBefore(nextNode, new MethodInsnNode(
+			        Opcodes.INVOKESTATIC,
+			        Type.getInternalName(RuntimeSensitiveVariable.class),
+			        "isProbeEnabled",
+			        Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.INT_TYPE),
+			        false));
+			mn.instructions.insertBefore(nextNode, new JumpInsnNode(Opcodes.IFEQ, skipProbe));
+			
 			// 1. Duplicate value
 			Type instructionType = getInstructionType(node);
 			InsnNode dupNode;
@@ -178,6 +192,7 @@ public class ValueRetrievalTransform {
 			        						}), 
 			        false);
 			mn.instructions.insertBefore(nextNode, setObservation);
+			mn.instructions.insertBefore(nextNode, skipProbe);
 			
 //			break;
 		}
@@ -729,6 +729,11 @@ public class Scaffolding {
 		bd.append("" + RuntimeSettings.class.getName() + ".maxNumberOfIterationsPerLoop = "
 				+ Properties.MAX_LOOP_ITERATIONS + "; \n");
 
+		if (Properties.LOOP_COUNTER_PER_THREAD) {
+			bd.append(BLOCK_SPACE);
+			bd.append(RuntimeSettings.class.getName() + ".useThreadLocalLoopCounters = true; \n");
+		}
+
 		if (Properties.REPLACE_SYSTEM_IN) {
 			bd.append(BLOCK_SPACE);
 			bd.append(RuntimeSettings.class.getName() + ".mockSystemIn = true; \n");
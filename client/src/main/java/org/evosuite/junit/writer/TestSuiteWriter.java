@@ -48,9 +48,18 @@ import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.evosuite.junit.writer.TestSuiteWriterUtils.*;
 
@@ -89,6 +98,10 @@ public class TestSuiteWriter implements Opcodes {
 
     private TestNameGenerationStrategy nameGenerator = null;
 
+    private List<ExecutionResult> importedResults = null;
+
+    private String imports = null;
+
     /**
      * Add test to suite. If the test is a prefix of an existing test, just keep
      * existing test. If an existing test is a prefix of the test, replace the
@@ -197,7 +210,7 @@ public class TestSuiteWriter implements Opcodes {
 
         List<File> generated = new ArrayList<File>();
         String dir = TestSuiteWriterUtils.makeDirectory(directory);
-        String content = "";
+        StringBuilder content = new StringBuilder();
 
         // Execute all tests
         executor.newObservers();
@@ -243,16 +256,16 @@ public class TestSuiteWriter implements Opcodes {
         if (Properties.OUTPUT_GRANULARITY == OutputGranularity.MERGED || testCases.size() == 0) {
             File file = new File(dir + "/" + name + ".java");
             //executor.newObservers();
-            content = getUnitTestsAllInSameFile(name, results);
-            FileIOUtils.writeFile(content, file);
+            writeFile(getUnitTestsAllInSameFile(name, results), file, content);
             generated.add(file);
         } else {
+            // The imports of each file cover all tests, and need to be known before the test code is generated
+            getImportsOnce(results);
+            List<String> testCodes = getTestMethods(results);
             for (int i = 0; i < testCases.size(); i++) {
                 File file = new File(dir + "/" + name + "_" + i + ".java"); // e.g., dir/Foo_ESTest_0.java
                 //executor.newObservers();
-                String testCode = getOneUnitTestInAFile(name, i, results);
-                FileIOUtils.writeFile(testCode, file);
-                content += testCode;
+                writeFile(getOneUnitTestInAFile(name, i, results, testCodes.get(i)), file, content);
                 generated.add(file);
             }
         }
@@ -262,17 +275,31 @@ public class TestSuiteWriter implements Opcodes {
             File file = new File(dir + "/" + scaffoldingName + ".java");
             String scaffoldingContent = Scaffolding.getScaffoldingFileContent(name, results,
                     TestSuiteWriterUtils.hasAnySecurityException(results));
-            FileIOUtils.writeFile(scaffoldingContent, file);
+            writeFile(Collections.singletonList(scaffoldingContent), file, content);
             generated.add(file);
-            content += scaffoldingContent;
         }
 
         writeCoveredGoalsFile();
 
-        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content);
+        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content.toString());
         return generated;
     }
 
+    /**
+     * Write the parts of a file through a buffer, rather than joining them
+     * into a single string first, and append them to the code of the suite
+     */
+    private static void writeFile(List<String> parts, File file, StringBuilder suiteCode) {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file)))) {
+            for (String part : parts) {
+                writer.write(part);
+                suiteCode.append(part);
+            }
+        } catch (IOException e) {
+            logger.error("Error while writing file " + file.getName() + " , " + e.getMessage(), e);
+        }
+    }
+
     /**
      * To avoid having completely empty test classes, a no-op test is created
      * 
@@ -315,9 +342,9 @@ public class TestSuiteWriter implements Opcodes {
      * Create JUnit file for given class name
      *
      * @param name Name of the class file
-     * @return String representation of JUnit test file
+     * @return the parts of the JUnit test file
      */
-    private String getUnitTestsAllInSameFile(String name, List<ExecutionResult> results) {
+    private List<String> getUnitTestsAllInSameFile(String name, List<ExecutionResult> results) {
 
 		/*
          * if there was any security exception, then we need to scaffold the
@@ -325,24 +352,22 @@ public class TestSuiteWriter implements Opcodes {
 		 */
         boolean wasSecurityException = TestSuiteWriterUtils.hasAnySecurityException(results);
 
-        StringBuilder builder = new StringBuilder();
+        List<String> parts = new ArrayList<>(testCases.size() + 3);
 
-        builder.append(getHeader(name, name, results));
+        parts.add(getHeader(name, name, results));
 
         if (!Properties.TEST_SCAFFOLDING && !Properties.NO_RUNTIME_DEPENDENCY) {
-            builder.append(new Scaffolding().getBeforeAndAfterMethods(name, wasSecurityException, results));
+            parts.add(new Scaffolding().getBeforeAndAfterMethods(name, wasSecurityException, results));
         }
         
         if(testCases.isEmpty()) {
-        	builder.append(getEmptyTest());
+        	parts.add(getEmptyTest());
         } else {
-        	for (int i = 0; i < testCases.size(); i++) {
-        		builder.append(testToString(i, i, results.get(i)));
-        	}
+        	parts.addAll(getTestMethods(results));
         }
-        builder.append(getFooter());
+        parts.add(getFooter());
 
-        return builder.toString();
+        return parts;
     }
 
     /**
@@ -350,24 +375,73 @@ public class TestSuiteWriter implements Opcodes {
      *
      * @param name   Name of the class file
      * @param testId a int.
-     * @return String representation of JUnit test file
+     * @param testCode code of the test method
+     * @return the parts of the JUnit test file
      */
-    private String getOneUnitTestInAFile(String name, int testId, List<ExecutionResult> results) {
+    private List<String> getOneUnitTestInAFile(String name, int testId, List<ExecutionResult> results, String testCode) {
 
         boolean wasSecurityException = results.get(testId).hasSecurityException();
 
-        StringBuilder builder = new StringBuilder();
+        List<String> parts = new ArrayList<>(4);
 
-        builder.append(getHeader(name + "_" + testId, name, results));
+        parts.add(getHeader(name + "_" + testId, name, results));
 
         if (!Properties.TEST_SCAFFOLDING) {
-            builder.append(new Scaffolding().getBeforeAndAfterMethods(name + "_" + testId, wasSecurityException, results));
+            parts.add(new Scaffolding().getBeforeAndAfterMethods(name + "_" + testId, wasSecurityException, results));
         }
 
-        builder.append(testToString(testId, testId, results.get(testId)));
-        builder.append(getFooter());
+        parts.add(testCode);
+        parts.add(getFooter());
 
-        return builder.toString();
+        return parts;
+    }
+
+    /**
+     * Convert all test cases to Java methods. With more than one
+     * {@link Properties#TEST_WRITER_THREADS}, each test is converted on its
+     * own copy of the code visitor, which starts from the class names
+     * collected for the imports, and its own adapter. Everything else a
+     * method needs from the writer (name, comment, chopped test) is prepared
+     * up front on this thread, and the methods are returned in the order of
+     * the tests regardless of when they are done.
+     */
+    private List<String> getTestMethods(List<ExecutionResult> results) {
+        List<TestMethod> methods = new ArrayList<>(testCases.size());
+        int threads = Math.min(Properties.TEST_WRITER_THREADS, testCases.size());
+
+        if (threads <= 1) {
+            for (int i = 0; i < testCases.size(); i++) {
+                methods.add(getTestMethod(prepareTestMethod(i, i, results.get(i)), adapter, visitor));
+            }
+        } else {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<TestMethod>> futures = new ArrayList<>(testCases.size());
+                for (int i = 0; i < testCases.size(); i++) {
+                    final TestMethodInput input = prepareTestMethod(i, i, results.get(i));
+                    final UnitTestAdapter testAdapter = TestSuiteWriterUtils.getAdapter();
+                    final TestCodeVisitor testVisitor = visitor.copyWithClassNames();
+                    futures.add(pool.submit(() -> getTestMethod(input, testAdapter, testVisitor)));
+                }
+                for (Future<TestMethod> future : futures) {
+                    methods.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while writing tests", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to write test", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        List<String> testCodes = new ArrayList<>(methods.size());
+        for (TestMethod method : methods) {
+            method.report();
+            testCodes.add(method.code);
+        }
+        return testCodes;
     }
 
     /**
@@ -504,6 +578,18 @@ public class TestSuiteWriter implements Opcodes {
     }
 
 
+    /**
+     * The imports are the same for all files of a suite, so they are only
+     * determined once for the given results
+     */
+    private String getImportsOnce(List<ExecutionResult> results) {
+        if (importedResults != results) {
+            imports = getImports(results);
+            importedResults = results;
+        }
+        return imports;
+    }
+
     /**
      * JUnit file header
      *
@@ -533,7 +619,7 @@ public class TestSuiteWriter implements Opcodes {
         builder.append(NEWLINE);
 
         builder.append(adapter.getImports());
-        builder.append(getImports(results));
+        builder.append(getImportsOnce(results));
 
         if (TestSuiteWriterUtils.needToUseAgent() && !Properties.NO_RUNTIME_DEPENDENCY) {
             builder.append(getRunner());
@@ -614,27 +700,57 @@ public class TestSuiteWriter implements Opcodes {
      * @return String representation of test case
      */
     protected String testToString(int number, int id, ExecutionResult result) {
+        TestMethod method = getTestMethod(prepareTestMethod(number, id, result), adapter, visitor);
+        method.report();
+        return method.code;
+    }
 
-        boolean wasSecurityException = result.hasSecurityException();
-
+    /**
+     * Collect what the code of a test method needs from the state of this
+     * writer, so that the code itself can be generated on another thread
+     */
+    private TestMethodInput prepareTestMethod(int number, int id, ExecutionResult result) {
         String testInfo = getInformation(id);
+        boolean hasComment = Properties.TEST_COMMENTS || testComment.containsKey(id);
+
+        // Get the test method name generated in TestNameGenerator
+        String methodName = nameGenerator.getName(testCases.get(id));
+        if (methodName == null) {
+            // if TestNameGenerator did not generate a name, fall back to original naming
+            methodName = TestSuiteWriterUtils.getNameOfTest(testCases, number);
+        }
+
+        // No code after an exception should be printed as it would break compilability
+        TestCase test = testCases.get(id);
+
+        Integer pos = result.getFirstPositionOfThrownException();
+        if (pos != null) {
+            if (result.getExceptionThrownAtPosition(pos) instanceof CodeUnderTestException) {
+                test.chop(pos);
+            } else {
+                test.chop(pos + 1);
+            }
+        }
+
+        return new TestMethodInput(id, methodName, hasComment, testInfo, test, result);
+    }
+
+    private static TestMethod getTestMethod(TestMethodInput input, UnitTestAdapter adapter, TestCodeVisitor visitor) {
+
+        TestCase test = input.test;
+        ExecutionResult result = input.result;
+        boolean wasSecurityException = result.hasSecurityException();
 
         StringBuilder builder = new StringBuilder();
         builder.append(NEWLINE);
-        if (Properties.TEST_COMMENTS || testComment.containsKey(id)) {
+        if (input.hasComment) {
             builder.append(METHOD_SPACE);
             builder.append("//");
-            builder.append(testInfo);
+            builder.append(input.info);
             builder.append(NEWLINE);
         }
 
-        // Get the test method name generated in TestNameGenerator
-        String methodName = nameGenerator.getName(testCases.get(id));
-        if (methodName == null) {
-            // if TestNameGenerator did not generate a name, fall back to original naming
-            methodName = TestSuiteWriterUtils.getNameOfTest(testCases, number);
-        }
-        builder.append(adapter.getMethodDefinition(methodName));
+        builder.append(adapter.getMethodDefinition(input.name));
 
 		/*
 		 * A test case might throw a lot of different kinds of exceptions. 
@@ -651,18 +767,6 @@ public class TestSuiteWriter implements Opcodes {
         // ---------   start with the body -------------------------
         String CODE_SPACE = INNER_BLOCK_SPACE;
 
-        // No code after an exception should be printed as it would break compilability
-        TestCase test = testCases.get(id);
-
-        Integer pos = result.getFirstPositionOfThrownException();
-        if (pos != null) {
-            if (result.getExceptionThrownAtPosition(pos) instanceof CodeUnderTestException) {
-                test.chop(pos);
-            } else {
-                test.chop(pos + 1);
-            }
-        }
-
         if (wasSecurityException) {
             builder.append(BLOCK_SPACE);
             builder.append("Future<?> future = " + Scaffolding.EXECUTOR_SERVICE
@@ -681,7 +785,7 @@ public class TestSuiteWriter implements Opcodes {
             CODE_SPACE = INNER_INNER_INNER_BLOCK_SPACE;
         }
 
-        for (String line : adapter.getTestString(id, test,
+        for (String line : adapter.getTestString(input.id, test,
                 result.exposeExceptionMapping(), visitor).split("\\r?\\n")) {
             builder.append(CODE_SPACE);
             builder.append(line);
@@ -721,10 +825,64 @@ public class TestSuiteWriter implements Opcodes {
         builder.append("}");
         builder.append(NEWLINE);
 
-        String testCode = builder.toString();
-        TestGenerationResultBuilder.getInstance().setTestCase(methodName, testCode, test,
-                testInfo, result);
-        return testCode;
+        return new TestMethod(input.name, builder.toString(), test, input.info, result);
+    }
+
+    /**
+     * Inputs of the code of a test method, none of which is shared with the
+     * writer or with other test methods
+     */
+    private static class TestMethodInput {
+
+        private final int id;
+
+        private final String name;
+
+        private final boolean hasComment;
+
+        private final String info;
+
+        private final TestCase test;
+
+        private final ExecutionResult result;
+
+        TestMethodInput(int id, String name, boolean hasComment, String info, TestCase test, ExecutionResult result) {
+            this.id = id;
+            this.name = name;
+            this.hasComment = hasComment;
+            this.info = info;
+            this.test = test;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Code of a test method, reported to the {@link TestGenerationResultBuilder}
+     * once all methods are done
+     */
+    private static class TestMethod {
+
+        private final String name;
+
+        private final String code;
+
+        private final TestCase test;
+
+        private final String info;
+
+        private final ExecutionResult result;
+
+        TestMethod(String name, String code, TestCase test, String info, ExecutionResult result) {
+            this.name = name;
+            this.code = code;
+            this.test = test;
+            this.info = info;
+            this.result = result;
+        }
+
+        void report() {
+            TestGenerationResultBuilder.getInstance().setTestCase(name, code, test, info, result);
+        }
     }
 
     /**
@@ -12,7 +12,9 @@ import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 public class BranchNoveltyFunction extends NoveltyFunction<TestChromosome> {
@@ -83,4 +85,157 @@ public class BranchNoveltyFunction extends NoveltyFunction<TestChromosome> {
         return difference;
     }
 
+    /**
+     * Same as the mean of {@link #getDistance} over all pairs, but the
+     * behaviour of each individual is read from its trace only once, and the
+     * sum of distances is computed per branch from the sorted distances
+     * instead of per pair.
+     */
+    @Override
+    public double[] getNovelty(List<TestChromosome> population) {
+        int size = population.size();
+        double[][] distances = new double[branches.size()][size];
+        boolean[][] reached = new boolean[branches.size()][size];
+        boolean[][] covered = new boolean[branchlessMethods.size()][size];
+
+        for (int i = 0; i < size; i++) {
+            ExecutionTrace trace = getExecutionResult(population.get(i)).getTrace();
+            int b = 0;
+            for (Integer branch : branches) {
+                if (trace.hasTrueDistance(branch)) {
+                    reached[b][i] = true;
+                    distances[b][i] = trace.getTrueDistance(branch);
+                }
+                b++;
+            }
+            Set<String> methods = trace.getCoveredBranchlessMethods();
+            int m = 0;
+            for (String branchlessMethod : branchlessMethods) {
+                covered[m++][i] = methods.contains(branchlessMethod);
+            }
+        }
+
+        return getNovelty(distances, reached, covered, size);
+    }
+
+    /**
+     * @param distances
+     *            the true distance of each branch (first index) for each
+     *            individual (second index)
+     * @param reached
+     *            whether the individual has a true distance for the branch
+     * @param covered
+     *            whether the individual covers each branchless method
+     */
+    static double[] getNovelty(double[][] distances, boolean[][] reached, boolean[][] covered, int size) {
+        double[] novelty = new double[size];
+        double[] sorted = new double[size];
+        double[] prefix = new double[size + 1];
+
+        for (int b = 0; b < distances.length; b++) {
+            double[] column = distances[b];
+            boolean[] isReached = reached[b];
+
+            int count = 0;
+            boolean finite = true;
+            for (int i = 0; i < size; i++) {
+                if (isReached[i]) {
+                    sorted[count++] = column[i];
+                    finite &= !Double.isNaN(column[i]) && !Double.isInfinite(column[i]);
+                }
+            }
+
+            if (!finite) {
+                // the sums below would turn infinite distances into NaN
+                addPairwiseDistances(column, isReached, count, novelty);
+                continue;
+            }
+
+            Arrays.sort(sorted, 0, count);
+            for (int k = 0; k < count; k++) {
+                prefix[k + 1] = prefix[k] + sorted[k];
+            }
+
+            for (int i = 0; i < size; i++) {
+                if (!isReached[i]) {
+                    // 1 for each individual that reaches the branch
+                    novelty[i] += count;
+                    continue;
+                }
+                double value = column[i];
+                int below = lowerBound(sorted, count, value);
+                int notAbove = upperBound(sorted, count, value);
+                novelty[i] += value * below - prefix[below]
+                        + (prefix[count] - prefix[notAbove]) - value * (count - notAbove)
+                        + (size - count);
+            }
+        }
+
+        for (boolean[] column : covered) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (column[i]) {
+                    count++;
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                novelty[i] += column[i] ? size - count : count;
+            }
+        }
+
+        int dimensions = distances.length + covered.length;
+        for (int i = 0; i < size; i++) {
+            novelty[i] = novelty[i] / dimensions / (size - 1);
+        }
+        return novelty;
+    }
+
+    private static void addPairwiseDistances(double[] column, boolean[] reached, int count, double[] novelty) {
+        for (int i = 0; i < novelty.length; i++) {
+            if (!reached[i]) {
+                novelty[i] += count;
+                continue;
+            }
+            for (int j = 0; j < novelty.length; j++) {
+                if (j != i) {
+                    novelty[i] += reached[j] ? Math.abs(column[i] - column[j]) : 1.0;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of values smaller than value
+     */
+    private static int lowerBound(double[] sorted, int count, double value) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the number of values smaller than or equal to value
+     */
+    private static int upperBound(double[] sorted, int count, double value) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
 }
@@ -20,11 +20,11 @@
 package org.evosuite.regression;
 
 import java.lang.reflect.Field;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +51,10 @@ import org.slf4j.LoggerFactory;
  * normalized by the number of fields and not by a static factor.</li>
  * <li>There is no distance given for two characters. We defined that to be C =
  * 10.</li>
+ * <li>Composite objects are compared at most {@link #MAX_DEPTH} references
+ * deep. A pair of objects that is reached again while it is still compared
+ * (i.e., a cycle) has distance 0, and the distance of each pair is only
+ * computed once.</li>
  * </ul>
  */
 public class ObjectDistanceCalculator {
@@ -60,9 +64,66 @@ public class ObjectDistanceCalculator {
   private static final double R = 10;
   private static final double V = 10;
   private static final double C = 10;
-  private static final int MAX_RECURSION = 4;
-  private final Map<Integer, Integer> hashRecursionCntMap = new LinkedHashMap<>();
-  private final Map<Integer, Double> resultCache = new LinkedHashMap<>();
+  private static final int MAX_DEPTH = 32;
+
+  /**
+   * The accessible fields of a class and its superclasses, without those of
+   * Object. A ClassValue does not keep the classes of the compared versions
+   * from being unloaded.
+   */
+  private static final ClassValue<Field[]> ALL_FIELDS = new ClassValue<Field[]>() {
+    @Override
+    protected Field[] computeValue(Class<?> type) {
+      if (type.equals(Object.class) || type.getSuperclass() == null) {
+        return new Field[0];
+      }
+      Field[] declared = type.getDeclaredFields();
+      Field[] inherited = ALL_FIELDS.get(type.getSuperclass());
+      Field[] result = Arrays.copyOf(declared, declared.length + inherited.length);
+      System.arraycopy(inherited, 0, result, declared.length, inherited.length);
+      for (Field field : declared) {
+        try {
+          field.setAccessible(true);
+        } catch (RuntimeException e) {
+          // reading the field fails as well, if it is ever compared
+          logger.debug("Cannot access field {}: {}", field, e.toString());
+        }
+      }
+      return result;
+    }
+  };
+
+  /**
+   * Pairs of composite objects, compared by identity
+   */
+  private static final class ObjectPair {
+
+    private final Object p;
+    private final Object q;
+
+    ObjectPair(Object p, Object q) {
+      this.p = p;
+      this.q = q;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(p) + System.identityHashCode(q);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ObjectPair)) {
+        return false;
+      }
+      ObjectPair other = (ObjectPair) obj;
+      return p == other.p && q == other.q;
+    }
+  }
+
+  private final Set<ObjectPair> inProgress = new HashSet<>();
+  private final Map<ObjectPair, Double> resultCache = new HashMap<>();
+  private int depth = 0;
 
   private int numDifferentVariables = 0;
 
@@ -71,14 +132,8 @@ public class ObjectDistanceCalculator {
     return calculator.getObjectDistanceImpl(p, q) + normalize(calculator.numDifferentVariables);
   }
 
-  private static Collection<Field> getAllFields(Class<?> commonAncestor) {
-    Collection<Field> result = new ArrayList<>();
-    Class<?> ancestor = commonAncestor;
-    while (!ancestor.equals(Object.class)) {
-      result.addAll(Arrays.asList(ancestor.getDeclaredFields()));
-      ancestor = ancestor.getSuperclass();
-    }
-    return result;
+  private static Field[] getAllFields(Class<?> commonAncestor) {
+    return ALL_FIELDS.get(commonAncestor);
   }
 
   private static Class<?> getCommonAncestor(Object p, Object q) {
@@ -115,56 +170,19 @@ public class ObjectDistanceCalculator {
     return 1.0 / (x + 1.0);
   }
 
+  /**
+   * Primitive values are boxed by {@link Field#get(Object)}
+   */
   private static Object getFieldValue(Field field, Object p) {
     try {
-      Class<?> fieldType = field.getType();
-      field.setAccessible(true);
-      if (fieldType.isPrimitive()) {
-        if (fieldType.equals(Boolean.TYPE)) {
-          return field.getBoolean(p);
-        }
-        if (fieldType.equals(Integer.TYPE)) {
-          return field.getInt(p);
-        }
-        if (fieldType.equals(Byte.TYPE)) {
-          return field.getByte(p);
-        }
-        if (fieldType.equals(Short.TYPE)) {
-          return field.getShort(p);
-        }
-        if (fieldType.equals(Long.TYPE)) {
-          return field.getLong(p);
-        }
-        if (fieldType.equals(Double.TYPE)) {
-          return field.getDouble(p);
-        }
-        if (fieldType.equals(Float.TYPE)) {
-          return field.getFloat(p);
-        }
-        if (fieldType.equals(Character.TYPE)) {
-          return field.getChar(p);
-        }
-        throw new UnsupportedOperationException(
-            "Primitive type " + fieldType + " not implemented!");
-      }
       return field.get(p);
     } catch (IllegalAccessException exc) {
       throw new RuntimeException(exc);
     }
   }
 
-  private static Integer getHasCode(Object p, Object q) {
-    return ((p == null) ? 0 : p.hashCode()) + ((q == null) ? 0 : q.hashCode());
-  }
-
-  private static Collection<Field> getNonSharedFields(Class<?> commonAncestor, Object p) {
-    Collection<Field> result = new ArrayList<>();
-    Class<?> ancestor = p.getClass();
-    while (!ancestor.equals(commonAncestor)) {
-      result.addAll(Arrays.asList(ancestor.getDeclaredFields()));
-      ancestor = ancestor.getSuperclass();
-    }
-    return result;
+  private static int getNonSharedFieldCount(Class<?> commonAncestor, Object p) {
+    return getAllFields(p.getClass()).length - getAllFields(commonAncestor).length;
   }
 
   private static double getTypeDistance(Class<?> commonAncestor, Object p) {
@@ -179,8 +197,8 @@ public class ObjectDistanceCalculator {
 
   private static double getTypeDistance(Class<?> commonAncestor, Object p, Object q) {
     double result = getTypeDistance(commonAncestor, p) + getTypeDistance(commonAncestor, q);
-    result += getNonSharedFields(commonAncestor, p).size() * R;
-    result += getNonSharedFields(commonAncestor, q).size() * R;
+    result += getNonSharedFieldCount(commonAncestor, p) * R;
+    result += getNonSharedFieldCount(commonAncestor, q) * R;
     return result;
   }
 
@@ -235,40 +253,66 @@ public class ObjectDistanceCalculator {
 
   /* Levenshtein distance */
   private double getElementaryDistance(String p, String q) {
-    if (!p.equals(q)) {
-      numDifferentVariables++;
-    }
-    int[][] distanceMatrix = new int[p.length() + 1][q.length() + 1];
-    for (int idx = 0; idx <= p.length(); idx++) {
-      distanceMatrix[idx][0] = idx;
-    }
-    for (int jdx = 1; jdx <= q.length(); jdx++) {
-      distanceMatrix[0][jdx] = jdx;
+    if (p.equals(q)) {
+      return 0;
     }
-    for (int idx = 1; idx <= p.length(); idx++) {
-      for (int jdx = 1; jdx <= q.length(); jdx++) {
-        int cost;
-        if (p.charAt(idx - 1) == q.charAt(jdx - 1)) {
-          cost = 0;
-        } else {
-          cost = 1;
-        }
-        distanceMatrix[idx][jdx] = Math.min(
-            distanceMatrix[idx - 1][jdx] + 1, // deletion
-            Math.min(distanceMatrix[idx][jdx - 1] + 1, // insertion
-                distanceMatrix[idx - 1][jdx - 1] + cost // substitution
+    numDifferentVariables++;
+    return normalize(getEditDistance(p, q));
+  }
+
+  /**
+   * Levenshtein distance with transpositions of adjacent characters (optimal
+   * string alignment). The common prefix and suffix cannot take part in an
+   * edit, so they are skipped, and only the last three rows of the matrix are
+   * kept.
+   */
+  private static int getEditDistance(String p, String q) {
+    int start = 0;
+    int pEnd = p.length();
+    int qEnd = q.length();
+    while (start < pEnd && start < qEnd && p.charAt(start) == q.charAt(start)) {
+      start++;
+    }
+    while (pEnd > start && qEnd > start && p.charAt(pEnd - 1) == q.charAt(qEnd - 1)) {
+      pEnd--;
+      qEnd--;
+    }
+    int pLength = pEnd - start;
+    int qLength = qEnd - start;
+    if (pLength == 0 || qLength == 0) {
+      return pLength + qLength;
+    }
+
+    int[] twoBack = new int[qLength + 1];
+    int[] previous = new int[qLength + 1];
+    int[] current = new int[qLength + 1];
+    for (int jdx = 0; jdx <= qLength; jdx++) {
+      previous[jdx] = jdx;
+    }
+    for (int idx = 1; idx <= pLength; idx++) {
+      current[0] = idx;
+      char pChar = p.charAt(start + idx - 1);
+      for (int jdx = 1; jdx <= qLength; jdx++) {
+        char qChar = q.charAt(start + jdx - 1);
+        int cost = pChar == qChar ? 0 : 1;
+        int distance = Math.min(
+            previous[jdx] + 1, // deletion
+            Math.min(current[jdx - 1] + 1, // insertion
+                previous[jdx - 1] + cost // substitution
             ));
         if ((idx > 1) && (jdx > 1)
-            && (p.charAt(idx - 1) == q.charAt(jdx - 2))
-            && (p.charAt(idx - 2) == q.charAt(jdx - 1))) {
-          distanceMatrix[idx][jdx] = Math.min(
-              distanceMatrix[idx][jdx],
-              distanceMatrix[idx - 2][jdx - 2] + cost // transposition
-          );
+            && (pChar == q.charAt(start + jdx - 2))
+            && (p.charAt(start + idx - 2) == qChar)) {
+          distance = Math.min(distance, twoBack[jdx - 2] + cost); // transposition
         }
+        current[jdx] = distance;
       }
+      int[] free = twoBack;
+      twoBack = previous;
+      previous = current;
+      current = free;
     }
-    return normalize(distanceMatrix[p.length()][q.length()]);
+    return previous[qLength];
   }
 
   private double getObjectDistanceImpl(Object p, Object q) {
@@ -441,37 +485,30 @@ public class ObjectDistanceCalculator {
     return distance;
   }
 
-  private boolean breakRecursion(Object p, Object q) {
-    Integer hashCode = getHasCode(p, q);
-    Integer recursionCount = hashRecursionCntMap.get(hashCode);
-    if (recursionCount == null) {
-      recursionCount = 0;
-    }
-    if (recursionCount >= MAX_RECURSION) {
-      return true;
-    }
-    recursionCount++;
-    hashRecursionCntMap.put(hashCode, recursionCount);
-    return false;
-  }
-
   private double getCompositeObjectDistance(Object p, Object q) {
-    Double cachedDistance = resultCache.get(getHasCode(p, q));
+    ObjectPair pair = new ObjectPair(p, q);
+    Double cachedDistance = resultCache.get(pair);
     if (cachedDistance != null) {
       return cachedDistance;
     }
-    if (breakRecursion(p, q)) {
+    if (depth >= MAX_DEPTH || !inProgress.add(pair)) {
       return 0.0;
     }
-    Class<?> commonAncestor = getCommonAncestor(p, q);
-    double distance = getTypeDistance(commonAncestor, p, q);
-    distance += getFieldDistance(commonAncestor, p, q);
-    resultCache.put(getHasCode(p, q), distance);
-    return distance;
+    depth++;
+    try {
+      Class<?> commonAncestor = getCommonAncestor(p, q);
+      double distance = getTypeDistance(commonAncestor, p, q);
+      distance += getFieldDistance(commonAncestor, p, q);
+      resultCache.put(pair, distance);
+      return distance;
+    } finally {
+      depth--;
+      inProgress.remove(pair);
+    }
   }
 
   private double getFieldDistance(Class<?> commonAncestor, Object p, Object q) {
-    Collection<Field> fields = getAllFields(commonAncestor);
+    Field[] fields = getAllFields(commonAncestor);
     double sum = 0;
     for (Field field : fields) {
       sum += getObjectDistanceImpl(getFieldValue(field, p), getFieldValue(field, q));
@@ -479,7 +516,7 @@ public class ObjectDistanceCalculator {
     if (sum == 0.0) {
       return sum;
     }
-    return sum / fields.size();
+    return sum / fields.length;
   }
 
   public int getNumDifferentVariables() {
@@ -32,6 +32,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.coverage.branch.Branch;
@@ -66,6 +71,13 @@ public class RegressionSuiteFitness extends TestSuiteFitnessFunction {
   private HashMap<Integer, Double> tempBranchDistanceMap;
   private int uniqueCalls;
 
+  /**
+   * Computes object distances while the search thread executes the next
+   * tests, see {@link Properties#REGRESSION_ANALYSIS_THREADS}
+   */
+  private transient ExecutorService analysisExecutor;
+  private final AtomicInteger analysisThreadCounter = new AtomicInteger(0);
+
   public RegressionSuiteFitness() {
     super();
     logger.warn("### initialising Regression-GA... ###");
@@ -111,6 +123,8 @@ public class RegressionSuiteFitness extends TestSuiteFitnessFunction {
     observer.clearPools();
     diversityMap.clear();
 
+    List<Future<?>> pendingDistances = new ArrayList<>();
+
     RegressionTestSuiteChromosome suite = (RegressionTestSuiteChromosome) changedSuite;
     for (TestChromosome chromosome : suite.getTestChromosomes()) {
       RegressionTestChromosome c = (RegressionTestChromosome) chromosome;
@@ -138,12 +152,24 @@ public class RegressionSuiteFitness extends TestSuiteFitnessFunction {
 
         observer.disable();
 
-        double objectDistance = getTestObjectDistance(
-            observer.currentObjectMapPool,
-            observer.currentRegressionObjectMapPool);
-
-        result.regressionObjectDistance = objectDistance;
-        otherResult.regressionObjectDistance = objectDistance;
+        // the pools only hold values copied from the scope, and the observer
+        // starts new pools for the next test
+        List<Map<Integer, Map<String, Map<String, Object>>>> originalPool =
+            observer.currentObjectMapPool;
+        List<Map<Integer, Map<String, Map<String, Object>>>> regressionPool =
+            observer.currentRegressionObjectMapPool;
+
+        if (Properties.REGRESSION_ANALYSIS_THREADS > 0) {
+          pendingDistances.add(getAnalysisExecutor().submit(() -> {
+            double objectDistance = getTestObjectDistance(originalPool, regressionPool);
+            result.regressionObjectDistance = objectDistance;
+            otherResult.regressionObjectDistance = objectDistance;
+          }));
+        } else {
+          double objectDistance = getTestObjectDistance(originalPool, regressionPool);
+          result.regressionObjectDistance = objectDistance;
+          otherResult.regressionObjectDistance = objectDistance;
+        }
 
         testChromosome.setLastExecutionResult(result);
         testChromosome.setChanged(false);
@@ -157,7 +183,41 @@ public class RegressionSuiteFitness extends TestSuiteFitnessFunction {
       }
     }
 
+    awaitObjectDistances(pendingDistances);
+  }
 
+  private ExecutorService getAnalysisExecutor() {
+    if (analysisExecutor == null) {
+      analysisExecutor = Executors.newFixedThreadPool(Properties.REGRESSION_ANALYSIS_THREADS, r -> {
+        Thread thread = new Thread(r,
+            "regression-analysis-" + analysisThreadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return analysisExecutor;
+  }
+
+  private void awaitObjectDistances(List<Future<?>> pendingDistances) {
+    for (int i = 0; i < pendingDistances.size(); i++) {
+      try {
+        pendingDistances.get(i).get();
+      } catch (InterruptedException e) {
+        for (Future<?> pending : pendingDistances.subList(i, pendingDistances.size())) {
+          pending.cancel(true);
+        }
+        Thread.currentThread().interrupt();
+        return;
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+        throw new RuntimeException(e.getCause());
+      }
+    }
   }
 
   private void measureDiversity(RegressionTestChromosome c) {
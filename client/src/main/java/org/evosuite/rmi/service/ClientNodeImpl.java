@@ -19,15 +19,18 @@
  */
 package org.evosuite.rmi.service;
 
+import java.lang.reflect.Array;
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
@@ -106,6 +109,23 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 	
 	private Thread statisticsThread; 
 
+	/**
+	 * Number of targets this process has generated tests for
+	 */
+	private int numberOfTargets = 1;
+
+	/**
+	 * Tells a process waiting for its next target whether it has one
+	 */
+	private final BlockingQueue<Boolean> nextTarget = new LinkedBlockingQueue<Boolean>();
+
+	/**
+	 * Values of the parameters when this process was started. Each further
+	 * target starts from these values, so that properties changed while
+	 * handling a target do not leak into the next one
+	 */
+	private Map<String, Object> initialProperties;
+
 	//only for testing
 	protected ClientNodeImpl() {
 	}
@@ -117,6 +137,39 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 		doneLatch = new CountDownLatch(1);
 		finishedLatch = new CountDownLatch(1);
 		this.bestSolutions = Collections.synchronizedList(new ArrayList<Set<? extends Chromosome>>(Properties.NUM_PARALLEL_CLIENTS));
+		this.initialProperties = getCurrentProperties();
+	}
+
+	//only for testing
+	ClientNodeImpl(MasterNodeRemote masterNode, String identifier) {
+		this((Registry) null, identifier);
+		this.masterNode = masterNode;
+	}
+
+	private static Map<String, Object> getCurrentProperties() {
+		Map<String, Object> values = new HashMap<String, Object>();
+		try {
+			for (String key : Properties.getParameters()) {
+				values.put(key, copyOf(Properties.getValue(key)));
+			}
+		} catch (NoSuchParameterException | IllegalAccessException e) {
+			logger.error("Cannot store the initial properties of the client", e);
+			return null;
+		}
+		return values;
+	}
+
+	/**
+	 * Arrays are copied, as they could be modified in place
+	 */
+	private static Object copyOf(Object value) {
+		if (value == null || !value.getClass().isArray()) {
+			return value;
+		}
+		int length = Array.getLength(value);
+		Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+		System.arraycopy(value, 0, copy, 0, length);
+		return copy;
 	}
 
 	private static class OutputVariable {
@@ -144,6 +197,8 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 			@Override
 			public void run() {
 				changeState(ClientState.STARTED);
+				trackOutputVariable(RuntimeVariable.Client_Startup_Time,
+						numberOfTargets == 1 ? ClientProcess.getStartupTime() : 0L);
 
 				//Before starting search, let's activate the sandbox
 				if (Properties.SANDBOX) {
@@ -190,6 +245,90 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 		});
 	}
 
+	@Override
+	public boolean prepareForNewTarget(Map<String, String> properties) throws RemoteException {
+		if (!state.equals(ClientState.FINISHED)) {
+			throw new IllegalStateException("Client has not finished its current target yet");
+		}
+
+		if (numberOfTargets >= Properties.CLIENT_REUSE_LIMIT) {
+			logger.info(ClientProcess.getPrettyPrintIdentifier() + "Client has handled " + numberOfTargets
+					+ " targets, it will be replaced");
+			nextTarget.offer(false);
+			return false;
+		}
+
+		if (initialProperties == null) {
+			nextTarget.offer(false);
+			return false;
+		}
+
+		try {
+			for (Map.Entry<String, Object> entry : initialProperties.entrySet()) {
+				Properties.getInstance().setValue(entry.getKey(), copyOf(entry.getValue()));
+			}
+			for (Map.Entry<String, String> entry : properties.entrySet()) {
+				Properties.getInstance().setValue(entry.getKey(), entry.getValue());
+			}
+		} catch (NoSuchParameterException | IllegalAccessException | IllegalArgumentException e) {
+			logger.error("Cannot set up client for a new target", e);
+			nextTarget.offer(false);
+			return false;
+		}
+
+		TimeController.resetSingleton();
+		RMIStoppingCondition.getInstance().reset();
+		ClientProcess.setupRuntimeProperties();
+		TestGenerationContext.getInstance().resetContext();
+
+		if (isUnderMemoryPressure()) {
+			logger.info(ClientProcess.getPrettyPrintIdentifier()
+					+ "Too much memory still in use after reset, client will be replaced");
+			nextTarget.offer(false);
+			return false;
+		}
+
+		numberOfTargets++;
+		bestSolutions.clear();
+		doneLatch = new CountDownLatch(1);
+		finishedLatch = new CountDownLatch(1);
+		startStatisticsThread();
+
+		state = ClientState.NOT_STARTED;
+		masterNode.evosuite_informChangeOfStateInClient(clientRmiIdentifier, state,
+				new ClientStateInformation(state));
+
+		nextTarget.offer(true);
+		return true;
+	}
+
+	private static boolean isUnderMemoryPressure() {
+		System.gc();
+		Runtime runtime = Runtime.getRuntime();
+		long used = runtime.totalMemory() - runtime.freeMemory();
+		return used > Properties.CLIENT_RECYCLE_HEAP_RATIO * runtime.maxMemory();
+	}
+
+	@Override
+	public boolean waitForNextTarget() {
+		if (Properties.CLIENT_REUSE_LIMIT <= 1 || Properties.CLIENT_ON_THREAD) {
+			return false;
+		}
+
+		/*
+		 * The master collects the statistics of this target once we are FINISHED,
+		 * so all pending output variables need to be sent before
+		 */
+		stopStatisticsThread();
+		changeState(ClientState.FINISHED);
+
+		try {
+			return nextTarget.take();
+		} catch (InterruptedException e) {
+			return false;
+		}
+	}
+
 	@Override
 	public void cancelCurrentSearch() throws RemoteException {
 		if (this.state == ClientState.INITIALIZATION) {
@@ -348,6 +487,11 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
     }
 
 	public void stop(){
+		stopStatisticsThread();
+		changeState(ClientState.FINISHED);
+	}
+
+	private void stopStatisticsThread() {
 		if(statisticsThread!=null){
 			statisticsThread.interrupt();
 			List<OutputVariable> vars = new ArrayList<OutputVariable>();
@@ -368,8 +512,6 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 			}
 			statisticsThread = null;
 		}
-
-		changeState(ClientState.FINISHED);
 	}
 
 	@Override
@@ -380,26 +522,7 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 			masterNode.evosuite_informChangeOfStateInClient(clientRmiIdentifier, state,
 					new ClientStateInformation(state));
 
-			statisticsThread = new Thread() {
-				@Override
-				public void run() {
-					while (!this.isInterrupted()) {
-						OutputVariable ov = null;
-						try {
-							ov = outputVariableQueue.take(); //this is blocking
-							masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
-						} catch (InterruptedException e) {
-							break;
-						} catch (RemoteException e) {
-							logger.error("Error when exporting statistics: "+ov.variable+"="+ov.value, e);
-							break;
-						}
-					}
-				}
-			};
-            statisticsThread.setName("Statistics sender in client process");
-			Sandbox.addPrivilegedThread(statisticsThread);
-			statisticsThread.start();
+			startStatisticsThread();
 
 		} catch (Exception e) {
 			logger.error("Error when connecting to master via RMI", e);
@@ -408,6 +531,29 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 		return true;
 	}
 
+	private void startStatisticsThread() {
+		statisticsThread = new Thread() {
+			@Override
+			public void run() {
+				while (!this.isInterrupted()) {
+					OutputVariable ov = null;
+					try {
+						ov = outputVariableQueue.take(); //this is blocking
+						masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
+					} catch (InterruptedException e) {
+						break;
+					} catch (RemoteException e) {
+						logger.error("Error when exporting statistics: "+ov.variable+"="+ov.value, e);
+						break;
+					}
+				}
+			}
+		};
+		statisticsThread.setName("Statistics sender in client process");
+		Sandbox.addPrivilegedThread(statisticsThread);
+		statisticsThread.start();
+	}
+
 	public String getClientRmiIdentifier() {
 		return clientRmiIdentifier;
 	}
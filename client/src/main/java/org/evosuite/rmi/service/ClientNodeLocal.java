@@ -50,6 +50,14 @@ public interface ClientNodeLocal extends Listenable<Set<? extends Chromosome>> {
 	public void updateProperty(String propertyName, Object value);
 
 	public void waitUntilDone();
+
+	/**
+	 * Once done with a target, keep the process alive until the master
+	 * hands over a new target or decides to not reuse this client
+	 * 
+	 * @return true if there is a new target to generate tests for
+	 */
+	public boolean waitForNextTarget();
 	
 	public void emigrate(Set<? extends Chromosome> immigrants);
 	
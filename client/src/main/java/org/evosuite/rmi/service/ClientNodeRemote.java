@@ -24,6 +24,7 @@ import org.evosuite.ga.Chromosome;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -37,6 +38,19 @@ public interface ClientNodeRemote extends Remote {
 
 	public void startNewSearch() throws RemoteException;
 
+	/**
+	 * Get a client that has finished its search ready for a new target,
+	 * reusing its JVM instead of starting a new process
+	 * 
+	 * @param properties
+	 *            the values of the properties that change for the new
+	 *            target, eg TARGET_CLASS
+	 * @return false if the client should rather be replaced by a fresh
+	 *         process, in which case it terminates
+	 * @throws RemoteException
+	 */
+	public boolean prepareForNewTarget(Map<String, String> properties) throws RemoteException;
+
 	public void cancelCurrentSearch() throws RemoteException;
 
 	/**
@@ -27,6 +27,8 @@ import org.evosuite.result.seedexpr.DynamicPoolEvent;
 import org.evosuite.result.seedexpr.EventSequence;
 import org.evosuite.result.seedexpr.SamplingDataType;
 import org.evosuite.utils.DefaultRandomAccessQueue;
+import org.evosuite.utils.DoubleRandomAccessQueue;
+import org.evosuite.utils.LongRandomAccessQueue;
 import org.evosuite.utils.RandomAccessQueue;
 import org.evosuite.utils.Randomness;
 import org.objectweb.asm.Type;
@@ -41,15 +43,19 @@ public class DynamicConstantPool implements ConstantPool {
 
 	private final RandomAccessQueue<Type> typePool = new DefaultRandomAccessQueue<Type>();
 
-	private final RandomAccessQueue<Integer> intPool = new DefaultRandomAccessQueue<Integer>();
+	/*
+	 * the primitive pools are sampled for every seeded value, so they do not
+	 * box their values
+	 */
+	private final LongRandomAccessQueue intPool = new LongRandomAccessQueue();
 
-	private final RandomAccessQueue<Double> doublePool = new DefaultRandomAccessQueue<Double>();
+	private final DoubleRandomAccessQueue doublePool = new DoubleRandomAccessQueue();
 
-	private final RandomAccessQueue<Long> longPool = new DefaultRandomAccessQueue<Long>();
+	private final LongRandomAccessQueue longPool = new LongRandomAccessQueue();
 
-	private final RandomAccessQueue<Float> floatPool = new DefaultRandomAccessQueue<Float>();
+	private final DoubleRandomAccessQueue floatPool = new DoubleRandomAccessQueue();
 	
-	private final RandomAccessQueue<Character> charPool = new DefaultRandomAccessQueue<Character>();
+	private final LongRandomAccessQueue charPool = new LongRandomAccessQueue();
 
 	public DynamicConstantPool() {
 		/*
@@ -63,7 +69,7 @@ public class DynamicConstantPool implements ConstantPool {
 		}
 		intPool.restrictedAdd(0);
 		longPool.restrictedAdd(0L);
-		floatPool.restrictedAdd(0.0f);
+		floatPool.restrictedAdd(0.0);
 		doublePool.restrictedAdd(0.0);
 	}
 
@@ -89,7 +95,7 @@ public class DynamicConstantPool implements ConstantPool {
 	 */
 	@Override
 	public int getRandomInt() {
-		int value = intPool.getRandomValue();
+		int value = (int) intPool.getRandomValue();
 		EventSequence.addEvent(new DynamicPoolEvent(System.currentTimeMillis(), SamplingDataType.INT, intPool.size(), String.valueOf(value)));
 		return value;
 	}
@@ -99,7 +105,7 @@ public class DynamicConstantPool implements ConstantPool {
 	 */
 	@Override
 	public float getRandomFloat() {
-		float value = floatPool.getRandomValue();
+		float value = (float) floatPool.getRandomValue();
 		EventSequence.addEvent(new DynamicPoolEvent(System.currentTimeMillis(), SamplingDataType.FLOAT, floatPool.size(), String.valueOf(value)));
 		return value;
 	}
@@ -126,9 +132,11 @@ public class DynamicConstantPool implements ConstantPool {
 	
 	@Override
 	public char getRandomChar() {
-		Character value = charPool.getRandomValue();
-		if(value == null) {
+		char value;
+		if(charPool.isEmpty()) {
 			value = Randomness.nextChar();
+		} else {
+			value = (char) charPool.getRandomValue();
 		}
 		EventSequence.addEvent(new DynamicPoolEvent(System.currentTimeMillis(), SamplingDataType.CHARACTER, charPool.size(), String.valueOf(value)));
 		return value;
@@ -151,7 +159,8 @@ public class DynamicConstantPool implements ConstantPool {
 			// as they are stored in the constant pool
 			if (string.length() > 65535)
 				return;
-			stringPool.restrictedAdd(string);
+			// the same literals are collected again and again, share one copy
+			stringPool.restrictedAdd(string.intern());
 		} else if (object instanceof Type) {
 			typePool.restrictedAdd((Type) object);
 		}
@@ -160,22 +169,22 @@ public class DynamicConstantPool implements ConstantPool {
 			if (Properties.RESTRICT_POOL) {
 				int val = (Integer) object;
 				if (Math.abs(val) < Properties.MAX_INT) {
-					intPool.restrictedAdd((Integer) object);
+					intPool.restrictedAdd(val);
 				}
 				if (Properties.APPLY_CHAR_POOL) {
 					if (val >= 0 && val <= 255) {
 						char c = (char) val;
-						charPool.restrictedAdd((Character) c);
+						charPool.restrictedAdd(c);
 					}
 				}
 				
 			} else {
-				intPool.restrictedAdd((Integer) object);
+				intPool.restrictedAdd((int) (Integer) object);
 				if (Properties.APPLY_CHAR_POOL) {
 					int val = (Integer) object;
 					if (val >= 0 && val <= 255) {
 						char c = (char) val;
-						charPool.restrictedAdd((Character) c);
+						charPool.restrictedAdd(c);
 					}
 				}
 			}
@@ -183,28 +192,28 @@ public class DynamicConstantPool implements ConstantPool {
 			if (Properties.RESTRICT_POOL) {
 				long val = (Long) object;
 				if (Math.abs(val) < Properties.MAX_INT) {
-					longPool.restrictedAdd((Long) object);
+					longPool.restrictedAdd(val);
 				}
 			} else {
-				longPool.restrictedAdd((Long) object);
+				longPool.restrictedAdd((long) (Long) object);
 			}
 		} else if (object instanceof Float) {
 			if (Properties.RESTRICT_POOL) {
 				float val = (Float) object;
 				if (Math.abs(val) < Properties.MAX_INT) {
-					floatPool.restrictedAdd((Float) object);
+					floatPool.restrictedAdd(val);
 				}
 			} else {
-				floatPool.restrictedAdd((Float) object);
+				floatPool.restrictedAdd((float) (Float) object);
 			}
 		} else if (object instanceof Double) {
 			if (Properties.RESTRICT_POOL) {
 				double val = (Double) object;
 				if (Math.abs(val) < Properties.MAX_INT) {
-					doublePool.restrictedAdd((Double) object);
+					doublePool.restrictedAdd(val);
 				}
 			} else {
-				doublePool.restrictedAdd((Double) object);
+				doublePool.restrictedAdd((double) (Double) object);
 			}
 		} 
 	}
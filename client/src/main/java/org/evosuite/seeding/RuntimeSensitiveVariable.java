@@ -1,6 +1,7 @@
 package org.evosuite.seeding;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +16,73 @@ public class RuntimeSensitiveVariable {
 	 */
 	public static Map<String, List<Object>> observations = new HashMap<>();
 	
+	/**
+	 * map: bytecode-instruction --> id of the probe injected after it
+	 */
+	private static Map<String, Integer> probeIds = new HashMap<>();
+	
+	/**
+	 * switch table of the injected probes, indexed by probe id. Probes are
+	 * dormant unless the observation they belong to is currently evaluated.
+	 */
+	private static volatile boolean[] enabledProbes = new boolean[64];
+	
+	/**
+	 * Returns the id of the probe observing the given instruction, assigning a
+	 * new one if the instruction is probed for the first time.
+	 */
+	public static synchronized int getProbeId(String key) {
+		Integer id = probeIds.get(key);
+		if(id == null) {
+			id = probeIds.size();
+			probeIds.put(key, id);
+			if(id >= enabledProbes.length) {
+				enabledProbes = Arrays.copyOf(enabledProbes, enabledProbes.length * 2);
+			}
+		}
+		return id;
+	}
+	
+	/**
+	 * Called by the injected probes before recording a value.
+	 */
+	public static boolean isProbeEnabled(int id) {
+		boolean[] probes = enabledProbes;
+		return id < probes.length && probes[id];
+	}
+	
+	/**
+	 * Enables exactly the probes of the given instructions and resets the
+	 * recorded observations for them.
+	 */
+	public static synchronized void enableProbes(List<BytecodeInstruction> instructions) {
+		boolean[] probes = new boolean[enabledProbes.length];
+		observations.clear();
+		for(BytecodeInstruction ins: instructions) {
+			String key = ins.toString();
+			observations.put(key, new ArrayList<>());
+			Integer id = probeIds.get(key);
+			if(id != null) {
+				probes[id] = true;
+			}
+		}
+		enabledProbes = probes;
+	}
+	
+	public static synchronized void disableProbes() {
+		enabledProbes = new boolean[enabledProbes.length];
+	}
+	
+	/**
+	 * Forgets all probes and observations. Classes instrumented before still
+	 * carry the old probe ids, so they must not be used any more.
+	 */
+	public static synchronized void reset() {
+		probeIds.clear();
+		observations.clear();
+		enabledProbes = new boolean[64];
+	}
+	
 //	public static void setHeadValue(Object obj) {
 //		headValue = obj;
 //		int a = 0;
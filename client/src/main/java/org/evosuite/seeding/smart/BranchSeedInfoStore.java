@@ -0,0 +1,231 @@
+package org.evosuite.seeding.smart;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ResourceList;
+import org.evosuite.coverage.branch.Branch;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.statements.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the results of {@link SeedingApplicationEvaluator} in
+ * {@link Properties#SMART_SEED_STORE_DIR}, so that later runs on an unchanged
+ * class skip the sensitivity analysis of its branches. The analysis depends
+ * on the inputs of the target method, thus there is one file per class and
+ * hash of the target class, the target method and the bytecode of the class.
+ *
+ * The pool type, the operand type, the observed constants and the referred
+ * test (already updated with the constants) are stored. The test is kept
+ * serialized, so that a store whose test cannot be read any more still
+ * provides the rest.
+ */
+public class BranchSeedInfoStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(BranchSeedInfoStore.class);
+
+	/**
+	 * className and target --> (actual branch id --> stored result), null if
+	 * the class cannot be hashed
+	 */
+	private static Map<String, Map<Integer, StoredSeedInfo>> store = new HashMap<>();
+
+	private static Map<String, File> files = new HashMap<>();
+
+	private static class StoredSeedInfo implements Serializable {
+		private static final long serialVersionUID = 2473946290812315507L;
+
+		int benefiticalType;
+		String operandType;
+		ArrayList<Serializable> seeds = new ArrayList<>();
+		byte[] referredTest;
+	}
+
+	public static boolean isEnabled() {
+		return Properties.SMART_SEED_STORE_DIR != null && !Properties.SMART_SEED_STORE_DIR.isEmpty();
+	}
+
+	/**
+	 * @return the result stored for the given branch by an earlier run, null
+	 *         if there is none
+	 */
+	public static BranchSeedInfo get(Branch b) {
+		if (!isEnabled() || b == null) {
+			return null;
+		}
+
+		Map<Integer, StoredSeedInfo> infos = load(b.getClassName());
+		StoredSeedInfo stored = infos == null ? null : infos.get(b.getActualBranchId());
+		if (stored == null) {
+			return null;
+		}
+
+		BranchSeedInfo info = new BranchSeedInfo(b, stored.benefiticalType, stored.operandType, null);
+		for (Serializable seed : stored.seeds) {
+			info.addPotentialSeed(new ObservedConstant(seed, seed.getClass(), null));
+		}
+		info.referredTest = readTest(stored.referredTest);
+		return info;
+	}
+
+	public static void put(Branch b, BranchSeedInfo info) {
+		if (!isEnabled() || b == null) {
+			return;
+		}
+
+		Map<Integer, StoredSeedInfo> infos = load(b.getClassName());
+		if (infos == null) {
+			return;
+		}
+
+		StoredSeedInfo stored = new StoredSeedInfo();
+		stored.benefiticalType = info.getBenefiticalType();
+		stored.operandType = info.getOperandType();
+		for (ObservedConstant seed : info.getPotentialSeeds()) {
+			if (isStorable(seed.getValue())) {
+				stored.seeds.add((Serializable) seed.getValue());
+			}
+		}
+		stored.referredTest = writeTest(info.referredTest);
+		infos.put(b.getActualBranchId(), stored);
+
+		save(getKey(b.getClassName()), infos);
+	}
+
+	/**
+	 * Forgets the stores read so far, so that they are read from disk again
+	 */
+	static void clear() {
+		store.clear();
+		files.clear();
+	}
+
+	private static byte[] writeTest(TestChromosome test) {
+		if (test == null) {
+			return null;
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(test);
+		} catch (IOException e) {
+			logger.debug("Cannot store referred test: " + e.getMessage());
+			return null;
+		}
+		return bytes.toByteArray();
+	}
+
+	private static TestChromosome readTest(byte[] bytes) {
+		if (bytes == null) {
+			return null;
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			TestChromosome test = (TestChromosome) in.readObject();
+			for (Statement st : test.getTestCase()) {
+				st.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
+			}
+			return test;
+		} catch (IOException | ClassNotFoundException | RuntimeException e) {
+			logger.debug("Cannot read stored referred test: " + e.getMessage());
+			return null;
+		}
+	}
+
+	private static boolean isStorable(Object value) {
+		return value instanceof String || value instanceof Number || value instanceof Character
+				|| value instanceof Boolean;
+	}
+
+	private static String getKey(String className) {
+		return className + " " + getTarget();
+	}
+
+	private static String getTarget() {
+		return Properties.TARGET_CLASS + "." + Properties.TARGET_METHOD;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<Integer, StoredSeedInfo> load(String className) {
+		String key = getKey(className);
+		if (store.containsKey(key)) {
+			return store.get(key);
+		}
+
+		Map<Integer, StoredSeedInfo> infos = null;
+		String hash = hash(className);
+		if (hash != null) {
+			File file = new File(Properties.SMART_SEED_STORE_DIR, className + "-" + hash + ".seeds");
+			files.put(key, file);
+			infos = new HashMap<>();
+			if (file.exists()) {
+				try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+					infos = (Map<Integer, StoredSeedInfo>) in.readObject();
+				} catch (IOException | ClassNotFoundException | ClassCastException e) {
+					logger.warn("Ignoring unreadable smart seed store " + file + ": " + e.getMessage());
+				}
+			}
+		}
+
+		store.put(key, infos);
+		return infos;
+	}
+
+	private static void save(String key, Map<Integer, StoredSeedInfo> infos) {
+		File file = files.get(key);
+		File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+		try {
+			file.getParentFile().mkdirs();
+			try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(tmp))) {
+				out.writeObject(infos);
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			logger.warn("Cannot write smart seed store " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * @return the hash of the target and the bytecode of the class, null if
+	 *         the class cannot be read
+	 */
+	private static String hash(String className) {
+		ClassLoader classLoader = TestGenerationContext.getInstance().getClassLoaderForSUT();
+		try (InputStream in = ResourceList.getInstance(classLoader).getClassAsStream(className)) {
+			if (in == null) {
+				return null;
+			}
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			digest.update(getTarget().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			byte[] buffer = new byte[8192];
+			int n;
+			while ((n = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, n);
+			}
+			return String.format("%040x", new BigInteger(1, digest.digest()));
+		} catch (IOException | NoSuchAlgorithmException e) {
+			logger.warn("Cannot hash bytecode of " + className + ": " + e.getMessage());
+			return null;
+		}
+	}
+}
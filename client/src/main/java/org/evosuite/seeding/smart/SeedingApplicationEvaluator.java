@@ -50,6 +50,11 @@ public class SeedingApplicationEvaluator {
 
 	public static Map<Branch, BranchSeedInfo> cache = new HashMap<>();
 	
+	/**
+	 * map: branch --> the operands observed when analyzing its channel
+	 */
+	private static Map<Branch, List<BytecodeInstruction>> relevantOperands = new HashMap<>();
+	
 	public static BranchSeedInfo evaluate(Branch b, TestChromosome testSeed, BranchFitness bf) {
 		
 //		for(Branch br: cache.keySet()) {
@@ -74,6 +79,21 @@ public class SeedingApplicationEvaluator {
 			
 		}
 		
+		BranchSeedInfo storedInfo = cache.containsKey(b) ? null : BranchSeedInfoStore.get(b);
+		if (storedInfo != null) {
+			if (storedInfo.referredTest == null && storedInfo.getBenefiticalType() != NO_POOL) {
+				// the stored test could not be read, keep seeding from the current one
+				storedInfo.referredTest = testSeed;
+			}
+			cache.put(b, storedInfo);
+			if (storedInfo.getBenefiticalType() != NO_POOL) {
+				AbstractMOSA.smartBranchNum += 1;
+				String branchType = storedInfo.getBenefiticalType() == STATIC_POOL ? "STATIC_POOL" : "DYNAMIC_POOL";
+				AbstractMOSA.runtimeBranchType.put(b.getInstruction().toString(), branchType);
+			}
+			return storedInfo;
+		}
+		
 		if(b == null || b.toString().contains("NULL")) {
 			BranchSeedInfo branchInfo = new BranchSeedInfo(b, NO_POOL, null, null);
 			cache.put(b, branchInfo);
@@ -93,6 +113,8 @@ public class SeedingApplicationEvaluator {
 		}
 		Set<DepVariable> methodInputs = compileInputs(nodes);
 
+		// only a result of an analysis on inputs of the target method is stored
+		boolean analyzed = false;
 		try {
 			List<BytecodeInstruction> operands = b.getInstruction().getOperands();
 			if (methodInputs != null && operands != null) {
@@ -116,6 +138,7 @@ public class SeedingApplicationEvaluator {
 				}
 				
 				ValuePreservance preservance = analyzeChannel(methodInputs, b, testSeed, bf);
+				analyzed = !methodInputs.isEmpty();
 
 				if (preservance != null && preservance.isValuePreserving()) {
 					List<MatchingResult> results = preservance.getMatchingResults();
@@ -132,6 +155,7 @@ public class SeedingApplicationEvaluator {
 						System.out.println("DYNAMIC_POOL type:" + b + ":" + type);
 						AbstractMOSA.smartBranchNum += 1;
 						AbstractMOSA.runtimeBranchType.put(b.getInstruction().toString(), "DYNAMIC_POOL");
+						BranchSeedInfoStore.put(b, branchInfo);
 						return branchInfo;
 					}
 					
@@ -151,6 +175,7 @@ public class SeedingApplicationEvaluator {
 						AbstractMOSA.runtimeBranchType.put(b.getInstruction().toString(),"STATIC_POOL");
 						
 						updateTestSeedWithConstantAssignment(result, statement, staticConstants, branchInfo, bf, b);
+						BranchSeedInfoStore.put(b, branchInfo);
 						return branchInfo;
 					} 
 					/**
@@ -168,6 +193,7 @@ public class SeedingApplicationEvaluator {
 						AbstractMOSA.runtimeBranchType.put(b.getInstruction().toString(),"DYNAMIC_POOL");
 						
 						updateTestSeedWithConstantAssignment(result, statement, dynamicConstants, branchInfo, bf, b);
+						BranchSeedInfoStore.put(b, branchInfo);
 						return branchInfo;
 					}
 
@@ -175,10 +201,14 @@ public class SeedingApplicationEvaluator {
 			}
 		} catch (Exception e) {
 			e.printStackTrace();
+			analyzed = false;
 		}
 
 		BranchSeedInfo branchInfo = new BranchSeedInfo(b, NO_POOL, null, null);
 		cache.put(b, branchInfo);
+		if (analyzed) {
+			BranchSeedInfoStore.put(b, branchInfo);
+		}
 		System.out.println("NO_POOL_1:" + b);
 		return branchInfo;
 	}
@@ -271,7 +301,7 @@ public class SeedingApplicationEvaluator {
 		/**
 		 * the operands corresponding to method inputs and constants
 		 */
-		List<BytecodeInstruction> observations = parseRelevantOperands(targetBranch);
+		List<BytecodeInstruction> observations = new ArrayList<>(parseRelevantOperands(targetBranch));
 		
 		List<DepVariable> headers = new ArrayList<>(inputs); 
 		ValuePreservance sp = SensitivityMutator.evaluateBranchSensitivity(headers, observations, targetBranch, testSeed, bf);
@@ -280,12 +310,50 @@ public class SeedingApplicationEvaluator {
 
 
 	private static List<BytecodeInstruction> parseRelevantOperands(Branch targetBranch) {
-		List<BytecodeInstruction> list = new ArrayList<>();
-		parseRelevantOperands(targetBranch.getInstruction(), list);
-		System.currentTimeMillis();
+		List<BytecodeInstruction> list = relevantOperands.get(targetBranch);
+		if (list == null) {
+			list = new ArrayList<>();
+			parseRelevantOperands(targetBranch.getInstruction(), list);
+			relevantOperands.put(targetBranch, list);
+		}
 		return list;
 	}
 	
+	/**
+	 * The instructions that may be observed for any branch of the target
+	 * method, so that the observation class loader can probe them all when it
+	 * loads their classes, see {@link SensitivityMutator}.
+	 */
+	static List<BytecodeInstruction> getObservationCandidates() {
+		List<BytecodeInstruction> candidates = new ArrayList<>();
+		Map<Branch, Set<DepVariable>> branchesInTargetMethod = InterproceduralGraphAnalysis.branchInterestedVarsMap
+				.get(Properties.TARGET_METHOD);
+		if (branchesInTargetMethod == null) {
+			return candidates;
+		}
+		
+		for (Branch b : branchesInTargetMethod.keySet()) {
+			if (b == null || b.toString().contains("NULL")) {
+				continue;
+			}
+			try {
+				for (BytecodeInstruction ins : parseRelevantOperands(b)) {
+					if (!candidates.contains(ins)) {
+						candidates.add(ins);
+					}
+				}
+			} catch (Exception e) {
+				// the branch is analyzed again when evaluated, and its observations probed then
+				relevantOperands.remove(b);
+			}
+		}
+		return candidates;
+	}
+	
+	static void clearObservationCandidates() {
+		relevantOperands.clear();
+	}
+	
 	
 	private static BytecodeInstruction searchFieldDefinition(BytecodeInstruction getField) {
 		
@@ -5,13 +5,13 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
@@ -19,14 +19,18 @@ import org.evosuite.coverage.branch.Branch;
 import org.evosuite.coverage.branch.BranchCoverageFactory;
 import org.evosuite.coverage.branch.BranchCoverageTestFitness;
 import org.evosuite.coverage.branch.BranchFitness;
+import org.evosuite.coverage.branch.BranchPool;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.ConstructionFailedException;
 import org.evosuite.ga.FitnessFunction;
+import org.evosuite.graphs.GraphPool;
 import org.evosuite.graphs.cfg.BytecodeInstruction;
+import org.evosuite.graphs.cfg.BytecodeInstructionPool;
 import org.evosuite.graphs.interprocedural.ComputationPath;
 import org.evosuite.graphs.interprocedural.InterproceduralGraphAnalysis;
 import org.evosuite.graphs.interprocedural.var.DepVariable;
 import org.evosuite.instrumentation.InstrumentingClassLoader;
+import org.evosuite.instrumentation.testability.StringDistance;
 import org.evosuite.seeding.RuntimeSensitiveVariable;
 import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.testcase.DefaultTestCase;
@@ -823,94 +827,56 @@ public class SensitivityMutator {
 	}
 
 	private static float getSimilarityRatio(String head, String tail) {
-		// TODO Edit Distance
 		if (head == null || tail == null)
 			return 0;
 		int max = Math.max(head.length(), tail.length());
-		float score = 1 - (float) compare(head, tail) / max;
-
 		/**
 		 * normalize the score when the max length is too small, which results in that
 		 * 0.5, 0.67, 0.75 are large score.
 		 */
-		if (max <= 3) {
-			score = score * (1 + 1.0f / (float) max);
-		}
-
-		return score;
-	}
+		float scale = max <= 3 ? 1 + 1.0f / (float) max : 1;
 
-	private static float compare(String head, String tail) {
-		char ch1, ch2;
-		int temp;
-		if (head.length() == 0) {
-			return tail.length();
-		} else if (tail.length() == 0) {
-			return head.length();
-		}
-		int d[][] = new int[head.length() + 1][tail.length() + 1];
-		for (int i = 0; i <= head.length(); i++) {
-			d[i][0] = i;
-		}
-		for (int j = 0; j <= tail.length(); j++) {
-			d[0][j] = j;
-		}
-		for (int i = 1; i <= head.length(); i++) {
-			ch1 = head.charAt(i - 1);
-			for (int j = 1; j <= tail.length(); j++) {
-				ch2 = tail.charAt(j - 1);
-				if (ch1 == ch2 || ch1 == ch2 + 32 || ch1 + 32 == ch2) {
-					temp = 0;
-				} else {
-					temp = 1;
-				}
-				d[i][j] = min(d[i - 1][j] + 1, d[i][j - 1] + 1, d[i - 1][j - 1] + temp);
-			}
-		}
-		return d[head.length()][tail.length()];
-	}
+		/**
+		 * the distance only matters up to the threshold, beyond it the ratio
+		 * stays below the threshold however large the distance is.
+		 */
+		int limit = (int) Math.ceil(max * (1 - Properties.VALUE_SIMILARITY_THRESHOLD / scale));
+		int distance = StringDistance.levenshtein(head, tail, true, Math.max(limit, 0));
+		float score = 1 - (float) distance / max;
 
-	private static int min(int one, int two, int three) {
-		return (one = one < two ? one : two) < three ? one : three;
+		return score * scale;
 	}
 
-	class ClassLoaderCache{
-		List<BytecodeInstruction> observations;
-		InstrumentingClassLoader classLoader;
-		public ClassLoaderCache(List<BytecodeInstruction> observations, InstrumentingClassLoader classLoader) {
-			super();
-			this.observations = observations;
-			this.classLoader = classLoader;
-		}
-		
-	}
+	/**
+	 * the class loader whose classes carry the observation probes. The probes
+	 * are dormant and switched on per evaluation through
+	 * {@link RuntimeSensitiveVariable#enableProbes(List)}. The loader probes
+	 * every candidate observation of the target method from the start, so the
+	 * classes only need to be reloaded when an observation outside of the
+	 * candidates falls into a class that is already loaded.
+	 */
+	private static InstrumentingClassLoader observationClassLoader;
 	
-	static List<ClassLoaderCache> list = new ArrayList<>();
+	/**
+	 * the instructions probed by {@link #observationClassLoader}, shared with
+	 * its instrumentation so that classes loaded later are probed as well.
+	 */
+	private static List<BytecodeInstruction> probedInstructions = new ArrayList<>();
 	
-	private static InstrumentingClassLoader createOrFindClassLoader(List<BytecodeInstruction> observations,
-			TestChromosome newTestChromosome) {
-		for(ClassLoaderCache cache: list) {
-			if(cache.observations.size() == observations.size()) {
-				Collections.sort(observations);
-				Collections.sort(cache.observations);
-				
-				boolean isSame = true;
-				for(int i=0; i<observations.size(); i++) {
-					if(!observations.get(i).equals(cache.observations.get(i))) {
-						isSame = false;
-						break;
-					}
-				}
-				
-				if(isSame) {
-					return cache.classLoader;
+	static InstrumentingClassLoader createOrFindClassLoader(List<BytecodeInstruction> observations,
+			Supplier<List<BytecodeInstruction>> candidates, TestChromosome newTestChromosome) {
+		List<BytecodeInstruction> newObservations = new ArrayList<>();
+		boolean reload = observationClassLoader == null;
+		for (BytecodeInstruction ins : observations) {
+			if (!probedInstructions.contains(ins)) {
+				newObservations.add(ins);
+				if (!reload && observationClassLoader.getViewOfInstrumentedClasses().contains(ins.getClassName())) {
+					reload = true;
 				}
 			}
 		}
 		
-		InstrumentingClassLoader newClassLoader = new InstrumentingClassLoader(observations);
-		
-		for (BytecodeInstruction ins : observations) {
+		for (BytecodeInstruction ins : newObservations) {
 			DependencyAnalysis.addTargetClass(ins.getClassName());
 		}
 		for (Statement s : newTestChromosome.getTestCase()) {
@@ -923,19 +889,57 @@ public class SensitivityMutator {
 
 			DependencyAnalysis.addTargetClass(className);
 		}
+		
+		if (reload) {
+			List<BytecodeInstruction> instructions = new ArrayList<>(probedInstructions);
+			instructions.addAll(newObservations);
+			for (BytecodeInstruction ins : candidates.get()) {
+				if (!instructions.contains(ins)) {
+					instructions.add(ins);
+				}
+			}
+			if (observationClassLoader != null) {
+				releaseClassLoader(observationClassLoader);
+			}
+			probedInstructions = instructions;
+			observationClassLoader = new InstrumentingClassLoader(probedInstructions);
+		} else {
+			probedInstructions.addAll(newObservations);
+		}
 
 		try {
 			for (BytecodeInstruction ins : observations) {
-				newClassLoader.loadClass(ins.getClassName());
+				observationClassLoader.loadClass(ins.getClassName());
 			}
 		} catch (ClassNotFoundException e) {
 			e.printStackTrace();
 		}
 		
-		ClassLoaderCache cache = new SensitivityMutator().new ClassLoaderCache(observations, newClassLoader);
-		list.add(cache);
-		
-		return newClassLoader;
+		return observationClassLoader;
+	}
+	
+	/**
+	 * drop the analysis results of a replaced observation class loader so that
+	 * it and its classes can be collected.
+	 */
+	private static void releaseClassLoader(InstrumentingClassLoader classLoader) {
+		GraphPool.release(classLoader);
+		BytecodeInstructionPool.release(classLoader);
+		BranchPool.release(classLoader);
+	}
+	
+	/**
+	 * drop the observation class loader and forget the probes, e.g. when the
+	 * class under test changes.
+	 */
+	public static void reset() {
+		if (observationClassLoader != null) {
+			releaseClassLoader(observationClassLoader);
+			observationClassLoader = null;
+		}
+		probedInstructions = new ArrayList<>();
+		SeedingApplicationEvaluator.clearObservationCandidates();
+		RuntimeSensitiveVariable.reset();
 	}
 	
 	public static long total = 0;
@@ -951,19 +955,21 @@ public class SensitivityMutator {
 			newTestChromosome.addFitness(f);
 		}
 
-		InstrumentingClassLoader newClassLoader = createOrFindClassLoader(observations, newTestChromosome);
+		InstrumentingClassLoader newClassLoader = createOrFindClassLoader(observations,
+				SeedingApplicationEvaluator::getObservationCandidates, newTestChromosome);
 		
-		RuntimeSensitiveVariable.observations.clear();
-		for(BytecodeInstruction ins: observations) {
-			RuntimeSensitiveVariable.observations.put(ins.toString(), new ArrayList<>());
+		RuntimeSensitiveVariable.enableProbes(observations);
+		try {
+			((DefaultTestCase) newTestChromosome.getTestCase()).changeClassLoader(newClassLoader);
+
+			FitnessFunction<Chromosome> fitness = (FitnessFunction<Chromosome>)bf;
+			newTestChromosome.addFitness(fitness);
+			newTestChromosome.clearCachedResults();
+			fitness.getFitness(newTestChromosome);
+		} finally {
+			// the probes are global, later executions must not record
+			RuntimeSensitiveVariable.disableProbes();
 		}
-		
-		((DefaultTestCase) newTestChromosome.getTestCase()).changeClassLoader(newClassLoader);
-		
-		FitnessFunction<Chromosome> fitness = (FitnessFunction<Chromosome>)bf;
-		newTestChromosome.addFitness(fitness);
-		newTestChromosome.clearCachedResults();
-		fitness.getFitness(newTestChromosome);
 
 		Map<String, List<Object>> res = new HashMap<>();
 		for (String s : RuntimeSensitiveVariable.observations.keySet()) {
@@ -30,6 +30,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -92,6 +93,19 @@ public class TestCluster {
 	/** Static information about how to generate types */
 	private final static Map<GenericClass, Set<GenericAccessibleObject<?>>> generators = new LinkedHashMap<>();
 
+	/**
+	 * Generator types indexed by the raw classes and interfaces they extend,
+	 * so that only candidates that can produce a requested type are
+	 * instantiated when caching its generators
+	 */
+	private final static Map<Class<?>, List<GenericClass>> generatorSubtypes = new HashMap<>();
+
+	/** Generator types that cannot be indexed by raw class, and are checked for every type */
+	private final static List<GenericClass> unindexedGeneratorTypes = new ArrayList<>();
+
+	/** Position of each generator type in {@link #generators}, to keep candidates in that order */
+	private final static Map<GenericClass, Integer> generatorTypeOrder = new HashMap<>();
+
 	/** Cached information about how to generate types */
 	private final static Map<GenericClass, Set<GenericAccessibleObject<?>>> generatorCache = new LinkedHashMap<>();
 
@@ -128,6 +142,9 @@ public class TestCluster {
 		analyzedClasses.clear();
 		testMethods.clear();
 		generators.clear();
+		generatorSubtypes.clear();
+		unindexedGeneratorTypes.clear();
+		generatorTypeOrder.clear();
 		generatorCache.clear();
 		modifiers.clear();
 		CastClassManager.getInstance().clear();
@@ -354,8 +371,10 @@ public class TestCluster {
 	 * @param call
 	 */
 	public void addGenerator(GenericClass target, GenericAccessibleObject<?> call) {
-		if (!generators.containsKey(target))
+		if (!generators.containsKey(target)) {
 			generators.put(target, new LinkedHashSet<GenericAccessibleObject<?>>());
+			indexGeneratorType(target);
+		}
 
 		logger.debug("Adding generator for class " + target + ": " + call);
 		generators.get(target).add(call);
@@ -409,6 +428,77 @@ public class TestCluster {
 		}
 	}
 
+	/**
+	 * Raw class index can only be used for plain class and parameterized types:
+	 * primitives are assignable through boxing, arrays are covariant, and type
+	 * variables and wildcards depend on their bounds
+	 */
+	private static boolean isIndexableType(GenericClass type) {
+		return type.getRawClass() != null && !type.isPrimitive() && !type.isArray()
+				&& !type.isTypeVariable() && !type.isWildcardType();
+	}
+
+	private static void indexGeneratorType(GenericClass target) {
+		generatorTypeOrder.put(target, generatorTypeOrder.size());
+		if (!isIndexableType(target)) {
+			unindexedGeneratorTypes.add(target);
+			return;
+		}
+
+		Set<Class<?>> superTypes = new LinkedHashSet<>();
+		List<Class<?>> queue = new ArrayList<>();
+		queue.add(target.getRawClass());
+		for (int i = 0; i < queue.size(); i++) {
+			Class<?> current = queue.get(i);
+			if (!superTypes.add(current)) {
+				continue;
+			}
+			if (current.getSuperclass() != null) {
+				queue.add(current.getSuperclass());
+			}
+			queue.addAll(Arrays.asList(current.getInterfaces()));
+		}
+		if (target.getRawClass().isInterface()) {
+			superTypes.add(Object.class);
+		}
+
+		for (Class<?> superType : superTypes) {
+			generatorSubtypes.computeIfAbsent(superType, k -> new ArrayList<>()).add(target);
+		}
+	}
+
+	/**
+	 * Generator types that may be instantiated to the given type, in the
+	 * order they were added. A generator type can only be instantiated to a
+	 * class if its raw class is a subtype of it, so the others are skipped
+	 * without checking their generic instantiation
+	 */
+	static Collection<GenericClass> getGeneratorTypeCandidates(GenericClass clazz) {
+		if (!isIndexableType(clazz)) {
+			return generators.keySet();
+		}
+
+		List<GenericClass> subtypes = generatorSubtypes.getOrDefault(clazz.getRawClass(),
+				Collections.<GenericClass> emptyList());
+		if (unindexedGeneratorTypes.isEmpty()) {
+			return subtypes;
+		}
+
+		List<GenericClass> candidates = new ArrayList<>(subtypes.size() + unindexedGeneratorTypes.size());
+		int i = 0;
+		int j = 0;
+		while (i < subtypes.size() && j < unindexedGeneratorTypes.size()) {
+			if (generatorTypeOrder.get(subtypes.get(i)) < generatorTypeOrder.get(unindexedGeneratorTypes.get(j))) {
+				candidates.add(subtypes.get(i++));
+			} else {
+				candidates.add(unindexedGeneratorTypes.get(j++));
+			}
+		}
+		candidates.addAll(subtypes.subList(i, subtypes.size()));
+		candidates.addAll(unindexedGeneratorTypes.subList(j, unindexedGeneratorTypes.size()));
+		return candidates;
+	}
+
 	/**
 	 * Calculate and cache all generators for a particular type. All generic
 	 * types on the generator are instantiated according to the produced type
@@ -436,7 +526,7 @@ public class TestCluster {
 			}
 		} else {
 			logger.debug("2. Target class is not object: {}", clazz);
-			for (GenericClass generatorClazz : generators.keySet()) {
+			for (GenericClass generatorClazz : getGeneratorTypeCandidates(clazz)) {
 				// logger.debug("3. Considering original generator: " + generatorClazz + " for " + clazz);
 
 				if (generatorClazz.canBeInstantiatedTo(clazz)) {
@@ -948,6 +1038,7 @@ public class TestCluster {
 		}
 		if (!generators.containsKey(clazz)) {
 			generators.put(clazz, new LinkedHashSet<GenericAccessibleObject<?>>());
+			indexGeneratorType(clazz);
 		}
 		logger.info("addNumericConstructor for class " + clazz);
 		for (Constructor<?> constructor : clazz.getRawClass().getConstructors()) {
@@ -196,6 +196,10 @@ public enum RuntimeVariable {
 	MutationCoverageBitString,
 	/** The total time EvoSuite spent generating the test cases */
 	Total_Time,
+	/** Milliseconds from the start of the client JVM until it was connected to the master, 0 if the client was reused */
+	Client_Startup_Time,
+	/** Milliseconds from the start of the master JVM until it started the search on its first target, 0 for later targets */
+	Master_Startup_Time,
 	/** Number of tests in resulting test suite */
 	Size,                
 	/** Total number of statements in final test suite */
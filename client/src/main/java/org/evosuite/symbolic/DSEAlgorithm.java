@@ -48,10 +48,22 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> implemen
 	 */
 	private final Map<Set<Constraint<?>>, SolverResult> queryCache = new HashMap<Set<Constraint<?>>, SolverResult>();
 
+	/**
+	 * Solves the pending queries of the worklist in batches (one query per
+	 * solver worker)
+	 */
+	private transient DSEQuerySolver querySolver = null;
+
 	/**
 	 * Applies DSE test generation on a static non-private method until a stopping
 	 * condition is met or all queries have been explored.
 	 * 
+	 * Pending branch negations are kept in a worklist ordered by
+	 * {@link Properties#DSE_WORKLIST_HEURISTIC}. Queries are solved in batches
+	 * of {@link Properties#DSE_SOLVER_THREADS}, while the resulting tests are
+	 * executed (concolically and for fitness) one after another in the order of
+	 * the batch.
+	 * 
 	 * @param staticEntryMethod
 	 * 
 	 */
@@ -78,11 +90,16 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> implemen
 			return;
 		}
 
+		if (querySolver == null) {
+			querySolver = new DSEQuerySolver();
+		}
+
 		HashSet<Set<Constraint<?>>> pathConditions = new HashSet<Set<Constraint<?>>>();
+		DSEWorklist worklist = new DSEWorklist(Properties.DSE_WORKLIST_HEURISTIC);
 
-		for (int currentTestIndex = 0; currentTestIndex < generatedTests.size(); currentTestIndex++) {
+		expandWorklist(worklist, testCaseWithDefaultValues, 0, pathConditions, staticEntryMethod);
 
-			TestCase currentTestCase = generatedTests.get(currentTestIndex);
+		while (!worklist.isEmpty()) {
 
 			if (this.isFinished()) {
 				logger.debug("DSE test generation met a stopping condition. Exiting with " + generatedTests.size()
@@ -90,70 +107,27 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> implemen
 				return;
 			}
 
-			logger.debug("Starting concolic execution of test case: " + currentTestCase.toCode());
-
-			TestCase clonedTestCase = currentTestCase.clone();
-
-			final PathCondition pathCondition = ConcolicExecution.executeConcolic((DefaultTestCase) clonedTestCase);
-			logger.debug("Path condition collected with : " + pathCondition.size() + " branches");
-
-			Set<Constraint<?>> constraintsSet = canonicalize(pathCondition.getConstraints());
-			pathConditions.add(constraintsSet);
-			logger.debug("Number of stored path condition: " + pathConditions.size());
-			
-			//path conditions
-			recordPathConditionList(pathCondition,staticEntryMethod);
-
-			for (int i = pathCondition.size() - 1; i >= 0; i--) {
-				logger.debug("negating index " + i + " of path condition");
-
-				List<Constraint<?>> query = DSETestGenerator.buildQuery(pathCondition, i);
-
-				Set<Constraint<?>> constraintSet = canonicalize(query);
-
-				if (queryCache.containsKey(constraintSet)) {
-					logger.debug("skipping solving of current query since it is in the query cache");
-					continue;
-				}
-
-				if (isSubSetOf(constraintSet, queryCache.keySet())) {
-					logger.debug(
-							"skipping solving of current query because it is satisfiable and solved by previous path condition");
-					continue;
-				}
-
-				if (pathConditions.contains(constraintSet)) {
-					logger.debug("skipping solving of current query because of existing path condition");
-					continue;
-
-				}
-
-				if (isSubSetOf(constraintSet, pathConditions)) {
-					logger.debug(
-							"skipping solving of current query because it is satisfiable and solved by previous path condition");
-					continue;
-				}
-
-				if (this.isFinished()) {
-					logger.debug("DSE test generation met a stopping condition. Exiting with " + generatedTests.size()
-							+ " generated test cases for method " + staticEntryMethod.getName());
-					return;
-				}
+			List<DSEWorkItem> batch = pollBatch(worklist, pathConditions, querySolver.getNumberOfWorkers());
+			if (batch.isEmpty()) {
+				break;
+			}
 
+			List<List<Constraint<?>>> queries = new ArrayList<List<Constraint<?>>>(batch.size());
+			for (DSEWorkItem item : batch) {
+				List<Constraint<?>> query = new ArrayList<Constraint<?>>(item.getQuery());
 				logger.debug("Solving query with  " + query.size() + " constraints");
+				query.addAll(createVarBounds(query));
+				queries.add(query);
+			}
 
-				List<Constraint<?>> varBounds = createVarBounds(query);
-				query.addAll(varBounds);
+			List<SolverResult> results = querySolver.solve(queries);
 
-				long start = System.currentTimeMillis();
-				SolverResult result = DSETestGenerator.solve(query);
-				long end = System.currentTimeMillis();
-				long time = end - start;
+			for (int i = 0; i < batch.size(); i++) {
+				DSEWorkItem item = batch.get(i);
+				SolverResult result = results.get(i);
 
-				queryCache.put(constraintSet, result);
+				queryCache.put(item.getConstraintSet(), result);
 				logger.debug("Number of stored entries in query cache : " + queryCache.keySet().size());
-				logger.debug(constraintsSet.toString());
-				logger.debug("It takes " + time + "ms  to solve this constraint");
 
 				if (result == null) {
 					logger.debug("Solver outcome is null (probably failure/unknown");
@@ -162,7 +136,7 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> implemen
 					Map<String, Object> solution = result.getModel();
 					logger.debug("solver found solution " + solution.toString());
 
-					TestCase newTest = DSETestGenerator.updateTest(currentTestCase, solution);
+					TestCase newTest = DSETestGenerator.updateTest(item.getTestCase(), solution);
 					logger.debug("Created new test case from SAT solution:" + newTest.toCode());
 					generatedTests.add(newTest);
 
@@ -176,6 +150,12 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> implemen
 					double fitnessAfterAddingNewTest = this.getBestIndividual().getFitness();
 					logger.debug("Fitness after adding new test " + fitnessAfterAddingNewTest);
 
+					if (fitnessAfterAddingNewTest < fitnessBeforeAddingNewTest) {
+						DSEStats.getInstance().reportNewTestUseful();
+					} else {
+						DSEStats.getInstance().reportNewTestUnuseful();
+					}
+
 					this.notifyIteration();
 
 					if (fitnessAfterAddingNewTest == 0) {
@@ -183,6 +163,15 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> implemen
 						return;
 					}
 
+					if (this.isFinished()) {
+						logger.debug("DSE test generation met a stopping condition. Exiting with "
+								+ generatedTests.size() + " generated test cases for method "
+								+ staticEntryMethod.getName());
+						return;
+					}
+
+					expandWorklist(worklist, newTest, generatedTests.size() - 1, pathConditions, staticEntryMethod);
+
 				} else {
 //					assert (result.isUNSAT());
 					logger.debug("query is UNSAT (no solution found)");
@@ -195,6 +184,86 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> implemen
 		return;
 	}
 
+	/**
+	 * Executes the test case concolically, stores its path condition as
+	 * explored and adds one work item per branch condition to negate.
+	 * 
+	 * @param worklist
+	 * @param testCase
+	 * @param testSequenceNumber
+	 * @param pathConditions
+	 * @param staticEntryMethod
+	 */
+	private void expandWorklist(DSEWorklist worklist, TestCase testCase, long testSequenceNumber,
+			Set<Set<Constraint<?>>> pathConditions, Method staticEntryMethod) {
+		logger.debug("Starting concolic execution of test case: " + testCase.toCode());
+
+		TestCase clonedTestCase = testCase.clone();
+
+		final PathCondition pathCondition = ConcolicExecution.executeConcolic((DefaultTestCase) clonedTestCase);
+		logger.debug("Path condition collected with : " + pathCondition.size() + " branches");
+
+		Set<Constraint<?>> constraintsSet = canonicalize(pathCondition.getConstraints());
+		pathConditions.add(constraintsSet);
+		logger.debug("Number of stored path condition: " + pathConditions.size());
+
+		//path conditions
+		recordPathConditionList(pathCondition, staticEntryMethod);
+
+		for (int i = pathCondition.size() - 1; i >= 0; i--) {
+			List<Constraint<?>> query = DSETestGenerator.buildQuery(pathCondition, i);
+			worklist.add(new DSEWorkItem(testCase, testSequenceNumber, i, query));
+		}
+	}
+
+	/**
+	 * Removes up to <code>max</code> work items from the worklist, skipping the
+	 * ones whose query was already solved or is implied by an explored path
+	 * condition.
+	 * 
+	 * @param worklist
+	 * @param pathConditions
+	 * @param max
+	 * @return
+	 */
+	private List<DSEWorkItem> pollBatch(DSEWorklist worklist, Set<Set<Constraint<?>>> pathConditions, int max) {
+		List<DSEWorkItem> batch = new ArrayList<DSEWorkItem>(max);
+		Set<Set<Constraint<?>>> batchQueries = new HashSet<Set<Constraint<?>>>();
+		while (batch.size() < max && !worklist.isEmpty()) {
+			DSEWorkItem item = worklist.poll();
+			logger.debug("negating index " + item.getConditionIndex() + " of path condition");
+
+			Set<Constraint<?>> constraintSet = item.getConstraintSet();
+
+			if (queryCache.containsKey(constraintSet) || batchQueries.contains(constraintSet)) {
+				logger.debug("skipping solving of current query since it is in the query cache");
+				continue;
+			}
+
+			if (isSubSetOf(constraintSet, queryCache.keySet())) {
+				logger.debug(
+						"skipping solving of current query because it is satisfiable and solved by previous path condition");
+				continue;
+			}
+
+			if (pathConditions.contains(constraintSet)) {
+				logger.debug("skipping solving of current query because of existing path condition");
+				continue;
+
+			}
+
+			if (isSubSetOf(constraintSet, pathConditions)) {
+				logger.debug(
+						"skipping solving of current query because it is satisfiable and solved by previous path condition");
+				continue;
+			}
+
+			batchQueries.add(constraintSet);
+			batch.add(item);
+		}
+		return batch;
+	}
+
 	private void recordPathConditionList(PathCondition pathCondition, Method staticEntryMethod) {
 		// TODO Auto-generated method stub
 		String path = "/Users/xucaiyi/Documents/EvoObj-EvoSuite-comparison-testrun/TestGenerationResult/experiment/";
@@ -712,6 +781,11 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> implemen
 
 		}
 
+		if (querySolver != null) {
+			querySolver.shutdown();
+			querySolver = null;
+		}
+
 		this.updateFitnessFunctionsAndValues();
 		this.notifySearchFinished();
 	}
@@ -772,6 +846,11 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> implemen
 
 		}
 
+		if (querySolver != null) {
+			querySolver.shutdown();
+			querySolver = null;
+		}
+
 		this.updateFitnessFunctionsAndValues();
 		this.notifySearchFinished();
 		
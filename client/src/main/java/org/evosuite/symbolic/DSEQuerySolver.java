@@ -0,0 +1,187 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.SolverType;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.solver.SolverResult;
+import org.evosuite.testcase.localsearch.DSETestGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Solves batches of DSE queries on a pool of worker threads. Results are
+ * returned in the same order as the queries, so that the caller can process
+ * them deterministically.
+ * 
+ * The queries of a batch share the symbolic variables of the path condition.
+ * The EvoSuite solver searches by updating their concrete values, thus it is
+ * always used from a single thread. External solvers (Z3, CVC4) run their
+ * processes concurrently, but they also read the concrete values and set them
+ * to check a model; {@link org.evosuite.symbolic.solver.Solver} serializes
+ * these accesses, so that each query is checked against the original values.
+ */
+public final class DSEQuerySolver implements ThreadFactory {
+
+	private static final Logger logger = LoggerFactory.getLogger(DSEQuerySolver.class);
+
+	private final int numberOfWorkers;
+
+	private final AtomicInteger threadCounter = new AtomicInteger(0);
+
+	private ExecutorService executor = null;
+
+	public DSEQuerySolver() {
+		this(Properties.DSE_SOLVER_THREADS);
+	}
+
+	public DSEQuerySolver(int numberOfWorkers) {
+		if (Properties.DSE_SOLVER == SolverType.EVOSUITE_SOLVER && numberOfWorkers > 1) {
+			logger.debug("The EvoSuite solver is not thread safe, using a single worker");
+			this.numberOfWorkers = 1;
+		} else {
+			this.numberOfWorkers = Math.max(1, numberOfWorkers);
+		}
+	}
+
+	/**
+	 * Returns the number of queries that should be handed in a single batch
+	 * 
+	 * @return
+	 */
+	public int getNumberOfWorkers() {
+		return numberOfWorkers;
+	}
+
+	/**
+	 * Solves all the queries, returning one result per query (in the same
+	 * order). A <code>null</code> result means the solver failed or timed out.
+	 * 
+	 * @param queries
+	 * @return
+	 */
+	public List<SolverResult> solve(List<List<Constraint<?>>> queries) {
+		List<SolverResult> results = new ArrayList<SolverResult>(queries.size());
+		long start = System.currentTimeMillis();
+
+		if (numberOfWorkers == 1 || queries.size() == 1) {
+			for (List<Constraint<?>> query : queries) {
+				TimedResult result = solveAndTime(query);
+				report(result);
+				results.add(result.result);
+			}
+		} else {
+			if (executor == null) {
+				executor = Executors.newFixedThreadPool(numberOfWorkers, this);
+			}
+			List<Future<TimedResult>> futures = new ArrayList<Future<TimedResult>>(queries.size());
+			for (final List<Constraint<?>> query : queries) {
+				futures.add(executor.submit(() -> solveAndTime(query)));
+			}
+			// DSEStats is not thread safe, the workers' results are reported here
+			for (Future<TimedResult> future : futures) {
+				TimedResult result = getResult(future);
+				if (result == null) {
+					results.add(null);
+				} else {
+					report(result);
+					results.add(result.result);
+				}
+			}
+		}
+
+		long end = System.currentTimeMillis();
+		DSEStats.getInstance().reportNewSolvingBatch(queries.size(), end - start);
+		return results;
+	}
+
+	/**
+	 * The result of a query and the time it took to solve it
+	 */
+	private static final class TimedResult {
+		private final SolverResult result;
+		private final long time;
+
+		private TimedResult(SolverResult result, long time) {
+			this.result = result;
+			this.time = time;
+		}
+	}
+
+	private static TimedResult getResult(Future<TimedResult> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			return null;
+		} catch (ExecutionException e) {
+			logger.debug("Solver failed with exception: " + e.getCause());
+			return null;
+		}
+	}
+
+	private static TimedResult solveAndTime(List<Constraint<?>> query) {
+		long start = System.currentTimeMillis();
+		SolverResult result = DSETestGenerator.solve(query);
+		long time = System.currentTimeMillis() - start;
+		logger.debug("It takes " + time + "ms  to solve this constraint");
+		return new TimedResult(result, time);
+	}
+
+	private static void report(TimedResult result) {
+		DSEStats stats = DSEStats.getInstance();
+		stats.reportNewSolvingTime(result.time);
+		if (result.result == null) {
+			stats.reportNewTimeout();
+		} else if (result.result.isSAT()) {
+			stats.reportNewSAT();
+		} else {
+			stats.reportNewUNSAT();
+		}
+	}
+
+	/**
+	 * Stops all worker threads
+	 */
+	public void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	@Override
+	public Thread newThread(Runnable r) {
+		Thread thread = new Thread(r, "DSE-solver-" + threadCounter.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+}
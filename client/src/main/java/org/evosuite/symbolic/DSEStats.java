@@ -76,6 +76,9 @@ public class DSEStats {
 	private long nrOfNewTestFound = 0;
 	private long totalSolvingTimeMillis = 0;
 	private long totalConcolicExecutionTimeMillis = 0;
+	private long nrOfSolvedBatches = 0;
+	private long nrOfBatchedQueries = 0;
+	private long totalBatchWallClockTimeMillis = 0;
 	private int constraintTooLongCounter = 0;
 	private int max_path_condition_length;
 	private int min_path_condition_length;
@@ -222,6 +225,18 @@ public class DSEStats {
 		logger.info(String.format("* DSE)   Time spent solving constraints: %sms", totalSolvingTimeMillis));
 		logger.info(String.format("* DSE)   Time spent executing test concolically: %sms",
 				totalConcolicExecutionTimeMillis));
+		if (nrOfSolvedBatches > 0) {
+			logger.info(String.format("* DSE)   Solved batches: %s (%s queries)", nrOfSolvedBatches,
+					nrOfBatchedQueries));
+			logger.info(String.format("* DSE)   Wall clock time spent in batches: %sms",
+					totalBatchWallClockTimeMillis));
+			if (totalBatchWallClockTimeMillis > 0) {
+				double queriesPerSecond = (1000.0 * nrOfBatchedQueries) / totalBatchWallClockTimeMillis;
+				double parallelism = (double) totalSolvingTimeMillis / totalBatchWallClockTimeMillis;
+				logger.info(String.format("* DSE)   Solving throughput: %.2f queries/s (parallelism %.2f)",
+						queriesPerSecond, parallelism));
+			}
+		}
 	}
 
 	private  void logSolverStatistics() {
@@ -427,6 +442,19 @@ public class DSEStats {
 		totalConcolicExecutionTimeMillis += concolicExecutionTimeMillis;
 	}
 
+	/**
+	 * Reports a batch of queries that were solved concurrently, together with
+	 * the wall clock time the whole batch took
+	 * 
+	 * @param numberOfQueries
+	 * @param wallClockTimeMillis
+	 */
+	public void reportNewSolvingBatch(int numberOfQueries, long wallClockTimeMillis) {
+		nrOfSolvedBatches++;
+		nrOfBatchedQueries += numberOfQueries;
+		totalBatchWallClockTimeMillis += wallClockTimeMillis;
+	}
+
 	public void reportConstraintTooLong(int size) {
 		constraintTooLongCounter++;
 	}
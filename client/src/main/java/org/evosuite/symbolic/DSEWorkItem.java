@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import java.util.List;
+import java.util.Set;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.testcase.TestCase;
+
+/**
+ * A pending unit of work of the DSE algorithm: the path condition prefix
+ * collected from a test case, together with the index of the branch condition
+ * that should be negated.
+ */
+public final class DSEWorkItem {
+
+	private final TestCase testCase;
+
+	private final long testSequenceNumber;
+
+	private final int conditionIndex;
+
+	private final List<Constraint<?>> query;
+
+	private final Set<Constraint<?>> constraintSet;
+
+	/**
+	 * Creates a new work item
+	 * 
+	 * @param testCase
+	 *            the test case whose execution produced the path condition
+	 * @param testSequenceNumber
+	 *            the position of the test case in the order tests were
+	 *            generated
+	 * @param conditionIndex
+	 *            the index of the branch condition to negate
+	 * @param query
+	 *            the (simplified) query that negates the branch condition
+	 */
+	public DSEWorkItem(TestCase testCase, long testSequenceNumber, int conditionIndex, List<Constraint<?>> query) {
+		this.testCase = testCase;
+		this.testSequenceNumber = testSequenceNumber;
+		this.conditionIndex = conditionIndex;
+		this.query = query;
+		this.constraintSet = DSEAlgorithm.canonicalize(query);
+	}
+
+	public TestCase getTestCase() {
+		return testCase;
+	}
+
+	public long getTestSequenceNumber() {
+		return testSequenceNumber;
+	}
+
+	public int getConditionIndex() {
+		return conditionIndex;
+	}
+
+	public List<Constraint<?>> getQuery() {
+		return query;
+	}
+
+	/**
+	 * Returns the query as a set of constraints, which is used as a key for the
+	 * query cache and for comparison against explored path conditions
+	 * 
+	 * @return
+	 */
+	public Set<Constraint<?>> getConstraintSet() {
+		return constraintSet;
+	}
+
+	@Override
+	public String toString() {
+		return "DSEWorkItem [test=" + testSequenceNumber + ", conditionIndex=" + conditionIndex + ", querySize="
+				+ query.size() + "]";
+	}
+}
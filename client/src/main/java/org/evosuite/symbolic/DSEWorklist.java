@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import org.evosuite.Properties.DSEWorklistHeuristic;
+
+/**
+ * A priority worklist of pending branch negations. The order in which items
+ * are returned is decided by a {@link DSEWorklistHeuristic}.
+ */
+public final class DSEWorklist {
+
+	private final PriorityQueue<DSEWorkItem> queue;
+
+	public DSEWorklist(DSEWorklistHeuristic heuristic) {
+		this.queue = new PriorityQueue<DSEWorkItem>(11, getComparator(heuristic));
+	}
+
+	private static Comparator<DSEWorkItem> getComparator(DSEWorklistHeuristic heuristic) {
+		switch (heuristic) {
+		case DEPTH_FIRST:
+			return new Comparator<DSEWorkItem>() {
+				@Override
+				public int compare(DSEWorkItem o1, DSEWorkItem o2) {
+					int cmp = Long.compare(o2.getTestSequenceNumber(), o1.getTestSequenceNumber());
+					if (cmp != 0)
+						return cmp;
+					return Integer.compare(o2.getConditionIndex(), o1.getConditionIndex());
+				}
+			};
+		case SHORTEST_PREFIX_FIRST:
+			return new Comparator<DSEWorkItem>() {
+				@Override
+				public int compare(DSEWorkItem o1, DSEWorkItem o2) {
+					int cmp = Integer.compare(o1.getConditionIndex(), o2.getConditionIndex());
+					if (cmp != 0)
+						return cmp;
+					return Long.compare(o1.getTestSequenceNumber(), o2.getTestSequenceNumber());
+				}
+			};
+		case GENERATIONAL:
+		default:
+			return new Comparator<DSEWorkItem>() {
+				@Override
+				public int compare(DSEWorkItem o1, DSEWorkItem o2) {
+					int cmp = Long.compare(o1.getTestSequenceNumber(), o2.getTestSequenceNumber());
+					if (cmp != 0)
+						return cmp;
+					return Integer.compare(o2.getConditionIndex(), o1.getConditionIndex());
+				}
+			};
+		}
+	}
+
+	public void add(DSEWorkItem item) {
+		queue.add(item);
+	}
+
+	public boolean isEmpty() {
+		return queue.isEmpty();
+	}
+
+	public int size() {
+		return queue.size();
+	}
+
+	/**
+	 * Removes and returns the next item, or <code>null</code> if the worklist is
+	 * empty
+	 * 
+	 * @return
+	 */
+	public DSEWorkItem poll() {
+		return queue.poll();
+	}
+}
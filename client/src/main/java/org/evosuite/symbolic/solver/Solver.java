@@ -58,6 +58,14 @@ public abstract class Solver {
 
 	static Logger logger = LoggerFactory.getLogger(Solver.class);
 
+	/**
+	 * Guards the concrete values of the symbolic variables, which are shared
+	 * by the queries that DSE solves concurrently: {@link #checkSAT} sets
+	 * them to a model and restores them, and must not interleave with another
+	 * check or with reading them.
+	 */
+	private static final Object concreteValuesLock = new Object();
+
 	/**
 	 * 
 	 * @param constraints
@@ -87,10 +95,12 @@ public abstract class Solver {
 	protected static Map<String, Object> getConcreteValues(Set<Variable<?>> variables) {
 
 		Map<String, Object> concrete_values = new HashMap<String, Object>();
-		for (Variable<?> v : variables) {
-			String var_name = v.getName();
-			Object concrete_value = v.getConcreteValue();
-			concrete_values.put(var_name, concrete_value);
+		synchronized (concreteValuesLock) {
+			for (Variable<?> v : variables) {
+				String var_name = v.getName();
+				Object concrete_value = v.getConcreteValue();
+				concrete_values.put(var_name, concrete_value);
+			}
 		}
 		return concrete_values;
 	}
@@ -157,29 +167,31 @@ public abstract class Solver {
 			throw new IllegalArgumentException("satResult should be SAT");
 		}
 
-		// back-up values
 		Set<Variable<?>> variables = getVariables(constraints);
-		Map<String, Object> initialValues = getConcreteValues(variables);
-		// set new values
-		Map<String, Object> newValues = satResult.getModel();
-		setConcreteValues(variables, newValues);
-
-		try {
-			// check SAT with new values
-			ConstraintEvaluator evaluator = new ConstraintEvaluator();
-			for (Constraint<?> constraint : constraints) {
-				Boolean evaluation = (Boolean) constraint.accept(evaluator, null);
-				if (evaluation == null) {
-					throw new NullPointerException();
-				}
-				if (evaluation == false) {
-					return false;
+		synchronized (concreteValuesLock) {
+			// back-up values
+			Map<String, Object> initialValues = getConcreteValues(variables);
+			// set new values
+			Map<String, Object> newValues = satResult.getModel();
+			setConcreteValues(variables, newValues);
+
+			try {
+				// check SAT with new values
+				ConstraintEvaluator evaluator = new ConstraintEvaluator();
+				for (Constraint<?> constraint : constraints) {
+					Boolean evaluation = (Boolean) constraint.accept(evaluator, null);
+					if (evaluation == null) {
+						throw new NullPointerException();
+					}
+					if (evaluation == false) {
+						return false;
+					}
 				}
+				return true;
+			} finally {
+				// restore values
+				setConcreteValues(variables, initialValues);
 			}
-			return true;
-		} finally {
-			// restore values
-			setConcreteValues(variables, initialValues);
 		}
 	}
 
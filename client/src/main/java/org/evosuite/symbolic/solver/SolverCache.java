@@ -34,18 +34,23 @@ public final class SolverCache {
 	 * @return 
 	 */
 	public SolverResult solve(Solver solver, Collection<Constraint<?>> constraints) {
-		if (hasCachedResult(constraints)) {
-			SolverResult cached_solution = getCachedResult();
-			return cached_solution;
+		synchronized (this) {
+			if (hasCachedResult(constraints)) {
+				SolverResult cached_solution = getCachedResult();
+				return cached_solution;
+			}
 		}
 
+		/* the solver itself runs outside the lock so that concurrent DSE workers do not serialize */
 		SolverResult solverResult;
 		try {
 			solverResult = solver.solve(constraints);
-			if (solverResult.isUNSAT()) {
-				addUNSAT(constraints, solverResult);
-			} else {
-				addSAT(constraints, solverResult);
+			synchronized (this) {
+				if (solverResult.isUNSAT()) {
+					addUNSAT(constraints, solverResult);
+				} else {
+					addSAT(constraints, solverResult);
+				}
 			}
 		} catch (SolverTimeoutException | IOException | SolverParseException | SolverEmptyQueryException
 				| SolverErrorException e) {
@@ -62,11 +67,11 @@ public final class SolverCache {
 	private int cached_sat_result_count = 0;
 	private int cached_unsat_result_count = 0;
 
-	public int getNumberOfUNSATs() {
+	public synchronized int getNumberOfUNSATs() {
 		return cached_unsat_result_count;
 	}
 
-	public int getNumberOfSATs() {
+	public synchronized int getNumberOfSATs() {
 		return cached_sat_result_count;
 	}
 
@@ -108,7 +113,7 @@ public final class SolverCache {
 		}
 	}
 
-	public double getHitRate() {
+	public synchronized double getHitRate() {
 		return (double) this.number_of_hits / (double) this.number_of_accesses;
 	}
 
@@ -118,7 +123,7 @@ public final class SolverCache {
 	 * @param constraints
 	 * @return
 	 */
-	public SolverResult getCachedResult() {
+	public synchronized SolverResult getCachedResult() {
 
 		if (valid_cached_solution == false) {
 			throw new IllegalArgumentException("The constraint is not cached!");
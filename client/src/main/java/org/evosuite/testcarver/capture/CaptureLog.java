@@ -25,6 +25,7 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -34,6 +35,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.evosuite.PackageInfo;
+import org.evosuite.Properties;
 import org.evosuite.testcarver.instrument.TransformerUtil;
 import org.objectweb.asm.Type;
 import org.slf4j.Logger;
@@ -99,17 +101,19 @@ public final class CaptureLog implements Cloneable {
 	 */
 
 	// rec_no is implied by index
-	public final List<Integer> objectIds;
-	public final List<Integer> captureIds;
-	public final List<String> methodNames;
+	// the table is stored column by column, without boxing, as carving large
+	// test suites produces millions of records
+	public final IntColumn objectIds;
+	public final IntColumn captureIds;
+	public final StringColumn methodNames;
 	/**
 	 * FIXME: this seems always containing Integer objects, representing either
 	 * null or an object identifier (oid). should it be <Integer[]> ?
 	 */
-	public final List<Object[]> params;
-	public final List<Object> returnValues;
-	public final List<Boolean> isStaticCallList;
-	public final List<String> descList;
+	public final ParamColumn params;
+	public final ReturnValueColumn returnValues;
+	private final BitSet isStaticCall;
+	public final StringColumn descList;
 
 	//--- OID Info Table
 	// OID | INIT_REC_NO | CLASS
@@ -119,11 +123,11 @@ public final class CaptureLog implements Cloneable {
 	 * Would be better to have a single list, with object
 	 * containing the different fields
 	 */
-	private final List<Integer> oids;
-	private final List<Integer> oidInitRecNo;
-	private final List<String> oidClassNames;
-	private final List<Integer> oidFirstInits;
-	private final List<Integer> oidDependencies;
+	private final IntColumn oids;
+	private final IntColumn oidInitRecNo;
+	private final StringColumn oidClassNames;
+	private final IntColumn oidFirstInits;
+	private final IntColumn oidDependencies;
 
 	/**
 	 * captureId -> field name
@@ -141,21 +145,21 @@ public final class CaptureLog implements Cloneable {
 	 * Main constructor
 	 */
 	public CaptureLog() {
-		this.objectIds = new ArrayList<Integer>();
-		this.methodNames = new ArrayList<String>();
-		this.params = new ArrayList<Object[]>();
-		this.captureIds = new ArrayList<Integer>();
-		this.returnValues = new ArrayList<Object>();
-		this.descList = new ArrayList<String>();
+		this.objectIds = new IntColumn();
+		this.methodNames = new StringColumn();
+		this.params = new ParamColumn(Properties.CARVING_SPILL_THRESHOLD * 1024L * 1024L);
+		this.captureIds = new IntColumn();
+		this.returnValues = new ReturnValueColumn();
+		this.descList = new StringColumn();
 
 		this.oidRecMapping = new LinkedHashMap<Integer, Integer>();
-		this.oidInitRecNo = new ArrayList<Integer>();
-		this.oidClassNames = new ArrayList<String>();
-		this.oids = new ArrayList<Integer>();
-		this.oidFirstInits = new ArrayList<Integer>();
-		this.oidDependencies = new ArrayList<Integer>();
+		this.oidInitRecNo = new IntColumn();
+		this.oidClassNames = new StringColumn();
+		this.oids = new IntColumn();
+		this.oidFirstInits = new IntColumn();
+		this.oidDependencies = new IntColumn();
 
-		this.isStaticCallList = new ArrayList<Boolean>();
+		this.isStaticCall = new BitSet();
 
 		this.oidNamesOfAccessedFields = new LinkedHashMap<Integer, String>();
 
@@ -202,7 +206,18 @@ public final class CaptureLog implements Cloneable {
 	}
 	
 	public List<String> getObservedClasses() {
-		return oidClassNames;
+		return oidClassNames.toList();
+	}
+
+	public boolean isStaticCall(final int recordIndex) {
+		return isStaticCall.get(recordIndex);
+	}
+
+	/**
+	 * Sets whether the record added last is a static call
+	 */
+	private void addIsStaticCall(final boolean isStatic) {
+		this.isStaticCall.set(this.objectIds.size() - 1, isStatic);
 	}
 
 	public int getRecordIndexOfWhereObjectWasInitializedFirst(int oid)
@@ -271,7 +286,7 @@ public final class CaptureLog implements Cloneable {
 		log.oidClassNames.addAll(this.oidClassNames);
 		log.oids.addAll(this.oids);
 		log.oidNamesOfAccessedFields.putAll(this.oidNamesOfAccessedFields);
-		log.isStaticCallList.addAll(this.isStaticCallList);
+		log.isStaticCall.or(this.isStaticCall);
 		log.oidDependencies.addAll(this.oidDependencies);
 		log.oidFirstInits.addAll(this.oidFirstInits);
 
@@ -292,7 +307,7 @@ public final class CaptureLog implements Cloneable {
 		this.oids.clear();
 		this.oidFirstInits.clear();
 		this.oidDependencies.clear();
-		this.isStaticCallList.clear();
+		this.isStaticCall.clear();
 
 		this.oidNamesOfAccessedFields.clear();
 	}
@@ -395,7 +410,7 @@ public final class CaptureLog implements Cloneable {
 		this.descList.add(EMPTY_DESC);
 		this.params.add(NO_ARGS);
 		this.returnValues.add(RETURN_TYPE_VOID);
-		this.isStaticCallList.add(Boolean.FALSE);
+		addIsStaticCall(false);
 	}
 
 	/**
@@ -605,7 +620,7 @@ public final class CaptureLog implements Cloneable {
 			this.params.add(new Object[] { receiver });
 			this.returnValues.add(RETURN_TYPE_VOID);
 			this.captureIds.add(PSEUDO_CAPTURE_ID);
-			this.isStaticCallList.add(Boolean.FALSE);
+			addIsStaticCall(false);
 			this.logEnd(PSEUDO_CAPTURE_ID, receiver, RETURN_TYPE_VOID);
 		}
 
@@ -668,7 +683,7 @@ public final class CaptureLog implements Cloneable {
 		this.params.add(methodParams);
 		this.returnValues.add(RETURN_TYPE_VOID);
 		this.captureIds.add(captureId);
-		this.isStaticCallList.add(receiver instanceof Class);
+		addIsStaticCall(receiver instanceof Class);
 
 		this.checkIfInstanceFromInnerInstanceClass(receiver);
 	}
@@ -697,7 +712,7 @@ public final class CaptureLog implements Cloneable {
 				this.descList.add(EMPTY_DESC);
 				this.returnValues.add(RETURN_TYPE_VOID);
 				this.captureIds.add(PSEUDO_CAPTURE_ID);
-				this.isStaticCallList.add(Boolean.FALSE);
+				addIsStaticCall(false);
 				this.logEnd(PSEUDO_CAPTURE_ID, param, RETURN_TYPE_VOID);
 
 			} else if (isCollection && !isInstrumented) {
@@ -725,7 +740,7 @@ public final class CaptureLog implements Cloneable {
 				this.descList.add(EMPTY_DESC);
 				this.returnValues.add(RETURN_TYPE_VOID);
 				this.captureIds.add(PSEUDO_CAPTURE_ID);
-				this.isStaticCallList.add(Boolean.FALSE);
+				addIsStaticCall(false);
 				this.logEnd(PSEUDO_CAPTURE_ID, param, RETURN_TYPE_VOID);
 
 			} else if (isMap && !isInstrumented) {
@@ -763,7 +778,7 @@ public final class CaptureLog implements Cloneable {
 				this.descList.add(EMPTY_DESC);
 				this.returnValues.add(RETURN_TYPE_VOID);
 				this.captureIds.add(PSEUDO_CAPTURE_ID);
-				this.isStaticCallList.add(Boolean.FALSE);
+				addIsStaticCall(false);
 				this.logEnd(PSEUDO_CAPTURE_ID, param, RETURN_TYPE_VOID);
 
 			} else if (isArray) {
@@ -791,7 +806,7 @@ public final class CaptureLog implements Cloneable {
 				this.descList.add(EMPTY_DESC);
 				this.returnValues.add(RETURN_TYPE_VOID);
 				this.captureIds.add(PSEUDO_CAPTURE_ID);
-				this.isStaticCallList.add(Boolean.FALSE);
+				addIsStaticCall(false);
 				this.logEnd(PSEUDO_CAPTURE_ID, param, RETURN_TYPE_VOID);
 
 			} else {
@@ -840,7 +855,7 @@ public final class CaptureLog implements Cloneable {
 		this.descList.add(EMPTY_DESC);
 		this.returnValues.add(RETURN_TYPE_VOID);
 		this.captureIds.add(PSEUDO_CAPTURE_ID);
-		this.isStaticCallList.add(Boolean.FALSE);
+		addIsStaticCall(false);
 		this.logEnd(PSEUDO_CAPTURE_ID, subject, RETURN_TYPE_VOID);
 	}
 
@@ -864,7 +879,7 @@ public final class CaptureLog implements Cloneable {
 			.append(this.methodNames.get(i)).append(delimiter) // METHOD
 			.append(Arrays.toString(this.params.get(i))).append(delimiter) // PARAMS
 			.append(this.returnValues.get(i)).append(delimiter) // RETURN
-			.append(this.isStaticCallList.get(i)).append(delimiter) // IS STATIC
+			.append(this.isStaticCall.get(i)).append(delimiter) // IS STATIC
 			.append(this.descList.get(i)).append(delimiter) // DESC
 			.append(this.oidNamesOfAccessedFields.get(captureId)) // ACCESSED FIELDS
 			.append('\n');
@@ -136,6 +136,13 @@ public final class Capturer {
 	}
 
 	 public static void clear() {
+		// release the memory-mapped files of the logs
+		if (currentLog != null) {
+			currentLog.clear();
+		}
+		for (final CaptureLog log : logs) {
+			log.clear();
+		}
 		currentLog = null;
 		logs.clear();
 		classesToBeObserved.clear();
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcarver.capture;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only store of strings in a memory-mapped temporary file, used by a
+ * {@link CaptureLog} to keep large serialized parameters off the heap.
+ * 
+ * The file is mapped in regions of {@link #REGION_SIZE} bytes; a string that
+ * does not fit in the rest of the current region starts a new one.
+ */
+public final class MappedStringStore implements Closeable {
+
+	private static final int REGION_SIZE = 16 * 1024 * 1024;
+
+	private final File file;
+
+	private final RandomAccessFile raf;
+
+	private final List<MappedByteBuffer> regions = new ArrayList<MappedByteBuffer>();
+
+	private long mappedSize = 0;
+
+	private final IntColumn regionOf = new IntColumn();
+
+	private final IntColumn offsetOf = new IntColumn();
+
+	private final IntColumn lengthOf = new IntColumn();
+
+	public MappedStringStore() throws IOException {
+		this.file = File.createTempFile("evosuite-capture", ".log");
+		this.file.deleteOnExit();
+		this.raf = new RandomAccessFile(file, "rw");
+	}
+
+	/**
+	 * @return the handle to read the value with
+	 */
+	public int append(final String value) throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+		MappedByteBuffer region = regions.isEmpty() ? null : regions.get(regions.size() - 1);
+		if (region == null || region.remaining() < bytes.length) {
+			final int size = Math.max(REGION_SIZE, bytes.length);
+			region = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, mappedSize, size);
+			mappedSize += size;
+			regions.add(region);
+		}
+
+		regionOf.add(regions.size() - 1);
+		offsetOf.add(region.position());
+		lengthOf.add(bytes.length);
+		region.put(bytes);
+
+		return regionOf.size() - 1;
+	}
+
+	public String get(final int handle) {
+		final ByteBuffer region = regions.get(regionOf.get(handle)).duplicate();
+		region.position(offsetOf.get(handle));
+		final byte[] bytes = new byte[lengthOf.get(handle)];
+		region.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Deletes the file. The mapped regions are only unmapped once they are
+	 * garbage collected, which is why the store drops them here.
+	 */
+	@Override
+	public void close() throws IOException {
+		regions.clear();
+		regionOf.clear();
+		offsetOf.clear();
+		lengthOf.clear();
+		raf.close();
+		file.delete();
+	}
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcarver.capture;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The parameters of the records of a {@link CaptureLog}. The parameters of
+ * all records are kept in one flat column; object identifiers, which make up
+ * most of them, are stored unboxed. Once the serialized objects held on the
+ * heap exceed the spill threshold, further strings are written to a
+ * {@link MappedStringStore}.
+ * 
+ * {@link #get(int)} decodes the parameters of one record into a new array.
+ */
+public final class ParamColumn {
+
+	private static final Logger logger = LoggerFactory.getLogger(ParamColumn.class);
+
+	private static final byte NULL = 0;
+	private static final byte INT = 1;
+	private static final byte OBJECT = 2;
+	private static final byte SPILLED = 3;
+
+	/**
+	 * record -> index of its first parameter
+	 */
+	private final IntColumn starts = new IntColumn();
+
+	private byte[] kinds = new byte[64];
+
+	/**
+	 * the int value, the index in objects, or the spill handle of each
+	 * parameter, depending on its kind
+	 */
+	private final IntColumn slots = new IntColumn();
+
+	private final List<Object> objects = new ArrayList<Object>();
+
+	/**
+	 * bytes of strings kept on the heap after which strings are spilled, 0 to
+	 * never spill
+	 */
+	private final long spillThreshold;
+
+	private long heapBytes = 0;
+
+	private MappedStringStore spill;
+
+	private boolean spillFailed = false;
+
+	public ParamColumn(final long spillThreshold) {
+		this.spillThreshold = spillThreshold;
+	}
+
+	public void add(final Object[] params) {
+		starts.add(slots.size());
+		for (final Object param : params) {
+			addParam(param);
+		}
+	}
+
+	private void addParam(final Object param) {
+		byte kind;
+		int value;
+		if (param == null) {
+			kind = NULL;
+			value = 0;
+		} else if (param instanceof Integer) {
+			kind = INT;
+			value = (Integer) param;
+		} else {
+			value = param instanceof String ? spill((String) param) : -1;
+			if (value >= 0) {
+				kind = SPILLED;
+			} else {
+				kind = OBJECT;
+				value = objects.size();
+				objects.add(param);
+			}
+		}
+
+		final int index = slots.size();
+		if (index == kinds.length) {
+			kinds = Arrays.copyOf(kinds, index * 2);
+		}
+		kinds[index] = kind;
+		slots.add(value);
+	}
+
+	/**
+	 * @return the spill handle of the value, or -1 if it stays on the heap
+	 */
+	private int spill(final String value) {
+		final long size = 2L * value.length();
+		if (spillThreshold <= 0 || spillFailed || heapBytes + size <= spillThreshold) {
+			heapBytes += size;
+			return -1;
+		}
+
+		try {
+			if (spill == null) {
+				spill = new MappedStringStore();
+			}
+			return spill.append(value);
+		} catch (final IOException e) {
+			logger.warn("Cannot spill capture log to disk, keeping it on the heap: {}", e.toString());
+			spillFailed = true;
+			heapBytes += size;
+			return -1;
+		}
+	}
+
+	public void addAll(final ParamColumn other) {
+		final int size = other.size();
+		for (int i = 0; i < size; i++) {
+			add(other.get(i));
+		}
+	}
+
+	public Object[] get(final int record) {
+		final int start = starts.get(record);
+		final int end = record + 1 < starts.size() ? starts.get(record + 1) : slots.size();
+		if (start == end) {
+			return CaptureLog.NO_ARGS;
+		}
+
+		final Object[] params = new Object[end - start];
+		for (int i = start; i < end; i++) {
+			final int value = slots.get(i);
+			switch (kinds[i]) {
+			case INT:
+				params[i - start] = value;
+				break;
+			case OBJECT:
+				params[i - start] = objects.get(value);
+				break;
+			case SPILLED:
+				params[i - start] = spill.get(value);
+				break;
+			default:
+				break;
+			}
+		}
+		return params;
+	}
+
+	public int size() {
+		return starts.size();
+	}
+
+	public void clear() {
+		starts.clear();
+		slots.clear();
+		kinds = new byte[64];
+		objects.clear();
+		heapBytes = 0;
+		spillFailed = false;
+		if (spill != null) {
+			try {
+				spill.close();
+			} catch (final IOException e) {
+				logger.debug("Cannot delete spilled capture log: {}", e.toString());
+			}
+			spill = null;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcarver.capture;
+
+import java.util.BitSet;
+
+/**
+ * The return values of the records of a {@link CaptureLog}: either
+ * {@link CaptureLog#RETURN_TYPE_VOID} or the object identifier of the
+ * returned object, stored unboxed.
+ */
+public final class ReturnValueColumn {
+
+	private final IntColumn oids = new IntColumn();
+
+	private final BitSet hasReturnValue = new BitSet();
+
+	/**
+	 * @param value
+	 *            {@link CaptureLog#RETURN_TYPE_VOID} or an object identifier
+	 */
+	public void add(final Object value) {
+		final int index = oids.size();
+		if (value instanceof Integer) {
+			oids.add((Integer) value);
+			hasReturnValue.set(index);
+		} else {
+			oids.add(0);
+		}
+	}
+
+	public void addAll(final ReturnValueColumn other) {
+		final int size = other.size();
+		for (int i = 0; i < size; i++) {
+			add(other.get(i));
+		}
+	}
+
+	public void set(final int index, final int oid) {
+		oids.set(index, oid);
+		hasReturnValue.set(index);
+	}
+
+	public Object get(final int index) {
+		final int oid = oids.get(index);
+		return hasReturnValue.get(index) ? (Object) oid : CaptureLog.RETURN_TYPE_VOID;
+	}
+
+	public int size() {
+		return oids.size();
+	}
+
+	public void clear() {
+		oids.clear();
+		hasReturnValue.clear();
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcarver.capture;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A column of strings of a {@link CaptureLog}. Method names, descriptors and
+ * class names repeat in nearly every record, so each distinct string is kept
+ * once and the records only store its code.
+ */
+public final class StringColumn {
+
+	private final IntColumn codes = new IntColumn();
+
+	private final List<String> strings = new ArrayList<String>();
+
+	private final Map<String, Integer> stringCodes = new HashMap<String, Integer>();
+
+	public void add(final String value) {
+		codes.add(code(value));
+	}
+
+	public void addAll(final StringColumn other) {
+		final int size = other.size();
+		for (int i = 0; i < size; i++) {
+			add(other.get(i));
+		}
+	}
+
+	public String get(final int index) {
+		return strings.get(codes.get(index));
+	}
+
+	public int size() {
+		return codes.size();
+	}
+
+	public void clear() {
+		codes.clear();
+		strings.clear();
+		stringCodes.clear();
+	}
+
+	/**
+	 * @return the values of all records, in record order
+	 */
+	public List<String> toList() {
+		final int size = size();
+		final List<String> list = new ArrayList<String>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(get(i));
+		}
+		return list;
+	}
+
+	private int code(final String value) {
+		Integer code = stringCodes.get(value);
+		if (code == null) {
+			code = strings.size();
+			strings.add(value);
+			stringCodes.put(value, code);
+		}
+		return code;
+	}
+
+	@Override
+	public String toString() {
+		return toList().toString();
+	}
+}
@@ -86,6 +86,19 @@ public class TestCodeVisitor extends TestVisitor {
 
 	protected final Map<String, Integer> nextIndices = new HashMap<String, Integer>();
 
+	/**
+	 * Create a new visitor that starts from the class names chosen by this
+	 * visitor, so that tests can be converted to code independently of each
+	 * other while agreeing on names and imports
+	 * 
+	 * @return a {@link TestCodeVisitor} object.
+	 */
+	public TestCodeVisitor copyWithClassNames() {
+		TestCodeVisitor copy = new TestCodeVisitor();
+		copy.classNames.putAll(classNames);
+		return copy;
+	}
+
 	/**
 	 * <p>
 	 * getCode
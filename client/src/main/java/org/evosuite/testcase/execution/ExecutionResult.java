@@ -20,6 +20,7 @@
 package org.evosuite.testcase.execution;
 
 import org.evosuite.assertion.OutputTrace;
+import org.evosuite.coverage.branch.BranchTraceIndex;
 import org.evosuite.coverage.io.input.InputCoverageGoal;
 import org.evosuite.coverage.io.output.OutputCoverageGoal;
 import org.evosuite.coverage.mutation.Mutation;
@@ -97,8 +98,8 @@ public class ExecutionResult implements Cloneable {
 
     private Map<Integer, Set<OutputCoverageGoal>> outputGoals = new LinkedHashMap<>();
 
-	// experiment .. tried to remember intermediately calculated ControlFlowDistances .. no real speed up
-	//	public Map<Branch, ControlFlowDistance> intermediateDistances;
+	/** Lazily built index of the trace, shared by all branch goals */
+	private BranchTraceIndex branchTraceIndex;
 
 	/**
 	 * Default constructor when executing without mutation
@@ -273,6 +274,19 @@ public class ExecutionResult implements Cloneable {
 		return trace;
 	}
 
+	/**
+	 * Index of the execution trace used to compute branch distances. It is
+	 * built on first access and rebuilt if the trace is replaced.
+	 * 
+	 * @return a {@link org.evosuite.coverage.branch.BranchTraceIndex} object.
+	 */
+	public BranchTraceIndex getBranchTraceIndex() {
+		if (branchTraceIndex == null || branchTraceIndex.getTrace() != trace) {
+			branchTraceIndex = new BranchTraceIndex(trace);
+		}
+		return branchTraceIndex;
+	}
+
 	/**
 	 * Set execution trace to different value
 	 * 
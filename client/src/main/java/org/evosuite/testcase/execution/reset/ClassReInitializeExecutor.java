@@ -19,8 +19,8 @@
  */
 package org.evosuite.testcase.execution.reset;
 
-import java.lang.reflect.Method;
-import java.util.List;
+import java.lang.invoke.MethodHandle;
+import java.util.Collection;
 
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
@@ -58,7 +58,7 @@ class ClassReInitializeExecutor {
 	 * 
 	 * @param classesToReset
 	 */
-	public void resetClasses(List<String> classesToReset) {
+	public void resetClasses(Collection<String> classesToReset) {
 		ClassLoader loader = TestGenerationContext.getInstance().getClassLoaderForSUT();
 		resetClasses(classesToReset, loader);
 	}
@@ -69,7 +69,7 @@ class ClassReInitializeExecutor {
 	 * @param classesToReset
 	 * @param loader
 	 */
-	public void resetClasses(List<String> classesToReset, ClassLoader loader) {
+	public void resetClasses(Collection<String> classesToReset, ClassLoader loader) {
 		// try to reset each collected class
 
 		ClassResetter.getInstance().setClassLoader(loader);
@@ -93,6 +93,12 @@ class ClassReInitializeExecutor {
 	private void resetClass(String className) {
 
 		// className.__STATIC_RESET() exists
+		MethodHandle resetMethod = ClassResetter.getInstance().getResetMethodHandle(className);
+		if (resetMethod == null) {
+			// nothing to execute, thus no need to prepare sandbox and runtime
+			return;
+		}
+
 		logger.debug("Resetting class " + className);
 
 		int mutationActive = MutationObserver.activeMutation;
@@ -107,15 +113,12 @@ class ClassReInitializeExecutor {
 		boolean wasLoopCheckOn = LoopCounter.getInstance().isActivated();
 
 		try {
-			Method resetMethod = ClassResetter.getInstance().getResetMethod(className);
-			if (resetMethod != null) {
-				LoopCounter.getInstance().setActive(false);
-				resetMethod.invoke(null, (Object[]) null);
-			}
+			LoopCounter.getInstance().setActive(false);
+			resetMethod.invokeExact();
 		} catch (Throwable e) {
 			ClassResetter.getInstance().logWarn(className,
 					e.getClass() + " thrown during execution of method  __STATIC_RESET() for class " + className + ", "
-							+ e.getCause());
+							+ e);
 		} finally {
 			Sandbox.doneWithExecutingSUTCode();
 			TestGenerationContext.getInstance().doneWithExecutingSUTCode();
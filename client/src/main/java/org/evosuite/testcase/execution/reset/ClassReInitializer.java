@@ -19,10 +19,11 @@
  */
 package org.evosuite.testcase.execution.reset;
 
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.evosuite.Properties;
 import org.evosuite.assertion.CheapPurityAnalyzer;
@@ -158,15 +159,18 @@ public class ClassReInitializer {
 				// reset only classes that were "observed" to have some
 				// GETSTATIC/PUTSTATIC updating their state during test
 				// execution
-				List<String> classesToReset = new LinkedList<String>();
+				// a sorted set, as the same class is usually reported by
+				// several sources and must only be reset once
+				Set<String> classesToReset = new TreeSet<String>();
 				classesToReset.addAll(trace.getClassesWithStaticWrites());
 				if (Properties.RESET_STATIC_FIELD_GETS) {
 					classesToReset.addAll(trace.getClassesWithStaticReads());
 				}
 				HashSet<String> moreClassesForReset = getMoreClassesToReset(executedTestCase, testCaseResult);
 				classesToReset.addAll(moreClassesForReset);
-				// sort classes to reset
-				Collections.sort(classesToReset);
+				if (classesToReset.isEmpty()) {
+					return;
+				}
 
 				ClassLoader loader = null;
 				if (executedTestCase instanceof DefaultTestCase) {
@@ -22,10 +22,7 @@
  */
 package org.evosuite.utils;
 
-import java.util.ArrayDeque;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Queue;
 import java.util.Set;
 
 import org.evosuite.Properties;
@@ -38,41 +35,67 @@ public class DefaultRandomAccessQueue<T> implements RandomAccessQueue<T> {
 
 	private final Set<T> valueSet = new HashSet<T>();
 
-	private final Queue<T> queue = new ArrayDeque<T>();
+	/*
+	 * ring buffer of the values in insertion order, so that a random value
+	 * can be drawn without copying the set
+	 */
+	private Object[] queue = new Object[16];
+
+	private int head = 0;
+
+	private int size = 0;
 
 	/* (non-Javadoc)
 	 * @see org.evosuite.primitives.RandomAccessQueue#restrictedAdd(java.lang.Object)
 	 */
 	@Override
 	public void restrictedAdd(T value) {
-		if (!valueSet.contains(value)) {
-			queue.add(value);
-			valueSet.add(value);
+		if (valueSet.add(value)) {
+			if (size == queue.length) {
+				Object[] grown = new Object[queue.length * 2];
+				for (int i = 0; i < size; i++) {
+					grown[i] = get(i);
+				}
+				queue = grown;
+				head = 0;
+			}
+			queue[(head + size) % queue.length] = value;
+			size++;
 			reduceSize();
 		}
 	}
 
 	private void reduceSize() {
-		if (queue.size() > Properties.DYNAMIC_POOL_SIZE) {
-			T value = queue.poll();
+		if (size > Properties.DYNAMIC_POOL_SIZE) {
+			T value = get(0);
+			queue[head] = null;
+			head = (head + 1) % queue.length;
+			size--;
 			valueSet.remove(value);
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	private T get(int index) {
+		return (T) queue[(head + index) % queue.length];
+	}
+
 	/* (non-Javadoc)
 	 * @see org.evosuite.primitives.RandomAccessQueue#getRandomValue()
 	 */
 	@Override
 	public T getRandomValue() {
-		return Randomness.choice(valueSet);
+		if (size == 0) {
+			return null;
+		}
+		return get(Randomness.nextInt(size));
 	}
 
 	@Override
 	public String toString() {
 		String res = new String("[ ");
-		Iterator<T> itr = queue.iterator();
-		while(itr.hasNext()) {
-			Object element = itr.next();
+		for (int i = 0; i < size; i++) {
+			Object element = get(i);
 			res += element + " ";
 		}
 		res += "]";
@@ -81,7 +104,7 @@ public class DefaultRandomAccessQueue<T> implements RandomAccessQueue<T> {
 
 	@Override
 	public int size() {
-		return queue.size();
+		return size;
 	}
 
 }
@@ -0,0 +1,179 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import org.evosuite.Properties;
+
+/**
+ * A random access queue of primitive values, like {@link RandomAccessQueue}
+ * but without boxing. Values are kept in a ring buffer in insertion order, so
+ * that a random value is drawn in constant time, and a hash set of their bits
+ * filters duplicates.
+ * Like {@link DefaultRandomAccessQueue}, the oldest value is dropped once
+ * there are more than {@link Properties#DYNAMIC_POOL_SIZE} values.
+ * 
+ * The queue works on the 64 bits of a value; {@link LongRandomAccessQueue}
+ * and {@link DoubleRandomAccessQueue} define how values are mapped to them,
+ * so that one queue never mixes integral and floating point values.
+ */
+public abstract class PrimitiveRandomAccessQueue {
+
+	private static final long FREE = 0L;
+
+	private long[] values = new long[16];
+
+	private int head = 0;
+
+	private int size = 0;
+
+	/*
+	 * open addressing set of the values, with linear probing. The slot of
+	 * value 0 cannot be told apart from a free slot, so it is tracked aside.
+	 */
+	private long[] slots = new long[32];
+
+	private boolean containsZero = false;
+
+	protected void addBits(long value) {
+		if (containsBits(value)) {
+			return;
+		}
+
+		if (size == values.length) {
+			long[] grown = new long[values.length * 2];
+			for (int i = 0; i < size; i++) {
+				grown[i] = values[(head + i) % values.length];
+			}
+			values = grown;
+			head = 0;
+		}
+		values[(head + size) % values.length] = value;
+		size++;
+		insert(value);
+
+		if (size > Properties.DYNAMIC_POOL_SIZE) {
+			long oldest = values[head];
+			head = (head + 1) % values.length;
+			size--;
+			remove(oldest);
+		}
+	}
+
+	/**
+	 * Should only be called if the queue is not empty
+	 */
+	protected long getRandomBits() {
+		return values[(head + Randomness.nextInt(size)) % values.length];
+	}
+
+	protected boolean containsBits(long value) {
+		if (value == FREE) {
+			return containsZero;
+		}
+		int mask = slots.length - 1;
+		for (int i = hash(value); slots[i] != FREE; i = (i + 1) & mask) {
+			if (slots[i] == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the printed form of the value with the given bits
+	 */
+	protected abstract String format(long value);
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	private int hash(long value) {
+		long h = value * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & (slots.length - 1);
+	}
+
+	private void insert(long value) {
+		if (value == FREE) {
+			containsZero = true;
+			return;
+		}
+		// keep the set at most half full
+		if (size * 2 > slots.length) {
+			long[] old = slots;
+			slots = new long[old.length * 2];
+			for (long v : old) {
+				if (v != FREE) {
+					place(v);
+				}
+			}
+		}
+		place(value);
+	}
+
+	private void place(long value) {
+		int mask = slots.length - 1;
+		int i = hash(value);
+		while (slots[i] != FREE) {
+			i = (i + 1) & mask;
+		}
+		slots[i] = value;
+	}
+
+	private void remove(long value) {
+		if (value == FREE) {
+			containsZero = false;
+			return;
+		}
+		int mask = slots.length - 1;
+		int i = hash(value);
+		while (slots[i] != value) {
+			i = (i + 1) & mask;
+		}
+		// shift back the following entries of the probe sequence
+		int j = i;
+		while (true) {
+			j = (j + 1) & mask;
+			if (slots[j] == FREE) {
+				break;
+			}
+			int home = hash(slots[j]);
+			if (((j - home) & mask) >= ((j - i) & mask)) {
+				slots[i] = slots[j];
+				i = j;
+			}
+		}
+		slots[i] = FREE;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder res = new StringBuilder("[ ");
+		for (int i = 0; i < size; i++) {
+			res.append(format(values[(head + i) % values.length])).append(" ");
+		}
+		res.append("]");
+		return res.toString();
+	}
+}
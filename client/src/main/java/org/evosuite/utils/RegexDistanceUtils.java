@@ -20,8 +20,10 @@
 package org.evosuite.utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -45,55 +47,130 @@ import dk.brics.automaton.Transition;
  */
 public class RegexDistanceUtils {
 
+	/**
+	 * Maximum number of compiled regular expressions kept in memory
+	 */
+	private static final int REGEX_CACHE_SIZE = 256;
+
 	/*
 	 * Automatons for regex can be expensive to build. So we cache them,
-	 * as we might need to access to them several times during the search
+	 * as we might need to access to them several times during the search.
+	 * The cache is bounded (least recently used regex is evicted first), and
+	 * all accesses are synchronized on it.
 	 */
-	private static Map<String, List<State>> regexStateCache = new HashMap<String, List<State>>();
-	private static Map<String, Automaton> regexAutomatonCache = new HashMap<String, Automaton>();
+	private static final Map<String, CompiledRegex> regexCache = new LinkedHashMap<String, CompiledRegex>(16, 0.75f, true) {
+		private static final long serialVersionUID = -2947387386451291254L;
 
-	public static Automaton getRegexAutomaton(String regex) {
-		if (!regexAutomatonCache.containsKey(regex)) {
-			cacheRegex(regex);
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CompiledRegex> eldest) {
+			return size() > REGEX_CACHE_SIZE;
+		}
+	};
+
+	/*
+	 * Cost matrices, reused by the distance computations of each thread
+	 */
+	private static final ThreadLocal<double[][]> costBuffer = new ThreadLocal<double[][]>() {
+		@Override
+		protected double[][] initialValue() {
+			return new double[1][0];
 		}
-		return regexAutomatonCache.get(regex);
+	};
+
+	public static Automaton getRegexAutomaton(String regex) {
+		return getCompiledRegex(regex).automaton;
 	}
 
 	public static String getRegexInstance(String regex) {
-		if (!regexAutomatonCache.containsKey(regex)) {
-			cacheRegex(regex);
-		}
-		Automaton automaton = regexAutomatonCache.get(regex);
+		Automaton automaton = getCompiledRegex(regex).automaton;
 		return automaton.getShortestExample(true);
 	}
 
 	public static String getNonMatchingRegexInstance(String regex) {
-		if (!regexAutomatonCache.containsKey(regex)) {
-			cacheRegex(regex);
-		}
-		Automaton automaton = regexAutomatonCache.get(regex);
+		Automaton automaton = getCompiledRegex(regex).automaton;
 		return automaton.getShortestExample(false);
 	}
 
-	private static class GraphTransition {
-				
-		public enum TransitionType{INSERTION, DELETION, REPLACEMENT, 
-			/**
-			 * A phantom transition is an artificial transition from the sink/final states to a single artificial sink/state.
-			 * This is used to simplify the recursion calculation of the subpath costs. 
-			 */
-			PHANTOM};
-		
-		public final double cost;
-		public final int fromRow;
-		public final State fromState;
-		public final TransitionType type;
-		
-		public GraphTransition(double cost, int fromRow, State fromState, TransitionType type) {
-			this.cost = cost;
-			this.fromRow = fromRow;
-			this.fromState = fromState;
-			this.type = type;
+	/**
+	 * The automaton of a regex, with its states numbered in topological order
+	 * (ignoring back edges) and its transitions stored as dense tables indexed
+	 * by destination state. State {@code numStates} is an artificial sink
+	 * reached from every accepting state.
+	 */
+	private static class CompiledRegex {
+
+		final Automaton automaton;
+
+		final int numStates;
+
+		/**
+		 * incoming transitions of state s are at positions
+		 * incomingStart[s] (inclusive) to incomingStart[s+1] (exclusive) of
+		 * the following arrays
+		 */
+		final int[] incomingStart;
+		final int[] incomingFrom;
+		final char[] incomingMin;
+		final char[] incomingMax;
+
+		final int[] acceptingStates;
+
+		CompiledRegex(Automaton automaton, List<State> topologicalOrder) {
+			this.automaton = automaton;
+			this.numStates = topologicalOrder.size();
+
+			Map<State, Integer> stateToIntMap = new HashMap<State, Integer>();
+			for (State state : topologicalOrder) {
+				stateToIntMap.put(state, stateToIntMap.size());
+			}
+
+			int[] count = new int[numStates + 1];
+			int numTransitions = 0;
+			List<Integer> accepting = new ArrayList<Integer>();
+			for (State state : topologicalOrder) {
+				for (Transition t : state.getTransitions()) {
+					count[stateToIntMap.get(t.getDest())]++;
+					numTransitions++;
+				}
+				if (state.isAccept()) {
+					accepting.add(stateToIntMap.get(state));
+				}
+			}
+
+			incomingStart = new int[numStates + 1];
+			for (int s = 0; s < numStates; s++) {
+				incomingStart[s + 1] = incomingStart[s] + count[s];
+			}
+			incomingFrom = new int[numTransitions];
+			incomingMin = new char[numTransitions];
+			incomingMax = new char[numTransitions];
+			int[] next = Arrays.copyOf(incomingStart, numStates);
+			for (State state : topologicalOrder) {
+				int from = stateToIntMap.get(state);
+				for (Transition t : state.getTransitions()) {
+					int k = next[stateToIntMap.get(t.getDest())]++;
+					incomingFrom[k] = from;
+					incomingMin[k] = t.getMin();
+					incomingMax[k] = t.getMax();
+				}
+			}
+
+			acceptingStates = new int[accepting.size()];
+			for (int i = 0; i < acceptingStates.length; i++) {
+				acceptingStates[i] = accepting.get(i);
+			}
+		}
+
+		/**
+		 * Cost of replacing the given character by one accepted by transition k
+		 */
+		double replacementCost(char c, int k) {
+			if (c < incomingMin[k] || c > incomingMax[k]) {
+				int distMin = Math.abs(c - incomingMin[k]);
+				int distMax = Math.abs(c - incomingMax[k]);
+				return normalize(Math.min(distMin, distMax));
+			}
+			return 0.0;
 		}
 	}
 
@@ -178,25 +255,25 @@ public class RegexDistanceUtils {
 		return regex;
 	}
 
-	/**
-	 * Ensure that each row has the full data structures containing the target state
-	 * 
-	 * @param transitions 
-	 * @param state
-	 * @param numRows
-	 */
-	private static void ensureState(
-			Map<Integer, Map<State, Set<GraphTransition>>> transitions, State state,
-			int numRows) {
-		for (int row = 0; row <= numRows; row++) {
-			if (!transitions.containsKey(row))
-				transitions.put(row, new HashMap<State, Set<GraphTransition>>());
-			if (!transitions.get(row).containsKey(state))
-				transitions.get(row).put(state, new HashSet<GraphTransition>());
+	private static CompiledRegex getCompiledRegex(String regex) {
+		synchronized (regexCache) {
+			CompiledRegex compiled = regexCache.get(regex);
+			if (compiled != null) {
+				return compiled;
+			}
 		}
+
+		/*
+		 * compile outside of the lock, at worst the same regex is compiled twice
+		 */
+		CompiledRegex compiled = compileRegex(regex);
+		synchronized (regexCache) {
+			regexCache.put(regex, compiled);
+		}
+		return compiled;
 	}
 
-	private static void cacheRegex(String regex) {
+	private static CompiledRegex compileRegex(String regex) {
 		String r = expandRegex(regex);
 		Automaton automaton = new RegExp(r, RegExp.NONE).toAutomaton();
 		automaton.expandSingleton();
@@ -238,8 +315,7 @@ public class RegexDistanceUtils {
 			topologicalOrder.add(iterator.next());
 		}
 
-		regexStateCache.put(regex, topologicalOrder);
-		regexAutomatonCache.put(regex, automaton);
+		return new CompiledRegex(automaton, topologicalOrder);
 	}
 
 	/**
@@ -255,9 +331,7 @@ public class RegexDistanceUtils {
 			return getDefaultDistance(arg, regex);
 		}
 
-		RegexGraph graph = new RegexGraph(arg, regex);		
-		CostMatrix matrix = new CostMatrix();
-		return matrix.calculateStandardCost(graph);		
+		return calculateStandardCost(arg, getCompiledRegex(regex));
 	}
 	
 	private static int getDefaultDistance(String arg, String regex) {
@@ -296,449 +370,286 @@ public class RegexDistanceUtils {
 	 * @return
 	 */
 	public static double getDistanceTailoredForStringAVM(String arg, String regex) {
-		RegexGraph graph = new RegexGraph(arg, regex);		
-		CostMatrix matrix = new CostMatrix();
-		return matrix.calculateCostForStringAVM(graph);		
+		return calculateCostForStringAVM(arg, getCompiledRegex(regex));
 	}
 	
 	protected static Automaton getAndCacheAutomaton(String regex){
-		/*
-		 * Cache it if first time we build it
-		 */
-		if (!regexAutomatonCache.containsKey(regex)) {
-			/*
-			 * Create an automaton representing the regex
-			 */
-			cacheRegex(regex);
-		}
-		
-		Automaton automaton = regexAutomatonCache.get(regex);
-		return automaton;
+		return getCompiledRegex(regex).automaton;
 	}
 
-	
-	/**
-	 * A graph created based on an "arg" that is matched against a "regex".
-	 * There is going to be arg.length+1 copies of the regex automaton. 
-	 * Each copy represents a "row".
-	 * Each automaton state, in topological order, represents a "column".
-	 * The graph can be considered as a "rows"x"columns" matrix.
+	/*
+	 * The distance is computed on a graph with arg.length+1 copies of the
+	 * regex automaton. Each copy represents a "row", each automaton state, in
+	 * topological order, represents a "column". The algorithm is based on
+	 * what discussed in:
+	 * 
+	 * Mohammad Alshraideh and Leonardo Bottaci
+	 * Search-based software test data generation for string data using program-specific search operators
+	 * http://neo.lcc.uma.es/mase/attachments/085_TestDataGenerationForStringData.pdf
+	 * 
+	 * and 
+	 * 
+	 * EUGENE W. MYERS and WEBB MILLER
+	 * APPROXIMATE MATCHING OF REGULAR EXPRESSIONS
+	 * http://www.cs.mun.ca/~harold/Courses/Old/Ling6800.W06/Diary/reg.aprox.pdf
+	 * 
+	 * In row i, state s is reached
+	 * - by an insertion (cost 1) from row i through any transition into s,
+	 * - by a replacement of character i-1 from row i-1 through any transition
+	 *   into s. Even a zero-cost replacement is a replacement: in
+	 *   "ac".matches("abc") the c/c alignment must not allow inserting 'b',
+	 *   as an insertion cannot be followed by a replacement,
+	 * - by a deletion (cost 1) of character i-1 from s in row i-1.
+	 * The sink column is reached at no cost from the accepting states of the
+	 * last row.
 	 * 
-	 * @author arcuri
-	 *
+	 * The matrices are stored in reused flat arrays, row by row. Like in a
+	 * freshly allocated matrix, the cells of the current row that are not
+	 * computed yet read as 0.
 	 */
-	private static class RegexGraph {
 
-		private  Map<Integer, Map<State, Set<GraphTransition>>> transitions;
-		private  Map<Integer, State> intToStateMap;
-		private  Map<State, Integer> stateToIntMap;
-		
-		/**
-		 * Build the graph
-		 * @param arg
-		 * @param regex
-		 */
-		public RegexGraph(String arg, String regex){
-			transitions = createGraph(arg,regex);
+	private static double[] getCostBuffer(int size) {
+		double[][] holder = costBuffer.get();
+		if (holder[0].length < size) {
+			holder[0] = new double[size];
 		}
-		
-		public int getNumberOfRows(){
-			return transitions.keySet().size();
+		return holder[0];
+	}
+
+	/**
+	 * We cannot just do previousStateCost + transitionCost, as there might be computational overflows
+	 * 
+	 * @param previousStateCost
+	 * @param transitionCost
+	 * @return
+	 * @throws IllegalArgumentException
+	 */
+	private static double getSubPathCost(double previousStateCost, double transitionCost) throws IllegalArgumentException{
+		if(previousStateCost<0){
+			throw new IllegalArgumentException("previousStateCost cannot be negative: "+previousStateCost);
 		}
-		
-		public int getNumberOfColumns(){
-			return stateToIntMap.size();
+		if(transitionCost<0){
+			throw new IllegalArgumentException("transitionCost cannot be negative: "+transitionCost);
 		}
 		
-		/**
-		 * Get all the incoming transitions to the node located at coordinate "row" and "column"
-		 * @param row
-		 * @param column
-		 * @return
-		 */
-		public Set<GraphTransition> getIncomingTransitions(int row, int column){
-			State state = intToStateMap.get(column);
-			return transitions.get(row).get(state);
+		if(previousStateCost == Double.MAX_VALUE || transitionCost == Double.MAX_VALUE){
+			return Double.MAX_VALUE;
 		}
 		
-		public int getColumn(State state){
-			return stateToIntMap.get(state);
-		}
+		double sum =  previousStateCost + transitionCost;
 		
-		private  Map<Integer, Map<State, Set<GraphTransition>>> createGraph(String arg, String regex){
-
+		if(sum<previousStateCost || sum<transitionCost){
 			/*
-			 * Create a graph to calculate the distance. The algorithm is based on what discussed in:
-			 * 
-			 * Mohammad Alshraideh and Leonardo Bottaci
-			 * Search-based software test data generation for string data using program-specific search operators
-			 * http://neo.lcc.uma.es/mase/attachments/085_TestDataGenerationForStringData.pdf
-			 * 
-			 * and 
-			 * 
-			 * EUGENE W. MYERS and WEBB MILLER
-			 * APPROXIMATE MATCHING OF REGULAR EXPRESSIONS
-			 * http://www.cs.mun.ca/~harold/Courses/Old/Ling6800.W06/Diary/reg.aprox.pdf
+			 * likely overflow
 			 */
+			return Double.MAX_VALUE;
+		}
+		
+		return sum;
+	}
 
-			Automaton automaton = getAndCacheAutomaton(regex);
-			final int NUM_CHARS = arg.length();
-
-
-			List<State> topologicalOrder = regexStateCache.get(regex);
-
-			Map<Integer, Map<State, Set<GraphTransition>>> transitions = new HashMap<Integer, Map<State, Set<GraphTransition>>>();
-
-			intToStateMap = new HashMap<Integer, State>();
-			stateToIntMap = new HashMap<State, Integer>();
-			int numState = 0;
-
-			for (State currentState : topologicalOrder) {
-
-				/*
-				 * Init data structure to quickly map/access state/index
-				 */
-				stateToIntMap.put(currentState, numState);
-				intToStateMap.put(numState, currentState);
-				numState++;
-
-				for (Transition t : currentState.getTransitions()) {
-
-					State destination = t.getDest();
-					ensureState(transitions, destination , NUM_CHARS);
+	private static int calculateStandardCost(String arg, CompiledRegex regex) {
+		final int ROWS = arg.length() + 1;
+		final int COLUMNS = regex.numStates + 1;
+		final int SINK = regex.numStates;
+		final double[] matrix = getCostBuffer(ROWS * COLUMNS);
+		Arrays.fill(matrix, 0, ROWS * COLUMNS, 0.0);
 
-					for (int row = 0; row <= NUM_CHARS; row++) {
-						/*
-						 *  add an insertion edge from currentState in row to target state in same row
-						 */
+		// First row is cost of matching empty sequence on regex,
+		// init first starting state with 0 costs
+		matrix[0] = 0;
 
-						transitions.get(row).get(destination).add(new GraphTransition(1.0, row, currentState, GraphTransition.TransitionType.INSERTION));
+		//look at first row (which is special)
+		for (int col = 1; col < COLUMNS; col++) {
+			double min = Double.MAX_VALUE;
+			if (col == SINK) {
+				if (ROWS == 1) {
+					for (int accepting : regex.acceptingStates) {
+						min = Math.min(min, matrix[accepting]);
 					}
-
-					for (int row = 0; row < NUM_CHARS; row++) {
-						/*
-						 *  Add a replacement edge from currentState in row to t.getDest in row+1
-						 *  if charAt row+1 == the parameter of this transition, this is a zero-cost edge
-						 */
-
-						double cost = 0.0;
-
-						if (arg.charAt(row) < t.getMin() || arg.charAt(row) > t.getMax()) {					
-							int distMin = Math.abs(arg.charAt(row) - t.getMin());
-							int distMax = Math.abs(arg.charAt(row) - t.getMax());
-							cost = normalize(Math.min(distMin, distMax));
-						}
-
-						/*
-						 * Important: even if the cost is 0 (eg match on the arg/regex in which we replace char X with X), we CANNOT
-						 * use a PHANTOM transition. Even if we do not replace anything, we still need to consider it as a replacement 
-						 * transition. Consider the case
-						 * 
-						 *  "ac".matches("abc")
-						 *  
-						 *  If we used a phantom transition to represent the alignment c/c, then it would be possible to insert 'b' in the 
-						 *  middle of "abc". On the other hand, if we use a replacement c/c, then inserting 'b' would not be allowed, as an
-						 *  insertion cannot be followed by a replacement.  
-						 */
-
-						transitions.get(row + 1).get(destination).add(new GraphTransition(cost, row, currentState, GraphTransition.TransitionType.REPLACEMENT));
+				}
+			} else {
+				for (int k = regex.incomingStart[col]; k < regex.incomingStart[col + 1]; k++) {
+					int otherCol = regex.incomingFrom[k];
+					//self transition
+					if (col == otherCol) {
+						continue;
 					}
+					min = Math.min(min, getSubPathCost(matrix[otherCol], 1.0));
 				}
+			}
+			matrix[col] = min;
+		}
 
-				ensureState(transitions, currentState, NUM_CHARS);
-
-				for (int row = 0; row < NUM_CHARS; row++) {
-
-					/*
-					 * add a deletion edge with cost 1 from currentState to currentState in next row
-					 */
+		//then look at the other rows
+		for (int i = 1; i < ROWS; i++) {
+			final int row = i * COLUMNS;
+			final int previousRow = row - COLUMNS;
+			final char c = arg.charAt(i - 1);
 
-					transitions.get(row + 1).get(currentState).add(new GraphTransition(1.0, row, currentState,  GraphTransition.TransitionType.DELETION));
-				}			
+			for (int col = 0; col < SINK; col++) {
+				double min = Double.MAX_VALUE;
+				for (int k = regex.incomingStart[col]; k < regex.incomingStart[col + 1]; k++) {
+					int otherCol = regex.incomingFrom[k];
+					// insertion, a self transition cannot lower the cost
+					if (otherCol != col) {
+						min = Math.min(min, getSubPathCost(matrix[row + otherCol], 1.0));
+					}
+					// replacement
+					min = Math.min(min, getSubPathCost(matrix[previousRow + otherCol],
+							Math.ceil(regex.replacementCost(c, k))));
+				}
+				// deletion
+				min = Math.min(min, getSubPathCost(matrix[previousRow + col], 1.0));
+				matrix[row + col] = min;
 			}
 
-			// Add zero-cost transitions from accepting states to final state
-			State finalState = new State();
-			ensureState(transitions, finalState, NUM_CHARS);
-			for (State s : automaton.getStates()) {
-				if (s.isAccept()) {
-					transitions.get(NUM_CHARS).get(finalState).add(new GraphTransition(0, NUM_CHARS, s, GraphTransition.TransitionType.PHANTOM));
+			double min = Double.MAX_VALUE;
+			if (i == ROWS - 1) {
+				/*
+				 * artificial transition to final/sink state, so just take same values as previous state
+				 */
+				for (int accepting : regex.acceptingStates) {
+					min = Math.min(min, matrix[row + accepting]);
 				}
 			}
-			intToStateMap.put(numState, finalState); 
-			stateToIntMap.put(finalState, numState);	
-
-			return transitions;
+			matrix[row + SINK] = min;
 		}
+
+		double min = matrix[(ROWS - 1) * COLUMNS + SINK];
+		return (int) Math.round(min);
 	}
 
 	/**
-	 * Class used to calculate the cost, ie the actual distance, based on a RegexGraph.	
-	 * 
-	 * @author arcuri
+	 * Note: this is different from normal matching algorithms, as we enforce an order
+	 * among the operators: delete, replace and then insert. 
 	 */
-	private static class CostMatrix{
-		
-		private final int DEL = 0;
-		private final int REP = 1;
-		private final int INS = 2;
-		
-		public CostMatrix() {
-			super();			
-		}
-
-		public int calculateStandardCost(RegexGraph graph){
-			final int ROWS = graph.getNumberOfRows();
-			final int COLUMNS = graph.getNumberOfColumns();
-			
-			final double[][] matrix = new double[ROWS][COLUMNS]; 
-			
-			// First row is cost of matching empty sequence on regex
-			final int FIRST_ROW = 0;
-			
-			/*
-			 * init first starting state with 0 costs
-			 */
-			matrix[FIRST_ROW][0] = 0;
-			
-			//look at first row (which is special)
-			for (int col = 1; col < graph.getNumberOfColumns(); col++) {
+	private static double calculateCostForStringAVM(String arg, CompiledRegex regex) {
+		final int DEL = 0;
+		final int REP = 1;
+		final int INS = 2;
 
-				double min = Double.MAX_VALUE;
-				
-				for (GraphTransition t :  graph.getIncomingTransitions(FIRST_ROW, col)) {
+		final int ROWS = arg.length() + 1;
+		final int COLUMNS = regex.numStates + 1;
+		final int SINK = regex.numStates;
 
-					int otherCol = graph.getColumn(t.fromState);
+		/*
+		 * Each cell has 3 values, each representing the cost of three different types of path:
+		 * 
+		 * 0) only deletion
+		 * 1) deletions followed by replacement
+		 * 2) as above, and then followed by insertions
+		 */
+		final int CELL = 3;
+		final int ROW_SIZE = COLUMNS * CELL;
+		final double[] matrix = getCostBuffer(ROWS * ROW_SIZE);
+		Arrays.fill(matrix, 0, ROWS * ROW_SIZE, 0.0);
 
-					//self transition
-					if (col == otherCol){
-						continue;
+		/*
+		 * First row is cost of matching empty sequence on regex: there can be
+		 * only insertions, so the delete and replace paths cannot be followed
+		 */
+		matrix[DEL] = 0;
+		matrix[REP] = 0;
+		matrix[INS] = 0;
+		for (int col = 1; col < COLUMNS; col++) {
+			double min = Double.MAX_VALUE;
+			if (col == SINK) {
+				if (ROWS == 1) {
+					for (int accepting : regex.acceptingStates) {
+						min = Math.min(min, matrix[accepting * CELL + INS]);
 					}
-					
-					double otherCost = matrix[FIRST_ROW][otherCol];
-
-					min = Math.min(min, getSubPathCost(otherCost, Math.ceil(t.cost)));
 				}
-				
-				matrix[FIRST_ROW][col] = min;
-			}
-		
-			//then look at the other rows
-			for(int i=1; i<ROWS; i++){
-				
-				for (int col = 0; col < COLUMNS; col++) {
-					
-					matrix[i][col] = Double.MAX_VALUE;
-					
-					for (GraphTransition t : graph.getIncomingTransitions(i, col)) {
-						
-						int otherCol = graph.getColumn(t.fromState);
-						int otherRow = t.fromRow;
-						
-						if(! t.type.equals(GraphTransition.TransitionType.PHANTOM)){														
-							matrix[i][col] = Math.min(matrix[i][col], getSubPathCost(matrix[otherRow][otherCol],Math.ceil(t.cost)));							
-						} else {
-							/*
-							 * artificial transition to final/sink state, so just take same values as previous state
-							 */
-							matrix[i][col] = Math.min(matrix[i][col], matrix[otherRow][otherCol]);
-							
-						}
+			} else {
+				for (int k = regex.incomingStart[col]; k < regex.incomingStart[col + 1]; k++) {
+					int otherCol = regex.incomingFrom[k];
+					//self transition
+					if (col == otherCol) {
+						continue;
 					}
+					min = Math.min(min, getSubPathCost(matrix[otherCol * CELL + INS], 1.0));
 				}
 			}
-			
-			double min = matrix[ROWS-1][COLUMNS-1];			
-			return (int)Math.round(min);
+			matrix[col * CELL + DEL] = Double.MAX_VALUE;
+			matrix[col * CELL + REP] = Double.MAX_VALUE;
+			matrix[col * CELL + INS] = min;
 		}
-		
-		/**
-		 * Note: this is different from normal matching algorithms, as we enforce an order
-		 * among the operators: delete, replace and then insert. 
-		 * @param graph
-		 * @return
-		 */
-		public double calculateCostForStringAVM(RegexGraph graph){
-			
-			final int ROWS = graph.getNumberOfRows();
-			final int COLUMNS = graph.getNumberOfColumns();
-			
-			/*
-			 * we create a matrix based on each row and each column in the graph.
-			 * Each cell has 3 values, each representing the cost of thre different types of path:
-			 * 
-			 * 0) only deletion
-			 * 1) deletions followed by replacement
-			 * 2) as above, and then followed by insertions
-			 */
-			final double[][][] matrix = new double[ROWS][COLUMNS][3]; 
-			
-			calculateInsertionCostOnFirstRow(graph, matrix);
-			
-			for(int i=1; i<ROWS; i++){
-				
-				for (int col = 0; col < COLUMNS; col++) {
-					
+
+		for (int i = 1; i < ROWS; i++) {
+			final int row = i * ROW_SIZE;
+			final int previousRow = row - ROW_SIZE;
+			final char c = arg.charAt(i - 1);
+
+			for (int col = 0; col < SINK; col++) {
+				/*
+				 * unless a path is explicitly updated, it will have maximum distance by default
+				 */
+				double del = Double.MAX_VALUE;
+				double rep = Double.MAX_VALUE;
+				double ins = Double.MAX_VALUE;
+
+				for (int k = regex.incomingStart[col]; k < regex.incomingStart[col + 1]; k++) {
+					int other = row + regex.incomingFrom[k] * CELL;
 					/*
-					 * unless a path is explicitly updated, it will have maximum distance by default
+					 * if we have an insertion, only the insertion path can be continued.
+					 * An insertion can continue any type of path. A self transition
+					 * cannot lower the cost.
 					 */
-					matrix[i][col][DEL] = Double.MAX_VALUE;
-					matrix[i][col][REP] = Double.MAX_VALUE;
-					matrix[i][col][INS] = Double.MAX_VALUE;
-					
-					for (GraphTransition t : graph.getIncomingTransitions(i, col)) {
-						
-						int otherCol = graph.getColumn(t.fromState);
-						int otherRow = t.fromRow;
-						
-						if(t.type.equals(GraphTransition.TransitionType.INSERTION)){							
-							assert otherRow == i;			
-							/*
-							 * if we have an insertion, only the insertion path can be continued.
-							 * that's the reason why on the left side we only update for [INS].
-							 * An insertion can continue any type of path (and so all types are present on the right side). 
-							 */
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][REP],t.cost));
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][INS],t.cost));
-						} else if(t.type.equals(GraphTransition.TransitionType.REPLACEMENT)){
-							/*
-							 * if we have a replacement, then we cannot continue a delete path.
-							 * So, no [DEL] on the left side.
-							 * A replacement can continue a delete or replace path, but not an insertion one (and so [DEL] and
-							 * [REP] on right side)
-							 */
-							matrix[i][col][REP] = Math.min(matrix[i][col][REP], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][REP] = Math.min(matrix[i][col][REP], getSubPathCost(matrix[otherRow][otherCol][REP],t.cost));
-							/*
-							 * from this state on, an insertion path can be followed, with same cost (ie right side) as replacement path
-							 */
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][REP],t.cost));
-						} else if(t.type.equals(GraphTransition.TransitionType.DELETION)){
-							/*
-							 * deletion can only follow a deletion path (so only [DEL] or right side). 
-							 * but, from this state on, any new path can be followed (so all on left side)
-							 */
-							matrix[i][col][DEL] = Math.min(matrix[i][col][DEL], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][REP] = Math.min(matrix[i][col][REP], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-						} else if(t.type.equals(GraphTransition.TransitionType.PHANTOM)){
-							assert t.cost == 0;							
-							/*
-							 * artificial transition to final/sink state, so just take same values as previous state
-							 */
-							matrix[i][col][DEL] = Math.min(matrix[i][col][DEL], matrix[otherRow][otherCol][DEL]);
-							matrix[i][col][REP] = Math.min(matrix[i][col][REP], matrix[otherRow][otherCol][REP]);
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], matrix[otherRow][otherCol][INS]);
-						}
+					if (other != row + col * CELL) {
+						ins = Math.min(ins, getSubPathCost(matrix[other + DEL], 1.0));
+						ins = Math.min(ins, getSubPathCost(matrix[other + REP], 1.0));
+						ins = Math.min(ins, getSubPathCost(matrix[other + INS], 1.0));
 					}
+
+					/*
+					 * if we have a replacement, then we cannot continue a delete path.
+					 * A replacement can continue a delete or replace path, but not an insertion one.
+					 * From this state on, an insertion path can be followed, with same cost as replacement path
+					 */
+					other = previousRow + regex.incomingFrom[k] * CELL;
+					double cost = regex.replacementCost(c, k);
+					double fromDel = getSubPathCost(matrix[other + DEL], cost);
+					double fromRep = getSubPathCost(matrix[other + REP], cost);
+					rep = Math.min(rep, Math.min(fromDel, fromRep));
+					ins = Math.min(ins, Math.min(fromDel, fromRep));
 				}
-				
+
 				/*
-				 * TODO: The algorithm of Myers's paper, at page 12, makes a distinction between D and E transitions.
-				 * Insertions of type E are done last. Not fully clear if it has an effect here: ie, recall that
-				 * here we do minimization (calculate distance) and not maximization (similarity)  
+				 * deletion can only follow a deletion path.
+				 * but, from this state on, any new path can be followed
 				 */
+				double fromDel = getSubPathCost(matrix[previousRow + col * CELL + DEL], 1.0);
+				del = Math.min(del, fromDel);
+				rep = Math.min(rep, fromDel);
+				ins = Math.min(ins, fromDel);
+
+				matrix[row + col * CELL + DEL] = del;
+				matrix[row + col * CELL + REP] = rep;
+				matrix[row + col * CELL + INS] = ins;
 			}
-			
-			/*
-			 * get the minimum among the 3 different paths in the sink state
-			 */
-			double min = Double.MAX_VALUE;
-			for(double value : matrix[ROWS-1][COLUMNS-1]){
-				if(value < min){
-					min = value;
-				}
-			}
-			
-			return min;
-		}
 
-		/**
-		 * We cannot just do previousStateCost + transitionCost, as there might be computational overflows
-		 * 
-		 * @param previousStateCost
-		 * @param transitionCost
-		 * @return
-		 * @throws IllegalArgumentException
-		 */
-		private double getSubPathCost(double previousStateCost, double transitionCost) throws IllegalArgumentException{
-			if(previousStateCost<0){
-				throw new IllegalArgumentException("previousStateCost cannot be negative: "+previousStateCost);
-			}
-			if(transitionCost<0){
-				throw new IllegalArgumentException("transitionCost cannot be negative: "+transitionCost);
-			}
-			
-			if(previousStateCost == Double.MAX_VALUE || transitionCost == Double.MAX_VALUE){
-				return Double.MAX_VALUE;
-			}
-			
-			double sum =  previousStateCost + transitionCost;
-			
-			if(sum<previousStateCost || sum<transitionCost){
+			double del = Double.MAX_VALUE;
+			double rep = Double.MAX_VALUE;
+			double ins = Double.MAX_VALUE;
+			if (i == ROWS - 1) {
 				/*
-				 * likely overflow
+				 * artificial transition to final/sink state, so just take same values as previous state
 				 */
-				return Double.MAX_VALUE;
+				for (int accepting : regex.acceptingStates) {
+					del = Math.min(del, matrix[row + accepting * CELL + DEL]);
+					rep = Math.min(rep, matrix[row + accepting * CELL + REP]);
+					ins = Math.min(ins, matrix[row + accepting * CELL + INS]);
+				}
 			}
-			
-			return sum;
+			matrix[row + SINK * CELL + DEL] = del;
+			matrix[row + SINK * CELL + REP] = rep;
+			matrix[row + SINK * CELL + INS] = ins;
 		}
-		
-		/**
-		 * First row is special, ie very different from the others
-		 * 
-		 * @param graph
-		 * @param matrix
-		 */
-		private void calculateInsertionCostOnFirstRow(RegexGraph graph, final double[][][] matrix) {
-			
-			// First row is cost of matching empty sequence on regex
-			final int FIRST_ROW = 0;
-			
-			/*
-			 * init first starting state with 0 costs
-			 */
-			matrix[FIRST_ROW][0][0] = 0;
-			matrix[FIRST_ROW][0][1] = 0;
-			matrix[FIRST_ROW][0][2] = 0;
-			
-			for (int col = 1; col < graph.getNumberOfColumns(); col++) {
-
-				double min = Double.MAX_VALUE;
-				
-				for (GraphTransition t :  graph.getIncomingTransitions(FIRST_ROW, col)) {
-					
-					/*
-					 * on first row, there can be only insertions coming from the same row,
-					 * apart from last node that can have a phantom transition to sink state
-					 */
-					assert t.type.equals(GraphTransition.TransitionType.INSERTION) ||
-						t.type.equals(GraphTransition.TransitionType.PHANTOM);
-					assert t.fromRow == 0;
-					
-					int otherCol = graph.getColumn(t.fromState);
-
-					//self transition
-					if (col == otherCol){
-						continue;
-					}
-					
-					double otherCost = matrix[FIRST_ROW][otherCol][2];
 
-					min = Math.min(min, getSubPathCost(otherCost, t.cost));
-				}
-				
-				/*
-				 * as there can be only insertions, the delete and replace paths cannot be followed, and 
-				 * so maximum distance
-				 */
-				matrix[FIRST_ROW][col][0] = Double.MAX_VALUE;
-				matrix[FIRST_ROW][col][1] = Double.MAX_VALUE;				
-				matrix[FIRST_ROW][col][2] = min;
-			}
-		}		
+		/*
+		 * get the minimum among the 3 different paths in the sink state
+		 */
+		int sink = (ROWS - 1) * ROW_SIZE + SINK * CELL;
+		return Math.min(matrix[sink + DEL], Math.min(matrix[sink + REP], matrix[sink + INS]));
 	}
 }
@@ -171,6 +171,10 @@ public class GenericClass implements Serializable {
 		if (rhsType == null || lhsType == null)
 			return false;
 
+		return GenericTypeCache.isAssignable(lhsType, rhsType, GenericClass::computeAssignable);
+	}
+
+	private static boolean computeAssignable(Type lhsType, Type rhsType) {
 		try {
 			if(lhsType instanceof TypeVariable) {
 				TypeVariable tVar = (TypeVariable)lhsType;
@@ -919,6 +923,11 @@ public class GenericClass implements Serializable {
 	public Map<TypeVariable<?>, Type> getTypeVariableMap() {
 		if(typeVariableMap != null)
 			return typeVariableMap;
+		typeVariableMap = GenericTypeCache.getTypeVariableMap(type, rawClass, this::computeTypeVariableMap);
+		return typeVariableMap;
+	}
+
+	private Map<TypeVariable<?>, Type> computeTypeVariableMap() {
 		//logger.debug("Getting type variable map for " + type);
 		List<TypeVariable<?>> typeVariables = getTypeVariables();
 		List<Type> types = getParameterTypes();
@@ -958,7 +967,6 @@ public class GenericClass implements Serializable {
 		}
 
 		//logger.debug("Type map: " + typeMap);
-		typeVariableMap = typeMap;
 		return typeMap;
 	}
 
@@ -1174,7 +1182,7 @@ public class GenericClass implements Serializable {
 	 * @return
 	 */
 	public boolean hasGenericSuperType(GenericClass superType) {
-		return GenericTypeReflector.isSuperType(superType.getType(), type);
+		return GenericTypeCache.isSuperType(superType.getType(), type, GenericTypeReflector::isSuperType);
 	}
 
 	/**
@@ -1184,7 +1192,7 @@ public class GenericClass implements Serializable {
 	 * @return
 	 */
 	public boolean hasGenericSuperType(Type superType) {
-		return GenericTypeReflector.isSuperType(superType, type);
+		return GenericTypeCache.isSuperType(superType, type, GenericTypeReflector::isSuperType);
 	}
 
 	/* (non-Javadoc)
@@ -1387,7 +1395,7 @@ public class GenericClass implements Serializable {
 	 * @return
 	 */
 	public boolean isGenericSuperTypeOf(GenericClass subType) {
-		return GenericTypeReflector.isSuperType(type, subType.getType());
+		return GenericTypeCache.isSuperType(type, subType.getType(), GenericTypeReflector::isSuperType);
 	}
 
 	/**
@@ -1397,7 +1405,7 @@ public class GenericClass implements Serializable {
 	 * @return
 	 */
 	public boolean isGenericSuperTypeOf(Type subType) {
-		return GenericTypeReflector.isSuperType(type, subType);
+		return GenericTypeCache.isSuperType(type, subType, GenericTypeReflector::isSuperType);
 	}
 
 	/**
@@ -0,0 +1,143 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils.generic;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Memo tables for relations between types that are otherwise recomputed
+ * through reflection each time they are queried, e.g. the assignability of
+ * the same pairs of types during test insertion and mutation.
+ * 
+ * <p>
+ * Only relations that are fully determined by the types are stored here, and
+ * types are compared structurally, so that different {@link GenericClass}
+ * instances of the same type share the results. The tables are bounded and
+ * simply cleared once they are full, and on each context reset, as they keep
+ * the classes of the SUT reachable.
+ */
+public class GenericTypeCache {
+
+	private static final int MAX_ENTRIES = 50_000;
+
+	private static final Map<TypePair, Boolean> assignable = new ConcurrentHashMap<>();
+
+	private static final Map<TypePair, Boolean> superTypes = new ConcurrentHashMap<>();
+
+	private static final Map<TypePair, Map<TypeVariable<?>, Type>> typeVariableMaps = new ConcurrentHashMap<>();
+
+	private GenericTypeCache() {
+	}
+
+	/**
+	 * @return whether a value of rhsType can be assigned to lhsType, as
+	 *         determined by the given relation
+	 */
+	public static boolean isAssignable(Type lhsType, Type rhsType, BiPredicate<Type, Type> relation) {
+		return lookup(assignable, lhsType, rhsType, relation);
+	}
+
+	/**
+	 * @return whether superType is a generic super type of subType, as
+	 *         determined by the given relation
+	 */
+	public static boolean isSuperType(Type superType, Type subType, BiPredicate<Type, Type> relation) {
+		return lookup(superTypes, superType, subType, relation);
+	}
+
+	/**
+	 * Type variable map of the given type. The returned map is a copy that
+	 * the caller is free to modify
+	 */
+	public static Map<TypeVariable<?>, Type> getTypeVariableMap(Type type, Class<?> rawClass,
+			Supplier<Map<TypeVariable<?>, Type>> computation) {
+		TypePair key = new TypePair(type, rawClass);
+		Map<TypeVariable<?>, Type> typeMap = typeVariableMaps.get(key);
+		if (typeMap == null) {
+			// Not computeIfAbsent, as the computation recurses into super types
+			typeMap = Collections.unmodifiableMap(new LinkedHashMap<>(computation.get()));
+			store(typeVariableMaps, key, typeMap);
+		}
+		return new LinkedHashMap<>(typeMap);
+	}
+
+	public static void clear() {
+		assignable.clear();
+		superTypes.clear();
+		typeVariableMaps.clear();
+	}
+
+	private static boolean lookup(Map<TypePair, Boolean> table, Type first, Type second,
+			BiPredicate<Type, Type> relation) {
+		TypePair key = new TypePair(first, second);
+		Boolean result = table.get(key);
+		if (result == null) {
+			result = relation.test(first, second);
+			store(table, key, result);
+		}
+		return result;
+	}
+
+	private static <V> void store(Map<TypePair, V> table, TypePair key, V value) {
+		if (table.size() >= MAX_ENTRIES) {
+			table.clear();
+		}
+		table.put(key, value);
+	}
+
+	private static final class TypePair {
+
+		private final Object first;
+
+		private final Object second;
+
+		private final int hashCode;
+
+		TypePair(Object first, Object second) {
+			this.first = first;
+			this.second = second;
+			this.hashCode = 31 * Objects.hashCode(first) + Objects.hashCode(second);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof TypePair))
+				return false;
+			TypePair other = (TypePair) obj;
+			return hashCode == other.hashCode && Objects.equals(first, other.first)
+					&& Objects.equals(second, other.second);
+		}
+	}
+}
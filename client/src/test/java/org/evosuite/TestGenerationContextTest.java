@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+
+import java.util.HashMap;
+import java.util.Set;
+
+import org.evosuite.classpath.ResourceList;
+import org.evosuite.coverage.branch.BranchPool;
+import org.evosuite.graphs.cfg.CFGMethodAdapter;
+import org.junit.After;
+import org.junit.Test;
+
+public class TestGenerationContextTest {
+
+	@After
+	public void tearDown() {
+		TestGenerationContext.getInstance().resetContext();
+	}
+
+	@Test
+	public void testResetReleasesOldClassLoader() {
+		ClassLoader oldLoader = TestGenerationContext.getInstance().getClassLoaderForSUT();
+		BranchPool branchPool = BranchPool.getInstance(oldLoader);
+		ResourceList resourceList = ResourceList.getInstance(oldLoader);
+		CFGMethodAdapter.methods.put(oldLoader, new HashMap<String, Set<String>>());
+
+		TestGenerationContext.getInstance().resetContext();
+
+		ClassLoader newLoader = TestGenerationContext.getInstance().getClassLoaderForSUT();
+		assertNotSame(oldLoader, newLoader);
+		assertFalse(CFGMethodAdapter.methods.containsKey(oldLoader));
+		assertNotSame(branchPool, BranchPool.getInstance(oldLoader));
+		assertNotSame(resourceList, ResourceList.getInstance(oldLoader));
+		BranchPool.release(oldLoader);
+		ResourceList.release(oldLoader);
+	}
+}
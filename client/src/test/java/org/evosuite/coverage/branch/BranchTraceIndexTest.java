@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+
+import org.evosuite.coverage.ControlFlowDistance;
+import org.evosuite.graphs.cfg.CFGTestUtil;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTrace;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.evosuite.testcase.execution.MethodCall;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BranchTraceIndexTest {
+
+	public static class Sample {
+		public static int check(int x, int y) {
+			if (x > 0) {
+				if (y > 0)
+					return 1;
+				return 2;
+			}
+			return 3;
+		}
+	}
+
+	private static final String METHOD_NAME = "check(II)I";
+
+	private static final double DELTA = 0.0;
+
+	private static final ClassLoader classLoader = new ClassLoader() {
+	};
+
+	private static String className;
+
+	/** The branch of x > 0 */
+	private static Branch outer;
+
+	/** The branch of y > 0, control dependent on outer not jumping */
+	private static Branch inner;
+
+	private boolean traceCalls;
+
+	@BeforeClass
+	public static void registerSample() throws Exception {
+		className = CFGTestUtil.registerClass(classLoader, Sample.class);
+		List<Branch> branches = BranchPool.getInstance(classLoader).getBranchesForMethod(className, METHOD_NAME);
+		assertEquals(2, branches.size());
+		outer = branches.get(0);
+		inner = branches.get(1);
+	}
+
+	@AfterClass
+	public static void releasePools() {
+		CFGTestUtil.release(classLoader);
+	}
+
+	@Before
+	public void enableCallTracing() {
+		traceCalls = ExecutionTraceImpl.traceCalls;
+		ExecutionTraceImpl.traceCalls = true;
+	}
+
+	@After
+	public void restoreCallTracing() {
+		ExecutionTraceImpl.traceCalls = traceCalls;
+	}
+
+	private static void call(ExecutionTrace trace, double[]... distances) {
+		trace.enteredMethod(className, METHOD_NAME, null, -1);
+		for (double[] d : distances) {
+			Branch branch = d[0] == 0 ? outer : inner;
+			trace.branchPassed(branch.getActualBranchId(), branch.getInstruction().getInstructionId(), d[1], d[2]);
+		}
+		trace.exitMethod(className, METHOD_NAME);
+	}
+
+	private static ExecutionResult getResult(ExecutionTrace trace) {
+		ExecutionResult result = new ExecutionResult(new DefaultTestCase());
+		result.setTrace(trace);
+		return result;
+	}
+
+	private static void assertDistance(ExecutionResult result, Branch branch, boolean value,
+	        int approachLevel, double branchDistance) {
+		ControlFlowDistance d = ControlFlowDistanceCalculator.getDistance(result, branch, value, className,
+		                                                                  METHOD_NAME);
+		assertEquals(approachLevel, d.getApproachLevel());
+		assertEquals(branchDistance, d.getBranchDistance(), DELTA);
+	}
+
+	/**
+	 * The index has to give the same distances as scanning the branch trace
+	 * of each call
+	 */
+	private static void assertIndexMatchesTrace(ExecutionTrace trace) {
+		BranchTraceIndex index = new BranchTraceIndex(trace);
+		List<BranchTraceIndex.CallIndex> calls = index.getCalls(className, METHOD_NAME);
+		assertEquals(trace.getMethodCalls().size(), calls.size());
+		for (int i = 0; i < calls.size(); i++) {
+			MethodCall call = trace.getMethodCalls().get(i);
+			for (Branch branch : new Branch[] { outer, inner }) {
+				for (boolean value : new boolean[] { true, false }) {
+					Double expected = null;
+					for (int pos = 0; pos < call.branchTrace.size(); pos++) {
+						if (call.branchTrace.get(pos) != branch.getActualBranchId())
+							continue;
+						double d = value ? call.trueDistanceTrace.get(pos) : call.falseDistanceTrace.get(pos);
+						expected = expected == null ? d : Math.min(expected, d);
+					}
+					Double actual = calls.get(i).getDistance(branch.getActualBranchId(), value);
+					if (expected == null)
+						assertNull(actual);
+					else
+						assertEquals(expected, actual, DELTA);
+				}
+			}
+		}
+		assertEquals(trace.getCoveredTrueBranches(), index.getCoveredTrueBranches());
+		assertEquals(trace.getCoveredFalseBranches(), index.getCoveredFalseBranches());
+	}
+
+	@Test
+	public void testUntracedBranchUsesControlDependency() {
+		ExecutionTrace trace = new ExecutionTraceImpl();
+		call(trace, new double[] { 0, 0.0, 4.0 });
+		assertIndexMatchesTrace(trace);
+
+		ExecutionResult result = getResult(trace);
+		assertDistance(result, outer, true, 0, 0.0);
+		assertDistance(result, outer, false, 0, 4.0);
+		assertDistance(result, inner, true, 1, 4.0);
+		assertDistance(result, inner, false, 1, 4.0);
+	}
+
+	@Test
+	public void testMinimumOverCalls() {
+		ExecutionTrace trace = new ExecutionTraceImpl();
+		call(trace, new double[] { 0, 0.0, 4.0 });
+		call(trace, new double[] { 0, 2.0, 0.0 }, new double[] { 1, 0.0, 2.0 });
+		assertIndexMatchesTrace(trace);
+
+		ExecutionResult result = getResult(trace);
+		assertDistance(result, outer, true, 0, 0.0);
+		assertDistance(result, outer, false, 0, 0.0);
+		assertDistance(result, inner, true, 0, 0.0);
+		assertDistance(result, inner, false, 0, 2.0);
+	}
+
+	@Test
+	public void testRepeatedBranchInOneCall() {
+		ExecutionTrace trace = new ExecutionTraceImpl();
+		call(trace, new double[] { 0, 2.0, 0.0 }, new double[] { 1, 5.0, 0.0 }, new double[] { 1, 3.0, 0.0 });
+		assertIndexMatchesTrace(trace);
+
+		ExecutionResult result = getResult(trace);
+		assertDistance(result, inner, true, 0, 3.0);
+		assertDistance(result, inner, false, 0, 0.0);
+		assertDistance(result, outer, true, 0, 2.0);
+	}
+
+	@Test
+	public void testMethodNotCalled() {
+		ExecutionTrace trace = new ExecutionTraceImpl();
+		assertIndexMatchesTrace(trace);
+
+		int diameter = inner.getInstruction().getCDG().getDependenceTable().getDiameter();
+		ExecutionResult result = getResult(trace);
+		assertDistance(result, inner, true, diameter + 1, 0.0);
+		assertDistance(result, outer, false, diameter + 1, 0.0);
+	}
+}
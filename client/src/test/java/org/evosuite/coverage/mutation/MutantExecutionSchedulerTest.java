@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.mutation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.evosuite.Properties;
+import org.evosuite.graphs.cfg.BytecodeInstruction;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.junit.After;
+import org.junit.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+
+public class MutantExecutionSchedulerTest {
+
+	private static final boolean DEFAULT_SKIP_UNINFECTED_MUTANTS = Properties.SKIP_UNINFECTED_MUTANTS;
+
+	@After
+	public void resetProperties() {
+		Properties.SKIP_UNINFECTED_MUTANTS = DEFAULT_SKIP_UNINFECTED_MUTANTS;
+	}
+
+	/**
+	 * Trace that reports the touched mutants in the order they were passed
+	 */
+	private static class OrderedTrace extends ExecutionTraceImpl {
+
+		private final Set<Integer> touched = new LinkedHashSet<Integer>();
+
+		@Override
+		public void mutationPassed(int mutationId, double distance) {
+			super.mutationPassed(mutationId, distance);
+			touched.add(mutationId);
+		}
+
+		@Override
+		public Set<Integer> getTouchedMutants() {
+			return touched;
+		}
+	}
+
+	private static Map<Integer, Mutation> createMutants(int... ids) {
+		Map<Integer, Mutation> mutants = new LinkedHashMap<Integer, Mutation>();
+		for (int id : ids) {
+			BytecodeInstruction original = new BytecodeInstruction(
+			        MutantExecutionSchedulerTest.class.getClassLoader(), "Foo", "bar()V", id, 0,
+			        new InsnNode(Opcodes.NOP), 1);
+			mutants.put(id, new Mutation("Foo", "bar()V", "Mutant " + id, id, original, new InsnList(),
+			        new InsnList()));
+		}
+		return mutants;
+	}
+
+	private static List<Integer> ids(List<Mutation> mutations) {
+		Integer[] ids = new Integer[mutations.size()];
+		for (int i = 0; i < ids.length; i++)
+			ids[i] = mutations.get(i).getId();
+		return Arrays.asList(ids);
+	}
+
+	@Test
+	public void testMutantsAreScheduledInTraceOrder() {
+		Properties.SKIP_UNINFECTED_MUTANTS = true;
+		Map<Integer, Mutation> mutants = createMutants(1, 2, 3);
+		OrderedTrace trace = new OrderedTrace();
+		trace.mutationPassed(3, 0.0);
+		trace.mutationPassed(1, 0.0);
+		trace.mutationPassed(2, 0.0);
+
+		List<Mutation> scheduled = MutantExecutionScheduler.getMutantsToExecute(trace, mutants);
+		assertEquals(Arrays.asList(3, 1, 2), ids(scheduled));
+	}
+
+	@Test
+	public void testUnknownMutantsAreIgnored() {
+		Map<Integer, Mutation> mutants = createMutants(1);
+		OrderedTrace trace = new OrderedTrace();
+		trace.mutationPassed(7, 0.0);
+		trace.mutationPassed(1, 0.0);
+
+		List<Mutation> scheduled = MutantExecutionScheduler.getMutantsToExecute(trace, mutants);
+		assertEquals(Arrays.asList(1), ids(scheduled));
+	}
+
+	@Test
+	public void testUntouchedMutantsAreNotScheduled() {
+		Map<Integer, Mutation> mutants = createMutants(1, 2);
+		OrderedTrace trace = new OrderedTrace();
+
+		assertTrue(MutantExecutionScheduler.getMutantsToExecute(trace, mutants).isEmpty());
+	}
+
+	@Test
+	public void testUninfectedMutantsAreSkipped() {
+		Properties.SKIP_UNINFECTED_MUTANTS = true;
+		Map<Integer, Mutation> mutants = createMutants(1, 2, 3);
+		OrderedTrace trace = new OrderedTrace();
+		trace.mutationPassed(1, 0.5);
+		trace.mutationPassed(2, 0.0);
+		trace.mutationPassed(3, 2.0);
+		// The minimum distance counts, so a later infection makes the mutant relevant
+		trace.mutationPassed(3, 0.0);
+
+		List<Mutation> scheduled = MutantExecutionScheduler.getMutantsToExecute(trace, mutants);
+		assertEquals(Arrays.asList(2, 3), ids(scheduled));
+	}
+
+	@Test
+	public void testMutantsWithoutDistanceAreScheduled() {
+		Properties.SKIP_UNINFECTED_MUTANTS = true;
+		Map<Integer, Mutation> mutants = createMutants(1);
+		OrderedTrace trace = new OrderedTrace();
+		trace.mutationPassed(1, 0.5);
+		trace.getMutationDistances().remove(1);
+
+		List<Mutation> scheduled = MutantExecutionScheduler.getMutantsToExecute(trace, mutants);
+		assertEquals(Arrays.asList(1), ids(scheduled));
+	}
+
+	@Test
+	public void testUninfectedMutantsAreScheduledWhenSkippingIsDisabled() {
+		Properties.SKIP_UNINFECTED_MUTANTS = false;
+		Map<Integer, Mutation> mutants = createMutants(1, 2);
+		OrderedTrace trace = new OrderedTrace();
+		trace.mutationPassed(1, 0.5);
+		trace.mutationPassed(2, 0.0);
+
+		List<Mutation> scheduled = MutantExecutionScheduler.getMutantsToExecute(trace, mutants);
+		assertEquals(Arrays.asList(1, 2), ids(scheduled));
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.graphs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.alg.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.Test;
+
+public class ReachabilityIndexTest {
+
+	/**
+	 * 0 -> 1 -> 2 -> 3 -> 1 (cycle), 0 -> 4 -> 3, 3 -> 5, 6 -> 0, 7 isolated,
+	 * 5 -> 5 (self loop)
+	 */
+	private static DirectedGraph<Integer, DefaultEdge> createGraph() {
+		DirectedGraph<Integer, DefaultEdge> graph = new DefaultDirectedGraph<Integer, DefaultEdge>(
+		        DefaultEdge.class);
+		for (int i = 0; i < 8; i++)
+			graph.addVertex(i);
+		int[][] edges = { { 0, 1 }, { 1, 2 }, { 2, 3 }, { 3, 1 }, { 0, 4 }, { 4, 3 }, { 3, 5 },
+		        { 6, 0 }, { 5, 5 } };
+		for (int[] e : edges)
+			graph.addEdge(e[0], e[1]);
+		return graph;
+	}
+
+	/**
+	 * The distance EvoSuiteGraph.getDistance used to compute, with -1 for
+	 * unreachable vertices
+	 */
+	private static int getDijkstraDistance(DirectedGraph<Integer, DefaultEdge> graph, int v1, int v2) {
+		return (int) Math.round(new DijkstraShortestPath<Integer, DefaultEdge>(graph, v1, v2).getPathLength());
+	}
+
+	private static void checkAgainstDijkstra(DirectedGraph<Integer, DefaultEdge> graph,
+	        ReachabilityIndex<Integer> index) {
+		for (Integer v1 : graph.vertexSet()) {
+			for (Integer v2 : graph.vertexSet()) {
+				int expected = getDijkstraDistance(graph, v1, v2);
+				assertEquals(v1 + " -> " + v2, expected, index.getDistance(v1, v2));
+
+				List<Integer> path = index.getShortestPath(v1, v2);
+				if (expected == ReachabilityIndex.UNREACHABLE) {
+					assertNull(path);
+					continue;
+				}
+				assertNotNull(path);
+				assertEquals(expected + 1, path.size());
+				assertEquals(v1, path.get(0));
+				assertEquals(v2, path.get(path.size() - 1));
+				for (int i = 1; i < path.size(); i++)
+					assertTrue(graph.containsEdge(path.get(i - 1), path.get(i)));
+			}
+		}
+	}
+
+	@Test
+	public void testDistancesMatchDijkstra() {
+		DirectedGraph<Integer, DefaultEdge> graph = createGraph();
+		checkAgainstDijkstra(graph, new ReachabilityIndex<Integer>(graph));
+	}
+
+	@Test
+	public void testEvictedSearchesAreRecomputed() {
+		DirectedGraph<Integer, DefaultEdge> graph = createGraph();
+		ReachabilityIndex<Integer> index = new ReachabilityIndex<Integer>(graph, 2);
+		checkAgainstDijkstra(graph, index);
+		// second round, with every source evicted and searched again
+		checkAgainstDijkstra(graph, index);
+	}
+
+	@Test
+	public void testUnreachable() {
+		DirectedGraph<Integer, DefaultEdge> graph = createGraph();
+		ReachabilityIndex<Integer> index = new ReachabilityIndex<Integer>(graph);
+		assertEquals(ReachabilityIndex.UNREACHABLE, index.getDistance(0, 6));
+		assertEquals(ReachabilityIndex.UNREACHABLE, index.getDistance(7, 0));
+		assertEquals(0, index.getDistance(7, 7));
+		assertEquals(3, index.getDistance(6, 3));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownVertex() {
+		DirectedGraph<Integer, DefaultEdge> graph = createGraph();
+		new ReachabilityIndex<Integer>(graph).getDistance(0, 42);
+	}
+}
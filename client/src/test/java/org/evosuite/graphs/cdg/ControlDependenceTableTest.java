@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.graphs.cdg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.evosuite.coverage.branch.Branch;
+import org.evosuite.coverage.branch.BranchPool;
+import org.evosuite.graphs.GraphPool;
+import org.evosuite.graphs.cfg.BasicBlock;
+import org.evosuite.graphs.cfg.CFGTestUtil;
+import org.evosuite.graphs.cfg.ControlDependency;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ControlDependenceTableTest {
+
+	public static class Sample {
+		public static int nested(int x, int y) {
+			if (x > 0) {
+				if (y > 0)
+					return 1;
+				return 2;
+			}
+			return 3;
+		}
+
+		public static int loop(int n) {
+			int sum = 0;
+			for (int i = 0; i < n; i++) {
+				if (i % 2 == 0)
+					sum += i;
+				else if (i % 3 == 0)
+					sum -= i;
+			}
+			return sum;
+		}
+
+		public static int sequence(int x, int y) {
+			int r = 0;
+			if (x > 0)
+				r++;
+			if (y > 0 && x < y)
+				r++;
+			return r;
+		}
+	}
+
+	private static final ClassLoader classLoader = new ClassLoader() {
+	};
+
+	private static String className;
+
+	@BeforeClass
+	public static void registerSample() throws Exception {
+		className = CFGTestUtil.registerClass(classLoader, Sample.class);
+	}
+
+	@AfterClass
+	public static void releasePools() {
+		CFGTestUtil.release(classLoader);
+	}
+
+	/**
+	 * @return the dependencies of the given branch as reported by the CDG,
+	 *         encoded as branch id and outcome
+	 */
+	private static Set<String> getExpectedDependencies(Branch branch) {
+		Set<String> expected = new HashSet<String>();
+		for (ControlDependency cd : branch.getInstruction().getControlDependencies()) {
+			if (cd.getBranch().getInstruction().equals(branch.getInstruction()))
+				continue;
+			expected.add(cd.getBranch().getActualBranchId() + ":" + cd.getBranchExpressionValue());
+		}
+		return expected;
+	}
+
+	private static Set<String> decode(ControlDependenceTable table, int[] dependencies) {
+		Set<String> actual = new HashSet<String>();
+		for (int dependency : dependencies) {
+			int index = ControlDependenceTable.getIndex(dependency);
+			actual.add(table.getBranchId(index) + ":" + ControlDependenceTable.getValue(dependency));
+		}
+		assertEquals("duplicate dependencies", dependencies.length, actual.size());
+		return actual;
+	}
+
+	private static void checkMethod(String methodName, int numBranches) {
+		GraphPool graphPool = GraphPool.getInstance(classLoader);
+		ControlDependenceGraph cdg = graphPool.getCDG(className, methodName);
+		ControlDependenceTable table = cdg.getDependenceTable();
+
+		assertEquals(graphPool.getActualCFG(className, methodName).getDiameter(), table.getDiameter());
+
+		List<Branch> branches = BranchPool.getInstance(classLoader).getBranchesForMethod(className, methodName);
+		assertEquals(numBranches, branches.size());
+		for (Branch branch : branches) {
+			assertEquals(branch.toString(), getExpectedDependencies(branch),
+			             decode(table, table.getDependencies(branch)));
+			int index = table.indexOf(branch);
+			if (index >= 0) {
+				assertEquals(branch.getActualBranchId(), table.getBranchId(index));
+				assertEquals(branch.toString(), getExpectedDependencies(branch),
+				             decode(table, table.getDependencies(index)));
+			}
+		}
+
+		// every branch a block depends on has a local index
+		Set<Integer> dependedOn = new HashSet<Integer>();
+		for (BasicBlock block : cdg.vertexSet()) {
+			for (ControlDependency cd : cdg.getControlDependentBranches(block)) {
+				Branch branch = cd.getBranch();
+				dependedOn.add(branch.getActualBranchId());
+				int index = table.indexOf(branch);
+				assertTrue(branch.toString(), index >= 0);
+				assertEquals(branch.getActualBranchId(), table.getBranchId(index));
+			}
+		}
+		assertFalse(dependedOn.isEmpty());
+	}
+
+	@Test
+	public void testNestedBranches() {
+		checkMethod("nested(II)I", 2);
+	}
+
+	@Test
+	public void testLoop() {
+		checkMethod("loop(I)I", 3);
+	}
+
+	@Test
+	public void testSequence() {
+		checkMethod("sequence(II)I", 3);
+	}
+}
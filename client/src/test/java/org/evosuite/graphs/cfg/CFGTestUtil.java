@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.graphs.cfg;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.branch.BranchPool;
+import org.evosuite.graphs.GraphPool;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+
+/**
+ * Builds the graphs of a class without instrumenting it, so that tests can
+ * look at the CFGs and CDGs of small hand-written methods.
+ */
+public class CFGTestUtil {
+
+	/**
+	 * Registers the raw and actual CFGs, the CDGs and the branches of all
+	 * methods of the given class in the pools of the given class loader
+	 * 
+	 * @param classLoader
+	 *            the class loader whose pools receive the graphs, usually a
+	 *            fresh one for each test
+	 * @param clazz
+	 *            the class to analyze
+	 * @return the name of the class as used in the pools
+	 */
+	public static String registerClass(ClassLoader classLoader, Class<?> clazz) throws IOException,
+	        AnalyzerException {
+		boolean alwaysRegisterBranch = Properties.ALWAYS_REGISTER_BRANCH;
+		Properties.ALWAYS_REGISTER_BRANCH = true;
+		try {
+			String resource = clazz.getName().replace('.', '/') + ".class";
+			InputStream in = clazz.getClassLoader().getResourceAsStream(resource);
+			ClassNode cn = new ClassNode();
+			try {
+				new ClassReader(in).accept(cn, ClassReader.SKIP_FRAMES);
+			} finally {
+				in.close();
+			}
+
+			String className = clazz.getName();
+			List<MethodNode> methods = cn.methods;
+			for (MethodNode mn : methods) {
+				if (mn.instructions.size() == 0)
+					continue;
+				BytecodeAnalyzer bytecodeAnalyzer = new BytecodeAnalyzer();
+				bytecodeAnalyzer.analyze(classLoader, className, mn.name + mn.desc, mn);
+				bytecodeAnalyzer.retrieveCFGGenerator().registerCFGs();
+			}
+			return className;
+		} finally {
+			Properties.ALWAYS_REGISTER_BRANCH = alwaysRegisterBranch;
+		}
+	}
+
+	/**
+	 * Drops everything registered for the given class loader
+	 */
+	public static void release(ClassLoader classLoader) {
+		GraphPool.release(classLoader);
+		BranchPool.release(classLoader);
+		BytecodeInstructionPool.release(classLoader);
+	}
+}
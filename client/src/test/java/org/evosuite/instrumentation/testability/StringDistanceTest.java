@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation.testability;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class StringDistanceTest {
+
+	private static int matrixDistance(String s, String t, boolean ignoreCase) {
+		int[][] d = new int[s.length() + 1][t.length() + 1];
+		for (int i = 0; i <= s.length(); i++) {
+			d[i][0] = i;
+		}
+		for (int j = 0; j <= t.length(); j++) {
+			d[0][j] = j;
+		}
+		for (int i = 1; i <= s.length(); i++) {
+			for (int j = 1; j <= t.length(); j++) {
+				char a = s.charAt(i - 1);
+				char b = t.charAt(j - 1);
+				int cost = a == b || (ignoreCase && (a == b + 32 || a + 32 == b)) ? 0 : 1;
+				d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+			}
+		}
+		return d[s.length()][t.length()];
+	}
+
+	private static String randomString(Random random, int length, int alphabet) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			int k = random.nextInt(alphabet);
+			// a few non-ASCII characters exercise the hashed match vectors
+			sb.append(k < alphabet - 2 ? (char) ('A' + k) : (char) (0x4e00 + k));
+		}
+		return sb.toString();
+	}
+
+	@Test
+	public void testKnownDistances() {
+		assertEquals(0, StringDistance.levenshtein("", ""));
+		assertEquals(3, StringDistance.levenshtein("", "abc"));
+		assertEquals(3, StringDistance.levenshtein("kitten", "sitting"));
+		assertEquals(2, StringDistance.levenshtein("flaw", "lawn"));
+		assertEquals(0, StringDistance.levenshtein("Hello", "hELLO", true, Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void testSameAsMatrix() {
+		Random random = new Random(42);
+		for (int i = 0; i < 2000; i++) {
+			int alphabet = 2 + random.nextInt(40);
+			// lengths beyond 64 characters need several blocks
+			String s = randomString(random, random.nextInt(150), alphabet);
+			String t = randomString(random, random.nextInt(150), alphabet);
+			boolean ignoreCase = random.nextBoolean();
+			assertEquals(s + " / " + t, matrixDistance(s, t, ignoreCase),
+					StringDistance.levenshtein(s, t, ignoreCase, Integer.MAX_VALUE));
+		}
+	}
+
+	@Test
+	public void testLimit() {
+		Random random = new Random(7);
+		for (int i = 0; i < 2000; i++) {
+			String s = randomString(random, random.nextInt(100), 6);
+			String t = randomString(random, random.nextInt(100), 6);
+			int limit = random.nextInt(60);
+			int expected = matrixDistance(s, t, false);
+			int actual = StringDistance.levenshtein(s, t, false, limit);
+			if (expected <= limit) {
+				assertEquals(expected, actual);
+			} else {
+				assertTrue(actual > limit);
+			}
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit.writer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.OutputGranularity;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.variable.VariableReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestSuiteWriterThreadsTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Before
+	public void setUp() {
+		Properties.getInstance().resetToDefaults();
+		Properties.SANDBOX = false;
+		Properties.OUTPUT_GRANULARITY = OutputGranularity.TESTCASE;
+		Properties.TARGET_CLASS = StringBuilder.class.getName();
+	}
+
+	@After
+	public void reset() {
+		Properties.getInstance().resetToDefaults();
+		ClassPathHandler.resetSingleton();
+	}
+
+	@Test
+	public void testThreadsWriteSameFiles() throws Exception {
+		File single = write(1);
+		File parallel = write(4);
+
+		String[] names = single.list();
+		String[] parallelNames = parallel.list();
+		assertEquals(9, names.length); // eight tests and the scaffolding
+		Arrays.sort(names);
+		Arrays.sort(parallelNames);
+		assertArrayEquals(names, parallelNames);
+		for (String name : names) {
+			assertArrayEquals(name,
+					Files.readAllBytes(new File(single, name).toPath()),
+					Files.readAllBytes(new File(parallel, name).toPath()));
+		}
+	}
+
+	/**
+	 * Write a fresh copy of the same suite, as writing chops the tests after
+	 * their first exception
+	 */
+	private File write(int threads) throws IOException, NoSuchMethodException {
+		Properties.TEST_WRITER_THREADS = threads;
+		TestSuiteWriter writer = new TestSuiteWriter();
+		List<DefaultTestCase> tests = getTests();
+		for (int i = 0; i < tests.size(); i++) {
+			if (i % 3 == 0) {
+				writer.insertTest(tests.get(i), "Comment of test " + i);
+			} else {
+				writer.insertTest(tests.get(i));
+			}
+		}
+		File dir = folder.newFolder("threads" + threads);
+		writer.writeTestSuite("Foo_ESTest", dir.getAbsolutePath(), Collections.emptyList());
+		return dir;
+	}
+
+	private static List<DefaultTestCase> getTests() throws NoSuchMethodException {
+		List<DefaultTestCase> tests = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			TestCaseBuilder builder = new TestCaseBuilder();
+			VariableReference sb = builder.appendConstructor(StringBuilder.class.getConstructor());
+			VariableReference value = builder.appendIntPrimitive(i);
+			builder.appendMethod(sb, StringBuilder.class.getMethod("append", int.class), value);
+			if (i % 2 == 0) {
+				// Everything after the exception is chopped when writing
+				VariableReference string = builder.appendNull(String.class);
+				builder.appendMethod(string, String.class.getMethod("length"));
+				builder.appendMethod(sb, StringBuilder.class.getMethod("reverse"));
+			}
+			builder.appendMethod(sb, StringBuilder.class.getMethod("toString"));
+			tests.add(builder.getDefaultTestCase());
+		}
+		return tests;
+	}
+}
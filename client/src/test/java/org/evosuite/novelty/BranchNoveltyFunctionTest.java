@@ -0,0 +1,92 @@
+package org.evosuite.novelty;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BranchNoveltyFunctionTest {
+
+    /**
+     * The mean pairwise distance, as computed by BranchNoveltyFunction.getDistance
+     */
+    private static double[] pairwiseNovelty(double[][] distances, boolean[][] reached, boolean[][] covered, int size) {
+        double[] novelty = new double[size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (i == j) {
+                    continue;
+                }
+                double difference = 0.0;
+                for (int b = 0; b < distances.length; b++) {
+                    if (reached[b][i] && reached[b][j]) {
+                        difference += Math.abs(distances[b][i] - distances[b][j]);
+                    } else if (reached[b][i] || reached[b][j]) {
+                        difference += 1.0;
+                    }
+                }
+                for (boolean[] column : covered) {
+                    if (column[i] != column[j]) {
+                        difference += 1.0;
+                    }
+                }
+                novelty[i] += difference / (distances.length + covered.length);
+            }
+            novelty[i] /= (size - 1);
+        }
+        return novelty;
+    }
+
+    private static void assertSameNovelty(double[][] distances, boolean[][] reached, boolean[][] covered, int size) {
+        double[] expected = pairwiseNovelty(distances, reached, covered, size);
+        double[] actual = BranchNoveltyFunction.getNovelty(distances, reached, covered, size);
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected[i], actual[i], 1e-9 * Math.max(1.0, Math.abs(expected[i])));
+        }
+    }
+
+    @Test
+    public void testRandomPopulations() {
+        Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            int size = 2 + random.nextInt(30);
+            int numBranches = random.nextInt(10);
+            int numMethods = 1 + random.nextInt(5);
+            double[][] distances = new double[numBranches][size];
+            boolean[][] reached = new boolean[numBranches][size];
+            boolean[][] covered = new boolean[numMethods][size];
+            for (int b = 0; b < numBranches; b++) {
+                for (int i = 0; i < size; i++) {
+                    reached[b][i] = random.nextInt(4) != 0;
+                    // few distinct values, so that ties are common
+                    distances[b][i] = reached[b][i] ? random.nextInt(5) * 0.5 : 0.0;
+                }
+            }
+            for (boolean[] column : covered) {
+                for (int i = 0; i < size; i++) {
+                    column[i] = random.nextBoolean();
+                }
+            }
+            assertSameNovelty(distances, reached, covered, size);
+        }
+    }
+
+    @Test
+    public void testInfiniteDistance() {
+        double[][] distances = { { 1.0, Double.POSITIVE_INFINITY, 3.0 } };
+        boolean[][] reached = { { true, true, true } };
+        boolean[][] covered = { { true, false, false } };
+        assertSameNovelty(distances, reached, covered, 3);
+    }
+
+    @Test
+    public void testUnreachedBranch() {
+        double[][] distances = { { 0.0, 0.0 } };
+        boolean[][] reached = { { false, false } };
+        boolean[][] covered = { { true, true } };
+        double[] novelty = BranchNoveltyFunction.getNovelty(distances, reached, covered, 2);
+        assertEquals(0.0, novelty[0], 0.0);
+        assertEquals(0.0, novelty[1], 0.0);
+    }
+}
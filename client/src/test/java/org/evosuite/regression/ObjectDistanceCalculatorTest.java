@@ -184,6 +184,20 @@ public class ObjectDistanceCalculatorTest {
     assertEquals(0.868, getDistance(p, q), 0.001);
   }
 
+  @Test
+  public void objectDiff_Cyclic() {
+    NestedBasicObjectWithPublicFields p = constructNestedObject();
+    NestedBasicObjectWithPublicFields q = constructNestedObject();
+    p.self = p;
+    q.self = q;
+
+    assertEquals(0, getDistance(p, q), 0.001);
+
+    // the cycle does not count the difference again
+    q.foo.x = 5000;
+    assertEquals(0.583, getDistance(p, q), 0.001);
+  }
+
   @Test
   public void objectDiff_DifferentObjects() {
     NestedBasicObjectWithPublicFields p = constructNestedObject();
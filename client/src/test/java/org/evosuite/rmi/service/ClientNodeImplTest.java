@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.TimeController;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ClientNodeImplTest {
+
+	private ClientNodeImpl client;
+
+	/**
+	 * Master that accepts and ignores all calls from the client
+	 */
+	private static MasterNodeRemote createMaster() {
+		return (MasterNodeRemote) Proxy.newProxyInstance(MasterNodeRemote.class.getClassLoader(),
+				new Class<?>[] { MasterNodeRemote.class }, new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) {
+						return null;
+					}
+				});
+	}
+
+	@Before
+	public void setUp() {
+		Properties.getInstance().resetToDefaults();
+		Properties.CLIENT_REUSE_LIMIT = 3;
+		Properties.CLIENT_RECYCLE_HEAP_RATIO = 1.0;
+		Properties.TARGET_CLASS = "com.example.First";
+		TimeController.resetSingleton();
+		client = new ClientNodeImpl(createMaster(), "ClientNode0");
+	}
+
+	@After
+	public void tearDown() {
+		Properties.getInstance().resetToDefaults();
+		TimeController.resetSingleton();
+	}
+
+	/**
+	 * Changes properties the way a search for the current target could
+	 */
+	private static void changePropertiesDuringSearch() {
+		Properties.SEARCH_BUDGET = 1234;
+		Properties.TARGET_METHOD = "foo()V";
+		Properties.CRITERION = new Criterion[] { Criterion.LINE };
+	}
+
+	private boolean nextTarget(String target) throws Exception {
+		client.changeState(ClientState.FINISHED);
+		boolean prepared = client.prepareForNewTarget(Collections.singletonMap("TARGET_CLASS", target));
+		// hands over the target and stops the statistics thread of the client
+		assertEquals(prepared, client.waitForNextTarget());
+		return prepared;
+	}
+
+	private static void assertInitialProperties(String target) {
+		assertEquals(target, Properties.TARGET_CLASS);
+		assertEquals(60, Properties.SEARCH_BUDGET);
+		assertEquals("", Properties.TARGET_METHOD);
+	}
+
+	@Test
+	public void testPropertiesDoNotLeakIntoNextTarget() throws Exception {
+		Criterion[] criteria = Properties.CRITERION.clone();
+
+		changePropertiesDuringSearch();
+		assertTrue(nextTarget("com.example.Second"));
+		assertInitialProperties("com.example.Second");
+		assertArrayEquals(criteria, Properties.CRITERION);
+
+		changePropertiesDuringSearch();
+		assertTrue(nextTarget("com.example.Third"));
+		assertInitialProperties("com.example.Third");
+		assertArrayEquals(criteria, Properties.CRITERION);
+	}
+
+	@Test
+	public void testArraysModifiedInPlaceAreRestored() throws Exception {
+		Criterion[] criteria = Properties.CRITERION.clone();
+
+		Properties.CRITERION[0] = Criterion.DEFUSE;
+		assertTrue(nextTarget("com.example.Second"));
+		assertArrayEquals(criteria, Properties.CRITERION);
+
+		Properties.CRITERION[0] = Criterion.DEFUSE;
+		assertTrue(nextTarget("com.example.Third"));
+		assertArrayEquals(criteria, Properties.CRITERION);
+	}
+
+	@Test
+	public void testClientIsReplacedAfterReuseLimit() throws Exception {
+		assertTrue(nextTarget("com.example.Second"));
+		assertTrue(nextTarget("com.example.Third"));
+		assertFalse(nextTarget("com.example.Fourth"));
+	}
+}
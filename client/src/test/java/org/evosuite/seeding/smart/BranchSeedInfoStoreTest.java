@@ -0,0 +1,156 @@
+package org.evosuite.seeding.smart;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.evosuite.Properties;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.branch.Branch;
+import org.evosuite.coverage.branch.BranchPool;
+import org.evosuite.graphs.cfg.CFGTestUtil;
+import org.evosuite.graphs.interprocedural.InterproceduralGraphAnalysis;
+import org.evosuite.graphs.interprocedural.var.DepVariable;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.TestChromosome;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.examples.with.different.packagename.FlagExample1;
+
+public class BranchSeedInfoStoreTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final ClassLoader loader = new ClassLoader() {
+	};
+
+	private final String defaultStoreDir = Properties.SMART_SEED_STORE_DIR;
+
+	private final String defaultTargetClass = Properties.TARGET_CLASS;
+
+	private final String defaultTargetMethod = Properties.TARGET_METHOD;
+
+	private Branch branch;
+
+	@Before
+	public void setUp() throws Exception {
+		ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+		Properties.SMART_SEED_STORE_DIR = folder.getRoot().getAbsolutePath();
+		Properties.TARGET_CLASS = FlagExample1.class.getName();
+		Properties.TARGET_METHOD = "testMe(I)Z";
+		BranchSeedInfoStore.clear();
+		CFGTestUtil.registerClass(loader, FlagExample1.class);
+		branch = BranchPool.getInstance(loader).getAllBranches().iterator().next();
+	}
+
+	@After
+	public void tearDown() {
+		InterproceduralGraphAnalysis.branchInterestedVarsMap.remove(Properties.TARGET_METHOD);
+		Properties.SMART_SEED_STORE_DIR = defaultStoreDir;
+		Properties.TARGET_CLASS = defaultTargetClass;
+		Properties.TARGET_METHOD = defaultTargetMethod;
+		BranchSeedInfoStore.clear();
+		SeedingApplicationEvaluator.cache.clear();
+		CFGTestUtil.release(loader);
+		ClassPathHandler.resetSingleton();
+	}
+
+	@Test
+	public void testReferredTestSurvivesStore() {
+		TestChromosome seed = getTest(28241);
+		BranchSeedInfo info = new BranchSeedInfo(branch, SeedingApplicationEvaluator.STATIC_POOL,
+				BranchSeedInfo.INT, null);
+		info.addPotentialSeed(new ObservedConstant(28241, Integer.class, null));
+		info.referredTest = seed;
+		BranchSeedInfoStore.put(branch, info);
+
+		BranchSeedInfoStore.clear();
+		BranchSeedInfo stored = BranchSeedInfoStore.get(branch);
+
+		assertNotNull(stored);
+		assertEquals(SeedingApplicationEvaluator.STATIC_POOL, stored.getBenefiticalType());
+		assertEquals(BranchSeedInfo.INT, stored.getOperandType());
+		assertEquals(1, stored.getPotentialSeeds().size());
+		assertEquals(28241, stored.getPotentialSeeds().get(0).getValue());
+		assertNotNull(stored.referredTest);
+		assertNotSame(seed, stored.referredTest);
+		assertEquals(seed.getTestCase().toCode(), stored.referredTest.getTestCase().toCode());
+	}
+
+	@Test
+	public void testNoPoolHasNoReferredTest() {
+		BranchSeedInfoStore.put(branch, new BranchSeedInfo(branch, SeedingApplicationEvaluator.NO_POOL, null, null));
+
+		BranchSeedInfoStore.clear();
+		BranchSeedInfo stored = BranchSeedInfoStore.get(branch);
+
+		assertNotNull(stored);
+		assertEquals(SeedingApplicationEvaluator.NO_POOL, stored.getBenefiticalType());
+		assertNull(stored.referredTest);
+	}
+
+	@Test
+	public void testCurrentTestSeedsWithoutStoredTest() {
+		BranchSeedInfo info = new BranchSeedInfo(branch, SeedingApplicationEvaluator.DYNAMIC_POOL,
+				BranchSeedInfo.INT, null);
+		info.addPotentialSeed(new ObservedConstant(28241, Integer.class, null));
+		BranchSeedInfoStore.put(branch, info);
+		BranchSeedInfoStore.clear();
+
+		TestChromosome seed = getTest(1);
+		BranchSeedInfo evaluated = SeedingApplicationEvaluator.evaluate(branch, seed, null);
+
+		assertEquals(SeedingApplicationEvaluator.DYNAMIC_POOL, evaluated.getBenefiticalType());
+		assertSame(seed, evaluated.referredTest);
+	}
+
+	@Test
+	public void testStoreIsPerTargetMethod() {
+		BranchSeedInfo info = new BranchSeedInfo(branch, SeedingApplicationEvaluator.STATIC_POOL,
+				BranchSeedInfo.INT, null);
+		info.referredTest = getTest(28241);
+		BranchSeedInfoStore.put(branch, info);
+
+		Properties.TARGET_METHOD = "otherMethod()V";
+		assertNull(BranchSeedInfoStore.get(branch));
+
+		BranchSeedInfoStore.clear();
+		assertNull(BranchSeedInfoStore.get(branch));
+
+		Properties.TARGET_METHOD = "testMe(I)Z";
+		assertNotNull(BranchSeedInfoStore.get(branch));
+	}
+
+	@Test
+	public void testNoPoolWithoutInputsIsNotStored() {
+		Map<Branch, Set<DepVariable>> branches = new HashMap<>();
+		branches.put(branch, Collections.<DepVariable>emptySet());
+		InterproceduralGraphAnalysis.branchInterestedVarsMap.put(Properties.TARGET_METHOD, branches);
+
+		BranchSeedInfo evaluated = SeedingApplicationEvaluator.evaluate(branch, getTest(1), null);
+		assertEquals(SeedingApplicationEvaluator.NO_POOL, evaluated.getBenefiticalType());
+
+		BranchSeedInfoStore.clear();
+		assertNull(BranchSeedInfoStore.get(branch));
+	}
+
+	private static TestChromosome getTest(int value) {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		builder.appendIntPrimitive(value);
+		TestChromosome test = new TestChromosome();
+		test.setTestCase(builder.getDefaultTestCase());
+		return test;
+	}
+}
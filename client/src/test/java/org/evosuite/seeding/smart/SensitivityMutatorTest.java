@@ -0,0 +1,118 @@
+package org.evosuite.seeding.smart;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.evosuite.graphs.cfg.BytecodeInstruction;
+import org.evosuite.graphs.cfg.BytecodeInstructionPool;
+import org.evosuite.graphs.cfg.CFGTestUtil;
+import org.evosuite.instrumentation.InstrumentingClassLoader;
+import org.evosuite.seeding.RuntimeSensitiveVariable;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.Opcodes;
+
+import com.examples.with.different.packagename.SimpleInteger;
+
+public class SensitivityMutatorTest {
+
+	private final ClassLoader loader = new ClassLoader() {
+	};
+
+	private BytecodeInstruction loadX;
+
+	private BytecodeInstruction add;
+
+	@Before
+	public void setUp() throws Exception {
+		SensitivityMutator.reset();
+		// the instrumented classes are run directly rather than by the test executor
+		ExecutionTracer.setThread(Thread.currentThread());
+		String className = CFGTestUtil.registerClass(loader, SimpleInteger.class);
+		for (BytecodeInstruction ins : BytecodeInstructionPool.getInstance(loader).getInstructionsIn(className,
+				"testInt(II)I")) {
+			int opcode = ins.getASMNode().getOpcode();
+			if (opcode == Opcodes.ILOAD && loadX == null) {
+				loadX = ins;
+			} else if (opcode == Opcodes.IADD) {
+				add = ins;
+			}
+		}
+	}
+
+	@After
+	public void tearDown() {
+		SensitivityMutator.reset();
+		CFGTestUtil.release(loader);
+	}
+
+	@Test
+	public void testLoaderIsReusedForCandidates() {
+		List<BytecodeInstruction> candidates = Arrays.asList(loadX, add);
+
+		InstrumentingClassLoader first = SensitivityMutator.createOrFindClassLoader(Arrays.asList(add),
+				() -> candidates, newChromosome());
+		assertTrue(first.getViewOfInstrumentedClasses().contains(SimpleInteger.class.getName()));
+
+		assertSame(first, SensitivityMutator.createOrFindClassLoader(Arrays.asList(loadX),
+				() -> candidates, newChromosome()));
+		assertSame(first, SensitivityMutator.createOrFindClassLoader(Arrays.asList(add),
+				() -> candidates, newChromosome()));
+	}
+
+	@Test
+	public void testLoaderIsReplacedForUnprobedObservation() {
+		InstrumentingClassLoader first = SensitivityMutator.createOrFindClassLoader(Arrays.asList(add),
+				Collections::emptyList, newChromosome());
+
+		InstrumentingClassLoader second = SensitivityMutator.createOrFindClassLoader(Arrays.asList(loadX),
+				Collections::emptyList, newChromosome());
+		assertNotSame(first, second);
+
+		assertSame(second, SensitivityMutator.createOrFindClassLoader(Arrays.asList(add),
+				Collections::emptyList, newChromosome()));
+	}
+
+	@Test
+	public void testProbesRecordValues() throws Exception {
+		InstrumentingClassLoader classLoader = SensitivityMutator.createOrFindClassLoader(Arrays.asList(add),
+				() -> Arrays.asList(loadX, add), newChromosome());
+
+		RuntimeSensitiveVariable.enableProbes(Arrays.asList(add));
+		invokeTestInt(classLoader, 3, 4);
+		assertEquals(Arrays.asList((Object) 7), RuntimeSensitiveVariable.observations.get(add.toString()));
+		assertTrue(RuntimeSensitiveVariable.observations.get(loadX.toString()) == null);
+
+		RuntimeSensitiveVariable.enableProbes(Arrays.asList(loadX));
+		invokeTestInt(classLoader, 3, 4);
+		invokeTestInt(classLoader, 5, 4);
+		assertEquals(Arrays.asList((Object) 3, 5), RuntimeSensitiveVariable.observations.get(loadX.toString()));
+
+		RuntimeSensitiveVariable.disableProbes();
+		invokeTestInt(classLoader, 6, 4);
+		assertEquals(Arrays.asList((Object) 3, 5), RuntimeSensitiveVariable.observations.get(loadX.toString()));
+	}
+
+	private static TestChromosome newChromosome() {
+		TestChromosome chromosome = new TestChromosome();
+		chromosome.setTestCase(new DefaultTestCase());
+		return chromosome;
+	}
+
+	private static void invokeTestInt(ClassLoader classLoader, int x, int y) throws Exception {
+		Class<?> clazz = classLoader.loadClass(SimpleInteger.class.getName());
+		Method method = clazz.getMethod("testInt", int.class, int.class);
+		method.invoke(clazz.getConstructor().newInstance(), x, y);
+	}
+}
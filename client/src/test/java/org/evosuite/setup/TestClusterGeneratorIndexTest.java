@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.googlecode.gentyref.TypeToken;
+
+/**
+ * The raw class index of the generator types has to select the same generator
+ * types as checking every type with canBeInstantiatedTo
+ */
+public class TestClusterGeneratorIndexTest {
+
+	/** Generator types in the order they were added to the cluster */
+	private final List<GenericClass> generatorTypes = new ArrayList<GenericClass>();
+
+	private GenericMethod dummyGenerator;
+
+	@Before
+	public void setUp() throws Exception {
+		TestCluster.reset();
+		dummyGenerator = new GenericMethod(Object.class.getMethod("toString"), Object.class);
+	}
+
+	@After
+	public void tearDown() {
+		TestCluster.reset();
+	}
+
+	private void addGenerator(Type type) {
+		GenericClass clazz = new GenericClass(type);
+		if (!generatorTypes.contains(clazz))
+			generatorTypes.add(clazz);
+		TestCluster.getInstance().addGenerator(clazz, dummyGenerator);
+	}
+
+	private static List<GenericClass> instantiableTo(Collection<GenericClass> types, GenericClass clazz) {
+		List<GenericClass> result = new ArrayList<GenericClass>();
+		for (GenericClass type : types) {
+			if (type.canBeInstantiatedTo(clazz))
+				result.add(type);
+		}
+		return result;
+	}
+
+	private void checkRequestedTypes() {
+		Type[] requested = { Object.class, String.class, CharSequence.class, Comparable.class, Number.class,
+		        Integer.class, int.class, long.class, Object[].class, String[].class, Serializable.class,
+		        Runnable.class, Thread.class, AbstractList.class, new TypeToken<List<String>>() {
+		        }.getType(), new TypeToken<Collection<Integer>>() {
+		        }.getType(), new TypeToken<Map<String, Integer>>() {
+		        }.getType(), new TypeToken<Iterable<String>>() {
+		        }.getType(), new TypeToken<Comparable<String>>() {
+		        }.getType() };
+		for (Type type : requested) {
+			GenericClass clazz = new GenericClass(type);
+			List<GenericClass> expected = instantiableTo(generatorTypes, clazz);
+			List<GenericClass> actual = instantiableTo(TestCluster.getGeneratorTypeCandidates(clazz), clazz);
+			assertEquals(clazz.toString(), expected, actual);
+		}
+	}
+
+	private void addFirstTypes() {
+		addGenerator(String.class);
+		addGenerator(Integer.class);
+		addGenerator(int.class);
+		addGenerator(new TypeToken<ArrayList<String>>() {
+		}.getType());
+		addGenerator(Runnable.class);
+		addGenerator(String[].class);
+	}
+
+	private void addSecondTypes() {
+		addGenerator(Thread.class);
+		addGenerator(new TypeToken<LinkedList<Integer>>() {
+		}.getType());
+		addGenerator(new TypeToken<HashMap<String, Integer>>() {
+		}.getType());
+		addGenerator(Object.class);
+		addGenerator(long.class);
+		addGenerator(List.class.getTypeParameters()[0]);
+		addGenerator(new TypeToken<List<String>>() {
+		}.getType());
+		addGenerator(StringBuilder.class);
+	}
+
+	@Test
+	public void testSameCandidatesAsLinearScan() {
+		addFirstTypes();
+		addSecondTypes();
+		checkRequestedTypes();
+	}
+
+	@Test
+	public void testGeneratorsAddedAfterQueries() {
+		addFirstTypes();
+		checkRequestedTypes();
+		addSecondTypes();
+		checkRequestedTypes();
+		// adding further generators for known types does not change the candidates
+		addFirstTypes();
+		checkRequestedTypes();
+	}
+
+	@Test
+	public void testResetRemovesIndexedTypes() {
+		addFirstTypes();
+		addSecondTypes();
+		checkRequestedTypes();
+
+		TestCluster.reset();
+		generatorTypes.clear();
+		addGenerator(Integer.class);
+		addGenerator(new TypeToken<LinkedList<Integer>>() {
+		}.getType());
+		checkRequestedTypes();
+	}
+
+	@Test
+	public void testRemovedGeneratorsKeepTheirType() {
+		addFirstTypes();
+		addSecondTypes();
+		checkRequestedTypes();
+
+		// removing generators empties their sets, but keeps the generator types
+		TestCluster.getInstance().removeUnusableGenerators();
+		checkRequestedTypes();
+	}
+}
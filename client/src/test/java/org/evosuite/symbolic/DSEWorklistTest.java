@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.evosuite.Properties.DSEWorklistHeuristic;
+import org.evosuite.symbolic.expr.Constraint;
+import org.junit.Test;
+
+public class DSEWorklistTest {
+
+	private static DSEWorkItem item(long test, int conditionIndex) {
+		List<Constraint<?>> query = Collections.emptyList();
+		return new DSEWorkItem(null, test, conditionIndex, query);
+	}
+
+	private static void fill(DSEWorklist worklist) {
+		worklist.add(item(0, 0));
+		worklist.add(item(1, 0));
+		worklist.add(item(0, 2));
+		worklist.add(item(1, 1));
+		worklist.add(item(0, 1));
+	}
+
+	private static void assertNext(DSEWorklist worklist, long test, int conditionIndex) {
+		DSEWorkItem next = worklist.poll();
+		assertEquals(test, next.getTestSequenceNumber());
+		assertEquals(conditionIndex, next.getConditionIndex());
+	}
+
+	@Test
+	public void testGenerational() {
+		DSEWorklist worklist = new DSEWorklist(DSEWorklistHeuristic.GENERATIONAL);
+		fill(worklist);
+		assertNext(worklist, 0, 2);
+		assertNext(worklist, 0, 1);
+		assertNext(worklist, 0, 0);
+		assertNext(worklist, 1, 1);
+		assertNext(worklist, 1, 0);
+		assertNull(worklist.poll());
+	}
+
+	@Test
+	public void testDepthFirst() {
+		DSEWorklist worklist = new DSEWorklist(DSEWorklistHeuristic.DEPTH_FIRST);
+		fill(worklist);
+		assertNext(worklist, 1, 1);
+		assertNext(worklist, 1, 0);
+		assertNext(worklist, 0, 2);
+		assertNext(worklist, 0, 1);
+		assertNext(worklist, 0, 0);
+	}
+
+	@Test
+	public void testShortestPrefixFirst() {
+		DSEWorklist worklist = new DSEWorklist(DSEWorklistHeuristic.SHORTEST_PREFIX_FIRST);
+		fill(worklist);
+		assertNext(worklist, 0, 0);
+		assertNext(worklist, 1, 0);
+		assertNext(worklist, 0, 1);
+		assertNext(worklist, 1, 1);
+		assertNext(worklist, 0, 2);
+	}
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcarver.capture;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class MappedStringStoreTest {
+
+	@Test
+	public void testAppendAndGet() throws IOException {
+		MappedStringStore store = new MappedStringStore();
+		try {
+			String[] values = { "first", "", "\u00e4\u20ac\ud83d\ude00", "last" };
+			int[] handles = new int[values.length];
+			for (int i = 0; i < values.length; i++) {
+				handles[i] = store.append(values[i]);
+			}
+
+			// read in reverse, so that no read depends on the one before
+			for (int i = values.length - 1; i >= 0; i--) {
+				assertEquals(values[i], store.get(handles[i]));
+			}
+		} finally {
+			store.close();
+		}
+	}
+
+	@Test
+	public void testValuesInSeveralRegions() throws IOException {
+		MappedStringStore store = new MappedStringStore();
+		try {
+			// two of them do not fit in one region of 16 MB
+			char[] chars = new char[9 * 1024 * 1024];
+			String[] values = new String[3];
+			int[] handles = new int[values.length];
+			for (int i = 0; i < values.length; i++) {
+				Arrays.fill(chars, (char) ('a' + i));
+				values[i] = new String(chars);
+				handles[i] = store.append(values[i]);
+			}
+			int small = store.append("small");
+
+			for (int i = 0; i < values.length; i++) {
+				assertEquals(values[i], store.get(handles[i]));
+			}
+			assertEquals("small", store.get(small));
+		} finally {
+			store.close();
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testClosedStoreHasNoValues() throws IOException {
+		MappedStringStore store = new MappedStringStore();
+		int handle = store.append("value");
+		store.close();
+		store.get(handle);
+	}
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcarver.capture;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParamColumnTest {
+
+	private int spillThreshold;
+
+	@Before
+	public void setUp() {
+		spillThreshold = Properties.CARVING_SPILL_THRESHOLD;
+	}
+
+	@After
+	public void tearDown() {
+		Properties.CARVING_SPILL_THRESHOLD = spillThreshold;
+	}
+
+	/**
+	 * Strings read back from the spill file are new objects, strings kept on
+	 * the heap are returned as they were added
+	 */
+	@Test
+	public void testStringsAreSpilledAboveThreshold() {
+		// "abcde" takes 10 bytes on the heap
+		ParamColumn column = new ParamColumn(10);
+		Object object = new Object();
+		String kept = "abcde";
+		String spilled = "fgh";
+		String unicode = "\u00e4\u20ac\ud83d\ude00";
+		try {
+			column.add(new Object[] { 1, kept, null });
+			column.add(CaptureLog.NO_ARGS);
+			column.add(new Object[] { spilled, object, -7, unicode });
+
+			assertEquals(3, column.size());
+			Object[] first = column.get(0);
+			assertArrayEquals(new Object[] { 1, kept, null }, first);
+			assertSame(kept, first[1]);
+			assertSame(CaptureLog.NO_ARGS, column.get(1));
+
+			Object[] third = column.get(2);
+			assertArrayEquals(new Object[] { spilled, object, -7, unicode }, third);
+			assertNotSame(spilled, third[0]);
+			assertSame(object, third[1]);
+			assertNotSame(unicode, third[3]);
+		} finally {
+			column.clear();
+		}
+	}
+
+	@Test
+	public void testNoSpillWithZeroThreshold() {
+		ParamColumn column = new ParamColumn(0);
+		char[] chars = new char[4096];
+		Arrays.fill(chars, 'x');
+		String value = new String(chars);
+		for (int i = 0; i < 10; i++) {
+			column.add(new Object[] { value });
+		}
+
+		for (int i = 0; i < 10; i++) {
+			assertSame(value, column.get(i)[0]);
+		}
+	}
+
+	@Test
+	public void testCopyAndClearSpilledColumn() {
+		ParamColumn column = new ParamColumn(2);
+		ParamColumn copy = new ParamColumn(2);
+		try {
+			for (int i = 0; i < 100; i++) {
+				column.add(new Object[] { "value" + i, i });
+			}
+			copy.addAll(column);
+			column.clear();
+			assertEquals(0, column.size());
+
+			assertEquals(100, copy.size());
+			for (int i = 0; i < 100; i++) {
+				assertArrayEquals(new Object[] { "value" + i, i }, copy.get(i));
+			}
+
+			// a cleared column spills to a new file
+			column.add(new Object[] { "a" });
+			column.add(new Object[] { "bc" });
+			assertArrayEquals(new Object[] { "a" }, column.get(0));
+			assertArrayEquals(new Object[] { "bc" }, column.get(1));
+		} finally {
+			column.clear();
+			copy.clear();
+		}
+	}
+
+	@Test
+	public void testCaptureLogSpillsWithThresholdOfOneMegabyte() {
+		Properties.CARVING_SPILL_THRESHOLD = 1;
+		CaptureLog log = new CaptureLog();
+		char[] chars = new char[300 * 1024];
+		CaptureLog clone = null;
+		try {
+			String[] dumps = new String[4];
+			for (int i = 0; i < dumps.length; i++) {
+				Arrays.fill(chars, (char) ('a' + i));
+				dumps[i] = new String(chars);
+				log.params.add(new Object[] { dumps[i] });
+			}
+
+			// 600 kB for each dump, so the first one stays on the heap
+			assertSame(dumps[0], log.params.get(0)[0]);
+			for (int i = 1; i < dumps.length; i++) {
+				Object value = log.params.get(i)[0];
+				assertEquals(dumps[i], value);
+				assertNotSame(dumps[i], value);
+			}
+
+			clone = log.clone();
+			for (int i = 0; i < dumps.length; i++) {
+				assertEquals(dumps[i], clone.params.get(i)[0]);
+			}
+		} finally {
+			log.clear();
+			if (clone != null) {
+				clone.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrimitiveRandomAccessQueueTest {
+
+	private int poolSize;
+
+	@Before
+	public void setUp() {
+		poolSize = Properties.DYNAMIC_POOL_SIZE;
+		Randomness.setSeed(42);
+	}
+
+	@After
+	public void tearDown() {
+		Properties.DYNAMIC_POOL_SIZE = poolSize;
+	}
+
+	@Test
+	public void testDuplicatesAreIgnored() {
+		LongRandomAccessQueue queue = new LongRandomAccessQueue();
+		queue.restrictedAdd(0L);
+		queue.restrictedAdd(3L);
+		queue.restrictedAdd(0L);
+		queue.restrictedAdd(3L);
+		queue.restrictedAdd(-3L);
+
+		assertEquals(3, queue.size());
+		assertTrue(queue.contains(0L));
+		assertTrue(queue.contains(3L));
+		assertTrue(queue.contains(-3L));
+		assertFalse(queue.contains(1L));
+		assertEquals("[ 0 3 -3 ]", queue.toString());
+	}
+
+	@Test
+	public void testOldestValueIsEvicted() {
+		Properties.DYNAMIC_POOL_SIZE = 5;
+		LongRandomAccessQueue queue = new LongRandomAccessQueue();
+		for (long i = 0; i < 10; i++) {
+			queue.restrictedAdd(i);
+		}
+
+		assertEquals(5, queue.size());
+		for (long i = 0; i < 5; i++) {
+			assertFalse(queue.contains(i));
+		}
+		for (long i = 5; i < 10; i++) {
+			assertTrue(queue.contains(i));
+		}
+		assertEquals("[ 5 6 7 8 9 ]", queue.toString());
+
+		// an evicted value can be added again
+		queue.restrictedAdd(0L);
+		assertTrue(queue.contains(0L));
+		assertFalse(queue.contains(5L));
+		assertEquals("[ 6 7 8 9 0 ]", queue.toString());
+	}
+
+	@Test
+	public void testGrowsBeyondInitialCapacity() {
+		Properties.DYNAMIC_POOL_SIZE = 100;
+		LongRandomAccessQueue queue = new LongRandomAccessQueue();
+		StringBuilder expected = new StringBuilder("[ ");
+		for (long i = 1; i <= 60; i++) {
+			queue.restrictedAdd(i * 1000);
+			expected.append(i * 1000).append(" ");
+		}
+		expected.append("]");
+
+		assertEquals(60, queue.size());
+		assertEquals(expected.toString(), queue.toString());
+	}
+
+	@Test
+	public void testWraparoundMatchesBoundedQueue() {
+		Properties.DYNAMIC_POOL_SIZE = 10;
+		LongRandomAccessQueue queue = new LongRandomAccessQueue();
+		Deque<Long> expected = new ArrayDeque<>();
+
+		// a small range of values gives many duplicates and re-additions,
+		// and the head of the ring buffer wraps around many times
+		for (int i = 0; i < 5000; i++) {
+			long value = Randomness.nextInt(30) - 5;
+			queue.restrictedAdd(value);
+			if (!expected.contains(value)) {
+				expected.addLast(value);
+				if (expected.size() > Properties.DYNAMIC_POOL_SIZE) {
+					expected.removeFirst();
+				}
+			}
+
+			assertEquals(expected.size(), queue.size());
+			for (long v = -5; v < 25; v++) {
+				assertEquals("contains " + v + " after " + i + " additions", expected.contains(v), queue.contains(v));
+			}
+		}
+		StringBuilder order = new StringBuilder("[ ");
+		for (long v : expected) {
+			order.append(v).append(" ");
+		}
+		order.append("]");
+		assertEquals(order.toString(), queue.toString());
+	}
+
+	@Test
+	public void testRandomValueIsDrawnFromCurrentValues() {
+		Properties.DYNAMIC_POOL_SIZE = 4;
+		LongRandomAccessQueue queue = new LongRandomAccessQueue();
+		for (long i = 0; i < 23; i++) {
+			queue.restrictedAdd(i);
+		}
+
+		Set<Long> drawn = new HashSet<>();
+		for (int i = 0; i < 1000; i++) {
+			long value = queue.getRandomValue();
+			assertTrue("evicted value drawn: " + value, queue.contains(value));
+			drawn.add(value);
+		}
+		assertEquals(4, drawn.size());
+	}
+
+	@Test
+	public void testDoubleValuesAreComparedByBits() {
+		DoubleRandomAccessQueue queue = new DoubleRandomAccessQueue();
+		queue.restrictedAdd(0.0);
+		queue.restrictedAdd(-0.0);
+		queue.restrictedAdd(Double.NaN);
+		queue.restrictedAdd(Double.NaN);
+		queue.restrictedAdd(0.5);
+		queue.restrictedAdd(0.5);
+
+		assertEquals(4, queue.size());
+		assertTrue(queue.contains(0.0));
+		assertTrue(queue.contains(-0.0));
+		assertTrue(queue.contains(Double.NaN));
+		assertTrue(queue.contains(0.5));
+		assertFalse(queue.contains(1.5));
+		assertEquals("[ 0.0 -0.0 NaN 0.5 ]", queue.toString());
+	}
+
+	@Test
+	public void testDoubleEvictionAndRandomValue() {
+		Properties.DYNAMIC_POOL_SIZE = 3;
+		DoubleRandomAccessQueue queue = new DoubleRandomAccessQueue();
+		for (int i = 0; i < 20; i++) {
+			queue.restrictedAdd(i / 4.0);
+		}
+
+		assertEquals("[ 4.25 4.5 4.75 ]", queue.toString());
+		assertFalse(queue.contains(4.0));
+		for (int i = 0; i < 100; i++) {
+			double value = queue.getRandomValue();
+			assertTrue(value == 4.25 || value == 4.5 || value == 4.75);
+		}
+	}
+}
@@ -819,6 +819,38 @@ public class TestGenericClass {
 		System.out.println(integerWildcardListInstantiation.toString());
 		Assert.assertTrue(numberWildcardListClass.isAssignableFrom(integerWildcardListInstantiation));
 	}
+
+	@Test
+	public void testTypeVariableMapIsNotSharedBetweenInstances() {
+		GenericClass listClass1 = new GenericClass(
+		        new TypeToken<java.util.ArrayList<Integer>>() {
+		        }.getType());
+		GenericClass listClass2 = new GenericClass(
+		        new TypeToken<java.util.ArrayList<Integer>>() {
+		        }.getType());
+
+		Map<TypeVariable<?>, Type> typeMap = listClass1.getTypeVariableMap();
+		int size = typeMap.size();
+		Assert.assertTrue(size > 0);
+		typeMap.clear();
+
+		assertEquals(size, listClass2.getTypeVariableMap().size());
+	}
+
+	@Test
+	public void testCachedAssignabilityOfEqualTypes() {
+		GenericClass integerListClass = new GenericClass(
+		        new TypeToken<java.util.List<Integer>>() {
+		        }.getType());
+		GenericClass numberListClass = new GenericClass(
+		        new TypeToken<java.util.List<Number>>() {
+		        }.getType());
+
+		for (int i = 0; i < 2; i++) {
+			Assert.assertFalse(numberListClass.isAssignableFrom(integerListClass));
+			Assert.assertTrue(numberListClass.isAssignableFrom(new GenericClass(numberListClass.getType())));
+		}
+	}
 	
 
 	
@@ -34,6 +34,7 @@ import org.evosuite.coverage.CoverageCriteriaAnalyzer;
 import org.evosuite.runtime.util.JarPathing;
 import org.evosuite.runtime.util.JavaExecCmdUtil;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.utils.ClassDataSharing;
 import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -206,10 +207,19 @@ public class JobHandler extends Thread {
 	private List<String> getCommandString(JobDefinition job) {
 
 		List<String> commands = new ArrayList<>();
-		commands.add(JavaExecCmdUtil.getJavaBinExecutablePath()/*"java"*/);
+		String javaCmd = JavaExecCmdUtil.getJavaBinExecutablePath()/*"java"*/;
+		commands.add(javaCmd);
+
+		String evosuiteClasspath = System.getProperty("java.class.path");
+		List<String> cdsOptions = ClassDataSharing.getJvmOptions(javaCmd, "master", evosuiteClasspath);
+		commands.addAll(cdsOptions);
 
 		commands.add("-cp");
-		commands.add(configureAndGetClasspath());
+		if (cdsOptions.isEmpty()) {
+			commands.add(configureAndGetClasspath());
+		} else {
+			commands.add(ClassDataSharing.getClassPath(evosuiteClasspath, configureAndGetClasspath()));
+		}
 
 		/*
 		 * FIXME for seeding, need to setup classpath of generated test suites
@@ -272,6 +282,10 @@ public class JobHandler extends Thread {
 			commands.add("-Dspawn_process_manager_port="+Properties.SPAWN_PROCESS_MANAGER_PORT);
 		}
 
+		if (ClassDataSharing.isEnabled()) {
+			commands.add("-Dcds_archive_dir=" + Properties.CDS_ARCHIVE_DIR);
+		}
+
 
 		//commands.add("-projectCP");
 		//commands.add(executor.getProjectClassPath()); might be too long and fail on Windows
@@ -322,7 +336,8 @@ public class JobHandler extends Thread {
 
 		if (Properties.CTG_SCHEDULE == Properties.AvailableSchedule.SEEDING
 				|| Properties.CTG_SCHEDULE == Properties.AvailableSchedule.BUDGET_AND_SEEDING
-				|| Properties.CTG_SCHEDULE == Properties.AvailableSchedule.HISTORY) {
+				|| Properties.CTG_SCHEDULE == Properties.AvailableSchedule.HISTORY
+				|| Properties.CTG_SCHEDULE == Properties.AvailableSchedule.ADAPTIVE) {
 			String seedsFileName = job.cut + "." + Properties.CTG_SEEDS_EXT;
 			commands.add("-Dctg_seeds_file_out=" + seedOut.getAbsolutePath() + File.separator +seedsFileName);
 			commands.add("-Dctg_seeds_file_in=" + seedIn.getAbsolutePath() + File.separator +seedsFileName);
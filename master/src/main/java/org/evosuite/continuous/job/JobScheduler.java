@@ -23,6 +23,7 @@ import java.util.List;
 
 import org.evosuite.Properties.AvailableSchedule;
 import org.evosuite.continuous.CtgConfiguration;
+import org.evosuite.continuous.job.schedule.AdaptiveSchedule;
 import org.evosuite.continuous.job.schedule.BudgetAndSeedingSchedule;
 import org.evosuite.continuous.job.schedule.BudgetSchedule;
 import org.evosuite.continuous.job.schedule.HistorySchedule;
@@ -85,6 +86,9 @@ public class JobScheduler {
 			case HISTORY:
                 currentSchedule = new HistorySchedule(this);
                 break;
+			case ADAPTIVE:
+				currentSchedule = new AdaptiveSchedule(this);
+				break;
 			default:
 				throw new IllegalArgumentException("Schedule '"+schedule+"' is not supported");				
 		}
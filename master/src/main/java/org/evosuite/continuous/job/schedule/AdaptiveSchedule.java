@@ -0,0 +1,231 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.job.schedule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.evosuite.continuous.job.JobDefinition;
+import org.evosuite.continuous.job.JobScheduler;
+import org.evosuite.continuous.persistency.StorageManager;
+import org.evosuite.continuous.project.ProjectStaticData;
+import org.evosuite.continuous.project.ProjectStaticData.ClassInfo;
+import org.evosuite.utils.LoggingUtils;
+import org.evosuite.xsd.CUT;
+import org.evosuite.xsd.Generation;
+import org.evosuite.xsd.GenerationUtil;
+import org.evosuite.xsd.Project;
+import org.evosuite.xsd.ProjectUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Allocate the search budget so that the expected number of covered goals
+ * over all CUTs is maximized, based on the coverage reached by previous CTG
+ * runs.
+ * 
+ * <p>
+ * The coverage of a CUT is modelled as growing with diminishing returns over
+ * the search time <i>t</i>, ie the uncovered part shrinks as
+ * <i>e<sup>-t/tau</sup></i>. The time constant <i>tau</i> is learned from
+ * the budgets and coverage of the previous generations of the CUT, or
+ * derived from its number of branches if there is no history. Each CUT gets
+ * the minimum budget, and the rest is given out in small slices, each to the
+ * CUT with the highest expected gain for it. Saturated CUTs thus get little
+ * more than the minimum, while CUTs that are still improving get the most.
+ * 
+ * <p>
+ * Jobs are returned longest first, so that the executor, which hands each
+ * job to the first free core, does not leave cores idle at the end.
+ */
+public class AdaptiveSchedule extends OneTimeSchedule {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdaptiveSchedule.class);
+
+	/** Budget (in seconds) given out at each step of the allocation */
+	private static final int SLICE = 30;
+
+	/** Weight of a modified CUT over a not modified one, as in {@link HistorySchedule} */
+	private static final double MODIFIED = 2.0;
+
+	public AdaptiveSchedule(JobScheduler scheduler) {
+		super(scheduler);
+	}
+
+	@Override
+	protected List<JobDefinition> createScheduleOnce() {
+
+		ProjectStaticData data = scheduler.getProjectData();
+
+		int maximumBudgetPerCore = 60 * scheduler.getConfiguration().timeInMinutes;
+		int totalBudget = maximumBudgetPerCore * scheduler.getConfiguration().getNumberOfUsableCores();
+		int minBudget = 60 * scheduler.getConfiguration().minMinutesPerJob;
+
+		Project history = getHistory();
+		double averageBranches = data.getTotalNumberOfTestableCUTs() == 0 ? 1.0
+				: Math.max(1.0, (double) data.getTotalNumberOfBranches() / data.getTotalNumberOfTestableCUTs());
+
+		List<CoverageCurve> curves = new ArrayList<>();
+		int budgetUsed = 0;
+		for (ClassInfo info : data.getClassInfos()) {
+			if (!info.isTestable()) {
+				continue;
+			}
+			if (!info.hasChanged() && !info.isToTest()) {
+				LoggingUtils.getEvoLogger().info("- Skipping class " + info.getClassName()
+						+ " because it does not seem to be worth it");
+				continue;
+			}
+			if (budgetUsed + minBudget > totalBudget) {
+				info.isToTest(false);
+				continue;
+			}
+
+			CUT cut = history == null ? null : ProjectUtil.getCUT(history, info.getClassName());
+			CoverageCurve curve = new CoverageCurve(info, cut, minBudget, averageBranches);
+			curve.seconds = Math.min(minBudget, maximumBudgetPerCore);
+			budgetUsed += curve.seconds;
+			curves.add(curve);
+		}
+
+		/*
+		 * The expected gains are concave in the budget, so giving each slice
+		 * to the job that gains the most from it maximizes the total gain
+		 */
+		PriorityQueue<CoverageCurve> queue = new PriorityQueue<>(
+				Math.max(1, curves.size()), (a, b) -> Double.compare(b.getNextGain(), a.getNextGain()));
+		for (CoverageCurve curve : curves) {
+			if (curve.seconds < maximumBudgetPerCore) {
+				queue.add(curve);
+			}
+		}
+		while (!queue.isEmpty() && budgetUsed < totalBudget) {
+			CoverageCurve best = queue.poll();
+			if (best.getNextGain() <= 0.0) {
+				break;
+			}
+			int slice = Math.min(SLICE, Math.min(totalBudget - budgetUsed, maximumBudgetPerCore - best.seconds));
+			best.seconds += slice;
+			budgetUsed += slice;
+			if (best.seconds < maximumBudgetPerCore) {
+				queue.add(best);
+			}
+		}
+
+		List<JobDefinition> jobs = new ArrayList<>(curves.size());
+		for (CoverageCurve curve : curves) {
+			logger.info("Budget for {}: {} seconds, expected coverage {}", curve.info.getClassName(),
+					curve.seconds, curve.getExpectedCoverage(curve.seconds));
+			jobs.add(new JobDefinition(curve.seconds, scheduler.getConfiguration().getConstantMemoryPerJob(),
+					curve.info.getClassName(), 0, null, null));
+		}
+
+		int leftOver = totalBudget - budgetUsed;
+		if (leftOver > 0 && !jobs.isEmpty()) {
+			// nothing more is expected from the search, but there is no point in leaving cores idle
+			distributeExtraBudgetEvenly(jobs, leftOver, maximumBudgetPerCore);
+		}
+
+		// longest job first
+		Collections.sort(jobs, (a, b) -> {
+			if (a.seconds != b.seconds) {
+				return b.seconds - a.seconds;
+			}
+			return a.cut.compareTo(b.cut);
+		});
+
+		return jobs;
+	}
+
+	/**
+	 * @return the data of the previous CTG runs, or <code>null</code> if
+	 *         there are none
+	 */
+	protected Project getHistory() {
+		try {
+			return StorageManager.getDatabaseProject();
+		} catch (RuntimeException e) {
+			logger.warn("Cannot read the data of previous CTG runs: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Expected coverage of a CUT as a function of its search budget
+	 */
+	private static class CoverageCurve {
+
+		private final ClassInfo info;
+
+		/** Weight of a covered fraction of this CUT compared to other CUTs */
+		private final double weight;
+
+		/** Coverage reached so far, from which a new search would start */
+		private final double coverage;
+
+		/** Time (in seconds) in which the uncovered part shrinks by a factor of e */
+		private final double tau;
+
+		private int seconds = 0;
+
+		CoverageCurve(ClassInfo info, CUT cut, int minBudget, double averageBranches) {
+			this.info = info;
+			double goals = Math.max(1, info.numberOfBranches);
+			this.weight = goals * (info.hasChanged() ? MODIFIED : 1.0);
+
+			double lastCoverage = 0.0;
+			double tauSum = 0.0;
+			int points = 0;
+			if (cut != null) {
+				for (Generation generation : cut.getGeneration()) {
+					if (generation.isFailed() || generation.getSuite() == null) {
+						continue;
+					}
+					double c = GenerationUtil.getOverallCoverage(generation);
+					double t = generation.getTimeBudgetInSeconds().doubleValue();
+					lastCoverage = c;
+					if (t > 0 && c > 0.0 && c < 1.0) {
+						tauSum += t / -Math.log(1.0 - c);
+						points++;
+					}
+				}
+			}
+
+			// a modified CUT might have lost part of its coverage
+			this.coverage = info.hasChanged() ? 0.0 : Math.min(1.0, lastCoverage);
+			if (points > 0) {
+				this.tau = Math.max(1.0, tauSum / points);
+			} else {
+				// without history, an average CUT is expected to get 63% coverage in the minimum budget
+				this.tau = Math.max(1.0, minBudget * goals / averageBranches);
+			}
+		}
+
+		double getExpectedCoverage(int budget) {
+			return 1.0 - (1.0 - coverage) * Math.exp(-budget / tau);
+		}
+
+		double getNextGain() {
+			return weight * (getExpectedCoverage(seconds + SLICE) - getExpectedCoverage(seconds));
+		}
+	}
+}
@@ -193,7 +193,8 @@ public class ProjectAnalyzer {
 	public ProjectStaticData analyze(){		
 
 		ProjectStaticData data = new ProjectStaticData();
-		if(Properties.CTG_SCHEDULE.equals(AvailableSchedule.HISTORY)){
+		if(Properties.CTG_SCHEDULE.equals(AvailableSchedule.HISTORY)
+				|| Properties.CTG_SCHEDULE.equals(AvailableSchedule.ADAPTIVE)){
 			data.initializeLocalHistory();
 		}
 		
@@ -243,7 +244,8 @@ public class ProjectAnalyzer {
 			ClassInfo ci = new ClassInfo(theClass, numberOfBranches, hasCode);
 			data.addNewClass(ci);
 
-			if (Properties.CTG_SCHEDULE == AvailableSchedule.HISTORY) {
+			if (Properties.CTG_SCHEDULE == AvailableSchedule.HISTORY
+					|| Properties.CTG_SCHEDULE == AvailableSchedule.ADAPTIVE) {
 				ci.setChanged(data.hasChanged(theClass.getCanonicalName() + ".java"));
 				ci.isToTest(data.isToTest(theClass.getCanonicalName(), HistorySchedule.COMMIT_IMPROVEMENT));
 			}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.executionmode;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Strategy;
+import org.evosuite.rmi.MasterServices;
+import org.evosuite.rmi.service.ClientNodeRemote;
+import org.evosuite.utils.ExternalProcessGroupHandler;
+import org.evosuite.utils.LoggingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Client processes kept alive between the target classes of a run, so that
+ * the start up of the JVM and of the client (classpath scanning, RMI, etc)
+ * is paid once for several classes.
+ * 
+ * <p>
+ * Clients are only reused for the same strategy and options, and each client
+ * decides when it has to be replaced, see {@link Properties#CLIENT_REUSE_LIMIT}
+ * and {@link Properties#CLIENT_RECYCLE_HEAP_RATIO}.
+ */
+class ClientProcessPool {
+
+	private static final Logger logger = LoggerFactory.getLogger(ClientProcessPool.class);
+
+	private static final ClientProcessPool instance = new ClientProcessPool();
+
+	private ExternalProcessGroupHandler handler;
+
+	private LoggingUtils[] logServers;
+
+	private Strategy strategy;
+
+	private List<String> options;
+
+	private ClientProcessPool() {
+	}
+
+	static ClientProcessPool getInstance() {
+		return instance;
+	}
+
+	static boolean isEnabled() {
+		return Properties.CLIENT_REUSE_LIMIT > 1 && !Properties.CLIENT_ON_THREAD;
+	}
+
+	/**
+	 * Hand the given target to the idle clients of the pool, if they were
+	 * started for the same strategy and options
+	 * 
+	 * @return the handler of the clients, or null if new clients have to be
+	 *         started
+	 */
+	ExternalProcessGroupHandler prepareClients(Strategy strategy, List<String> options, String target) {
+		if (handler == null) {
+			return null;
+		}
+		if (!this.strategy.equals(strategy) || !this.options.equals(options)) {
+			shutdown();
+			return null;
+		}
+
+		Map<String, String> properties = Collections.singletonMap("TARGET_CLASS", target);
+		try {
+			Map<String, ClientNodeRemote> clients = MasterServices.getInstance().getMasterNode()
+					.getClientsOnceAllConnected(1000);
+			if (clients == null) {
+				shutdown();
+				return null;
+			}
+			for (ClientNodeRemote client : clients.values()) {
+				if (!client.prepareForNewTarget(properties)) {
+					shutdown();
+					return null;
+				}
+			}
+		} catch (RemoteException | InterruptedException | RuntimeException e) {
+			logger.warn("Cannot reuse client processes: " + e.getMessage());
+			shutdown();
+			return null;
+		}
+
+		LoggingUtils.getEvoLogger().info("* Reusing client process for " + target);
+		return handler;
+	}
+
+	/**
+	 * Keep the clients of the given handler alive for the next targets
+	 */
+	void keep(ExternalProcessGroupHandler handler, LoggingUtils[] logServers, Strategy strategy,
+			List<String> options) {
+		if (this.handler != null && this.handler != handler) {
+			shutdown();
+		}
+		this.handler = handler;
+		this.logServers = logServers;
+		this.strategy = strategy;
+		this.options = new ArrayList<String>(options);
+	}
+
+	/**
+	 * Kill the clients of the pool, if any, and release their servers
+	 */
+	void shutdown() {
+		if (handler == null) {
+			return;
+		}
+		handler.killAllProcesses();
+		handler.closeServer();
+		for (LoggingUtils logServer : logServers) {
+			if (logServer != null) {
+				logServer.closeLogServer();
+			}
+		}
+		handler = null;
+		logServers = null;
+		strategy = null;
+		options = null;
+	}
+}
@@ -37,7 +37,9 @@ import org.evosuite.rmi.MasterServices;
 import org.evosuite.rmi.service.ClientNodeRemote;
 import org.evosuite.runtime.util.JarPathing;
 import org.evosuite.runtime.util.JavaExecCmdUtil;
+import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.statistics.SearchStatistics;
+import org.evosuite.utils.ClassDataSharing;
 import org.evosuite.utils.ExternalProcessGroupHandler;
 import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
@@ -45,6 +47,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.rmi.RemoteException;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -52,6 +55,8 @@ import java.util.concurrent.CopyOnWriteArraySet;
 public class TestGeneration {
 
 	private static Logger logger = LoggerFactory.getLogger(TestGeneration.class);
+
+	private static boolean masterStartupTracked = false;
 	
 	public static List<List<TestGenerationResult>> executeTestGeneration(Options options, List<String> javaOpts,
 			CommandLine line) {
@@ -92,6 +97,7 @@ public class TestGeneration {
 							"classpath entry ('-target' option)\n");
 			Help.execute(options);
 		}
+		ClientProcessPool.getInstance().shutdown();
 		return results;
 	}
 
@@ -226,6 +232,20 @@ public class TestGeneration {
 			                + " because it belongs to one of the packages EvoSuite cannot currently handle");
 		}
 
+		if (ClientProcessPool.isEnabled()) {
+			ExternalProcessGroupHandler pooled = ClientProcessPool.getInstance().prepareClients(strategy, args, target);
+			if (pooled != null) {
+				Properties.TARGET_CLASS = target;
+				trackMasterStartup();
+				boolean started = runSearchOnClients(pooled, true);
+				List<List<TestGenerationResult>> results = collectResults();
+				if (!started) {
+					ClientProcessPool.getInstance().shutdown();
+				}
+				return results;
+			}
+		}
+
         final String DISABLE_ASSERTIONS_EVO = "-da:"+PackageInfo.getEvoSuitePackage()+"...";
         final String ENABLE_ASSERTIONS_EVO = "-ea:"+PackageInfo.getEvoSuitePackage()+"...";
         final String DISABLE_ASSERTIONS_SUT = "-da:" + Properties.PROJECT_PREFIX + "...";
@@ -399,6 +419,9 @@ public class TestGeneration {
                         + Properties.PORT + "...");
             }
 
+            cmdLineClone.addAll(1, ClassDataSharing.getJvmOptions(cmdLine.get(0), "client",
+                    ClassPathHandler.getInstance().getEvoSuiteClassPath()));
+
             cmdLineClone.add(ClientProcess.class.getName());
             
             if (Properties.NUM_PARALLEL_CLIENTS == 1) {
@@ -486,66 +509,32 @@ public class TestGeneration {
             processArgs.add(cmdLineClone.toArray(new String[0]));
         }
 
+		boolean keepClients = false;
+		trackMasterStartup();
 		if (handler.startProcessGroup(processArgs)) {
 
-			Set<ClientNodeRemote> clients = null;
-			try {
-				//FIXME: timeout here should be handled by TimeController
-				clients = new CopyOnWriteArraySet<ClientNodeRemote>(MasterServices.getInstance().getMasterNode()
-                        .getClientsOnceAllConnected(60000).values());
-			} catch (InterruptedException e) {
-			}
-			if (clients == null) {
-				logger.error("Not possible to access to clients. Clients' state:\n" + handler.getProcessStates() + 
-						"Master registry port: " + MasterServices.getInstance().getRegistryPort());					
-				
-			} else {
-				/*
-				 * The clients have started, and connected back to Master.
-				 * So now we just need to tell them to start a search
-				 */
-				for (ClientNodeRemote client : clients) {
-					try {
-						client.startNewSearch();
-					} catch (RemoteException e) {
-						logger.error("Error in starting clients", e);
-					}
-				}
+			boolean reused = ClientProcessPool.isEnabled();
+			boolean started = runSearchOnClients(handler, reused);
 
-				int time = TimeController.getInstance().calculateForHowLongClientWillRunInSeconds();
-				handler.waitForResult(time * 1000); 
-				try {
-					Thread.sleep(100);
-				} catch (InterruptedException e) {
-				}
-			}
-			
 			if (Properties.CLIENT_ON_THREAD) {
 				handler.stopAndWaitForClientOnThread(10000);
 			}
-			
-			handler.killAllProcesses();
+
+			keepClients = started && reused;
+			if (!keepClients) {
+				handler.killAllProcesses();
+			}
 		} else {
 			LoggingUtils.getEvoLogger().info("* Could not connect to client process");
 		}
 
-		boolean hasFailed = false;
-		
-		if (Properties.NEW_STATISTICS) {
-			if(MasterServices.getInstance().getMasterNode() == null) {
-				logger.error("Cannot write results as RMI master node is not running");
-				hasFailed = true;
-			} else {
-				boolean written = SearchStatistics.getInstance().writeStatistics();
-				hasFailed = !written;
-			}
+		List<List<TestGenerationResult>> results = collectResults();
+
+		if (keepClients) {
+			ClientProcessPool.getInstance().keep(handler, logServer, strategy, args);
+			logger.debug("Master process has finished to wait for client");
+			return results;
 		}
-		
-		/*
-		 * FIXME: it is unclear what is the relation between TestGenerationResult and writeStatistics()
-		 */
-		List<List<TestGenerationResult>> results = SearchStatistics.getInstance().getTestGenerationResults();
-		SearchStatistics.clearInstance();
 
 		handler.closeServer();
 
@@ -564,6 +553,82 @@ public class TestGeneration {
 		
 		logger.debug("Master process has finished to wait for client");
 
+		return results;
+	}
+
+	/**
+	 * Record how long it took the master to get to the search on its first
+	 * target. Needs the RMI server to be running, as the statistics register
+	 * themselves as its listener.
+	 */
+	private static void trackMasterStartup() {
+		long startupTime = 0L;
+		if (!masterStartupTracked) {
+			masterStartupTracked = true;
+			startupTime = ManagementFactory.getRuntimeMXBean().getUptime();
+		}
+		SearchStatistics.getInstance().setOutputVariable(RuntimeVariable.Master_Startup_Time, startupTime);
+	}
+
+	/**
+	 * Tell the connected clients to start a search, and wait until they are done
+	 * 
+	 * @return false if the clients could not be accessed
+	 */
+	private static boolean runSearchOnClients(ExternalProcessGroupHandler handler, boolean keepProcesses) {
+		Set<ClientNodeRemote> clients = null;
+		try {
+			//FIXME: timeout here should be handled by TimeController
+			clients = new CopyOnWriteArraySet<ClientNodeRemote>(MasterServices.getInstance().getMasterNode()
+                    .getClientsOnceAllConnected(60000).values());
+		} catch (InterruptedException e) {
+		}
+		if (clients == null) {
+			logger.error("Not possible to access to clients. Clients' state:\n" + handler.getProcessStates() + 
+					"Master registry port: " + MasterServices.getInstance().getRegistryPort());					
+			return false;
+		}
+
+		/*
+		 * The clients have started, and connected back to Master.
+		 * So now we just need to tell them to start a search
+		 */
+		for (ClientNodeRemote client : clients) {
+			try {
+				client.startNewSearch();
+			} catch (RemoteException e) {
+				logger.error("Error in starting clients", e);
+			}
+		}
+
+		int time = TimeController.getInstance().calculateForHowLongClientWillRunInSeconds();
+		handler.waitForResult(time * 1000, !keepProcesses); 
+		try {
+			Thread.sleep(100);
+		} catch (InterruptedException e) {
+		}
+		return true;
+	}
+
+	private static List<List<TestGenerationResult>> collectResults() {
+		boolean hasFailed = false;
+		
+		if (Properties.NEW_STATISTICS) {
+			if(MasterServices.getInstance().getMasterNode() == null) {
+				logger.error("Cannot write results as RMI master node is not running");
+				hasFailed = true;
+			} else {
+				boolean written = SearchStatistics.getInstance().writeStatistics();
+				hasFailed = !written;
+			}
+		}
+		
+		/*
+		 * FIXME: it is unclear what is the relation between TestGenerationResult and writeStatistics()
+		 */
+		List<List<TestGenerationResult>> results = SearchStatistics.getInstance().getTestGenerationResults();
+		SearchStatistics.clearInstance();
+
 		//FIXME: tmp hack till understood what TestGenerationResult is...
 		if(hasFailed){
 			logger.error("failed to write statistics data");
@@ -589,7 +654,12 @@ public class TestGeneration {
 		cmdLine.add("-cp");
 		//cmdLine.add(classPath);
 		String pathingJar = JarPathing.createJarPathing(classPath);
-		cmdLine.add(pathingJar);
+		if (ClassDataSharing.isEnabled()) {
+			// a CDS archive is only mapped if the classpath starts with the one it was recorded with
+			cmdLine.add(ClassDataSharing.getClassPath(ClassPathHandler.getInstance().getEvoSuiteClassPath(), pathingJar));
+		} else {
+			cmdLine.add(pathingJar);
+		}
 
 		if (projectCP.isEmpty()) {
 			projectCP =  classPath;
@@ -0,0 +1,231 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class data sharing (AppCDS) for the JVMs spawned by EvoSuite.
+ * 
+ * <p>
+ * If {@link Properties#CDS_ARCHIVE_DIR} is set, the first spawned JVM of a
+ * kind is the training run: it dumps the classes it loaded into an archive
+ * when it exits. Later JVMs map that archive instead of loading and verifying
+ * the EvoSuite classes again. Archives are named after the Java version and
+ * the EvoSuite classpath, so a new JDK or EvoSuite build simply records a new
+ * one. If the JDK cannot use dynamic archives, or the archive does not match,
+ * the JVM starts as usual.
+ * 
+ * <p>
+ * A JVM only maps the archive if its classpath starts with the classpath it
+ * was recorded with, hence the EvoSuite classpath has to be given explicitly
+ * before any pathing jar, see {@link #getClassPath(String, String)}.
+ */
+public class ClassDataSharing {
+
+	private static final Logger logger = LoggerFactory.getLogger(ClassDataSharing.class);
+
+	/** Dynamic archives (-XX:ArchiveClassesAtExit) were added in Java 13 */
+	private static final int MIN_JAVA_VERSION = 13;
+
+	private static final Pattern VERSION = Pattern.compile("version \"(1\\.)?(\\d+)");
+
+	private static final Map<String, Integer> javaVersions = new ConcurrentHashMap<>();
+
+	/** Locks of the archives recorded by JVMs spawned from this one, held until it exits */
+	private static final Map<String, FileLock> trainingLocks = new HashMap<>();
+
+	private static volatile boolean warned = false;
+
+	private ClassDataSharing() {
+	}
+
+	public static boolean isEnabled() {
+		return Properties.CDS_ARCHIVE_DIR != null && !Properties.CDS_ARCHIVE_DIR.isEmpty();
+	}
+
+	/**
+	 * JVM options to record or map the archive for the given kind of JVM
+	 * 
+	 * @param javaCmd
+	 *            the java executable of the spawned JVM
+	 * @param kind
+	 *            e.g. "client" or "master"
+	 * @param classPath
+	 *            the EvoSuite classpath the JVM is started with
+	 * @return an empty list if class data sharing cannot be used
+	 */
+	public static List<String> getJvmOptions(String javaCmd, String kind, String classPath) {
+		if (!isEnabled())
+			return Collections.emptyList();
+
+		int version = getJavaVersion(javaCmd);
+		if (version < MIN_JAVA_VERSION) {
+			if (!warned) {
+				warned = true;
+				LoggingUtils.getEvoLogger().info("* Class data sharing needs Java " + MIN_JAVA_VERSION
+						+ " or later, " + javaCmd + " is " + (version < 0 ? "unknown" : "Java " + version));
+			}
+			return Collections.emptyList();
+		}
+
+		File dir = new File(Properties.CDS_ARCHIVE_DIR);
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			logger.warn("Cannot create directory for class data sharing archives: " + dir);
+			return Collections.emptyList();
+		}
+
+		File archive = new File(dir, kind + "-" + getArchiveId(version, classPath) + ".jsa");
+		List<String> options = new ArrayList<>();
+		if (archive.isFile()) {
+			options.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+			// fall back to a normal start if the archive cannot be mapped
+			options.add("-Xshare:auto");
+		} else if (startTraining(archive)) {
+			logger.info("Recording class data sharing archive " + archive);
+			options.add("-XX:ArchiveClassesAtExit=" + archive.getAbsolutePath());
+		}
+		return options;
+	}
+
+	/**
+	 * The classpath option for a JVM started with the given options
+	 * 
+	 * @param evosuiteClassPath
+	 *            the classpath of EvoSuite itself
+	 * @param pathingJar
+	 *            the pathing jar with the full classpath
+	 */
+	public static String getClassPath(String evosuiteClassPath, String pathingJar) {
+		if (evosuiteClassPath == null || evosuiteClassPath.isEmpty())
+			return pathingJar;
+		return evosuiteClassPath + File.pathSeparator + pathingJar;
+	}
+
+	/**
+	 * Only one JVM may record an archive, also among several EvoSuite processes
+	 * sharing the directory (e.g. parallel CTG jobs). The lock on the file is
+	 * held until this process exits, and the operating system releases it even
+	 * if the process crashes, so a lock file left behind is simply taken over.
+	 */
+	static boolean startTraining(File archive) {
+		File lock = new File(archive.getAbsolutePath() + ".lock");
+		synchronized (trainingLocks) {
+			if (trainingLocks.containsKey(lock.getPath()))
+				return false;
+
+			FileChannel channel = null;
+			try {
+				channel = FileChannel.open(lock.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+				FileLock fileLock = channel.tryLock();
+				if (fileLock != null) {
+					trainingLocks.put(lock.getPath(), fileLock);
+					return true;
+				}
+			} catch (IOException | OverlappingFileLockException e) {
+				logger.warn("Cannot lock class data sharing archive " + archive + ": " + e.getMessage());
+			}
+			closeQuietly(channel);
+			return false;
+		}
+	}
+
+	private static void closeQuietly(FileChannel channel) {
+		if (channel == null)
+			return;
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// nothing to release
+		}
+	}
+
+	private static String getArchiveId(int javaVersion, String classPath) {
+		long hash = javaVersion;
+		for (String entry : classPath.split(File.pathSeparator)) {
+			File file = new File(entry);
+			hash = 31 * hash + entry.hashCode();
+			hash = 31 * hash + file.length();
+			hash = 31 * hash + file.lastModified();
+		}
+		return Long.toHexString(hash);
+	}
+
+	/**
+	 * @return the feature version of the given java executable, or -1 if unknown
+	 */
+	static int getJavaVersion(String javaCmd) {
+		return javaVersions.computeIfAbsent(javaCmd, ClassDataSharing::readJavaVersion);
+	}
+
+	private static int readJavaVersion(String javaCmd) {
+		File bin = new File(javaCmd).getAbsoluteFile().getParentFile();
+		if (bin != null && new File(System.getProperty("java.home")).equals(bin.getParentFile())) {
+			return parseVersion("version \"" + System.getProperty("java.specification.version") + "\"");
+		}
+
+		try {
+			Process process = new ProcessBuilder(javaCmd, "-version").redirectErrorStream(true).start();
+			StringBuilder output = new StringBuilder();
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null)
+					output.append(line).append('\n');
+			}
+			process.waitFor(10, TimeUnit.SECONDS);
+			return parseVersion(output.toString());
+		} catch (IOException e) {
+			logger.warn("Cannot determine the version of " + javaCmd + ": " + e.getMessage());
+			return -1;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return -1;
+		}
+	}
+
+	static int parseVersion(String versionOutput) {
+		Matcher matcher = VERSION.matcher(versionOutput);
+		if (!matcher.find())
+			return -1;
+		return Integer.parseInt(matcher.group(2));
+	}
+}
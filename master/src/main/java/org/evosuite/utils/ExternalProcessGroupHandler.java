@@ -674,6 +674,19 @@ public class ExternalProcessGroupHandler {
 	 * @return a {@link java.lang.Object} object.
 	 */
 	public TestGenerationResult waitForResult(int timeout) {
+		return waitForResult(timeout, true);
+	}
+
+	/**
+	 * Wait till all clients have finished, or the timeout is reached
+	 *
+	 * @param timeout
+	 *            in milliseconds
+	 * @param killProcesses
+	 *            whether to kill the client processes afterwards, or keep
+	 *            them for further targets
+	 */
+	public TestGenerationResult waitForResult(int timeout, boolean killProcesses) {
 
 		try {
 			long start = System.currentTimeMillis();
@@ -731,8 +744,10 @@ public class ExternalProcessGroupHandler {
 			}
 		}
 
-		for (int i = 0; i < processGroup.length; i++) {
-			killProcess(i);
+		if (killProcesses) {
+			for (int i = 0; i < processGroup.length; i++) {
+				killProcess(i);
+			}
 		}
 		LoggingUtils.getEvoLogger().info("* Computation finished");
 
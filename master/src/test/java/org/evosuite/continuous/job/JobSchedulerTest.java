@@ -136,6 +136,44 @@ public class JobSchedulerTest {
 		}
 	}
 
+	@Test
+	public void testAdaptive() {
+
+		String[] cuts = new String[] { SomeInterface.class.getName(),
+		        NoBranches.class.getName(), SomeBranches.class.getName(),
+		        MoreBranches.class.getName() };
+
+		ProjectAnalyzer analyzer = new ProjectAnalyzer(cuts);
+		ProjectStaticData data = analyzer.analyze();
+
+		int cores = 2;
+		int memory = 1400;
+		int budget = 10;
+
+		CtgConfiguration conf = new CtgConfiguration(memory, cores, budget, 1, false, AvailableSchedule.ADAPTIVE);
+
+		JobScheduler scheduler = new JobScheduler(data, conf);
+
+		List<JobDefinition> jobs = scheduler.createNewSchedule();
+		Assert.assertNotNull(jobs);
+		//we have 4 classes, but one is an interface
+		Assert.assertEquals(3, jobs.size());
+
+		//longest job first
+		Assert.assertEquals(MoreBranches.class.getName(), jobs.get(0).cut);
+		for (int i = 1; i < jobs.size(); i++) {
+			Assert.assertTrue(jobs.get(i - 1).seconds >= jobs.get(i).seconds);
+		}
+
+		int sum = 0;
+		for (JobDefinition job : jobs) {
+			Assert.assertTrue("wrong " + job.seconds, job.seconds >= 60);
+			Assert.assertTrue("wrong " + job.seconds, job.seconds <= budget * 60);
+			sum += job.seconds;
+		}
+		Assert.assertTrue("wrong value " + sum, sum <= (cores * budget * 60));
+	}
+
 	@Test
 	public void testSimple() {
 
@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassDataSharingTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Holds the lock of the archive given as argument until its input is closed
+	 */
+	public static class LockHolder {
+
+		public static void main(String[] args) throws IOException {
+			try (FileChannel channel = FileChannel.open(Paths.get(args[0]), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+				System.out.println("locked");
+				System.out.flush();
+				while (System.in.read() >= 0)
+					;
+			}
+		}
+	}
+
+	@Test
+	public void testParseVersion() {
+		assertEquals(8, ClassDataSharing.parseVersion("java version \"1.8.0_292\"\nJava(TM) SE Runtime Environment"));
+		assertEquals(11, ClassDataSharing.parseVersion("openjdk version \"11.0.2\" 2019-01-15"));
+		assertEquals(17, ClassDataSharing.parseVersion("openjdk version \"17\" 2021-09-14"));
+		assertEquals(-1, ClassDataSharing.parseVersion("Error: could not find java"));
+	}
+
+	@Test
+	public void testOnlyOneTrainingPerJvm() throws IOException {
+		File archive = new File(folder.getRoot(), "client-1.jsa");
+		assertTrue(ClassDataSharing.startTraining(archive));
+		assertFalse(ClassDataSharing.startTraining(archive));
+		assertTrue(ClassDataSharing.startTraining(new File(archive.getParentFile(), "master-1.jsa")));
+	}
+
+	@Test
+	public void testLeftoverLockIsTakenOver() throws IOException {
+		File archive = new File(folder.getRoot(), "client-2.jsa");
+		File lock = new File(archive.getPath() + ".lock");
+		Files.write(lock.toPath(), new byte[0]);
+		assertTrue(lock.setLastModified(System.currentTimeMillis()));
+
+		assertTrue(ClassDataSharing.startTraining(archive));
+	}
+
+	@Test(timeout = 60_000)
+	public void testLockOfOtherProcess() throws Exception {
+		File archive = new File(folder.getRoot(), "client-3.jsa");
+		File lock = new File(archive.getPath() + ".lock");
+
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		Process holder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+				LockHolder.class.getName(), lock.getAbsolutePath()).start();
+		try {
+			BufferedReader reader = new BufferedReader(
+					new InputStreamReader(holder.getInputStream(), StandardCharsets.UTF_8));
+			assertEquals("locked", reader.readLine());
+
+			assertFalse(ClassDataSharing.startTraining(archive));
+
+			// a crashed process leaves its lock file behind, but not the lock
+			holder.destroyForcibly();
+			assertTrue(holder.waitFor(30, TimeUnit.SECONDS));
+			assertTrue(lock.exists());
+			assertTrue(ClassDataSharing.startTraining(archive));
+		} finally {
+			holder.destroyForcibly();
+		}
+	}
+}
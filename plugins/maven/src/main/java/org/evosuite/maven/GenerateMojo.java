@@ -101,7 +101,7 @@ public class GenerateMojo extends AbstractMojo {
 	private String extraArgs;
 
 	/**
-	 * Schedule used to run CTG (SIMPLE, BUDGET, SEEDING, BUDGET_AND_SEEDING, HISTORY)
+	 * Schedule used to run CTG (SIMPLE, BUDGET, SEEDING, BUDGET_AND_SEEDING, HISTORY, ADAPTIVE)
 	 */
 	@Parameter( property = "schedule", defaultValue = "BUDGET" )
 	private String schedule;
@@ -243,7 +243,10 @@ public class GenerateMojo extends AbstractMojo {
 		params.add(target);
 		params.add("-Dcriterion=" + criterion);
 		params.add("-Dctg_schedule=" + schedule);
-		if (schedule.toUpperCase().equals(Properties.AvailableSchedule.HISTORY.toString())) {
+		// The adaptive schedule also uses the history of changes to favour modified classes
+		String upperSchedule = schedule.toUpperCase();
+		if (upperSchedule.equals(Properties.AvailableSchedule.HISTORY.toString())
+				|| upperSchedule.equals(Properties.AvailableSchedule.ADAPTIVE.toString())) {
 			try {
 				List<File> files = FileUtils.scan(this.project.getCompileSourceRoots(), this.includes, this.excludes);
 				HistoryChanges.keepTrack(dir, files);
@@ -19,8 +19,7 @@
  */
 package org.evosuite.runtime;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * In some cases, we can end up with infinite loops: eg due to a bug, a seeded mutation,
@@ -31,30 +30,68 @@ import java.util.List;
  * Therefore, for each loop in the instrumented CUTs, we can have a limit, and throw an exception
  * if too many iterations have occurred
  *
+ * <p>
+ * {@link #checkLoop(int)} is called on every loop back-edge, so counters are kept in a
+ * primitive array indexed by loop, presized when loops are registered at instrumentation time.
+ * Increments are not synchronized: under concurrency some iterations might not be counted,
+ * which is fine for a limit on the number of iterations. If
+ * {@link RuntimeSettings#useThreadLocalLoopCounters} is on, each thread counts its own iterations.
+ *
  * Created by Andrea Arcuri on 29/03/15.
  */
 public class LoopCounter {
 
     private static final LoopCounter singleton = new LoopCounter();
 
+    private static final int INITIAL_CAPACITY = 64;
+
     private boolean activated = true;
-    
+
+    /**
+     * Number of loop indices handed out so far during instrumentation
+     */
+    private int numberOfLoops;
+
     /**
-     * Number of iterations so far
+     * Number of iterations so far, shared by all threads
      */
-    private List<Long> counters;
+    private volatile long[] counters;
+
+    /**
+     * Incremented at each reset, so that the per-thread counters
+     * know when they are stale
+     */
+    private volatile int resetCount;
+
+    private final ThreadLocal<ThreadCounters> threadCounters = new ThreadLocal<ThreadCounters>() {
+        @Override
+        protected ThreadCounters initialValue() {
+            return new ThreadCounters();
+        }
+    };
+
+    /**
+     * Iterations of the loops executed by a single thread
+     */
+    private static final class ThreadCounters {
+        private long[] counters = new long[0];
+        private int resetCount = -1;
+    }
 
 
     private LoopCounter(){
-        counters = new ArrayList<>();
+        counters = new long[INITIAL_CAPACITY];
+        numberOfLoops = 0;
+        resetCount = 0;
     }
 
     public static LoopCounter getInstance(){
         return singleton;
     }
 
-    public void reset(){
-        counters.clear();
+    public synchronized void reset(){
+        Arrays.fill(counters, 0L);
+        resetCount++;
     }
     
     public void setActive(boolean active) {
@@ -71,9 +108,9 @@ public class LoopCounter {
      *
      * @return the next valid index for a new loop
      */
-    public int getNewIndex(){
-        int index = counters.size();
-        counters.add(0l);
+    public synchronized int getNewIndex(){
+        int index = numberOfLoops++;
+        ensureCapacity(index);
         return index;
     }
 
@@ -93,34 +130,52 @@ public class LoopCounter {
         if(!activated)
         	return;
 
-        if(RuntimeSettings.maxNumberOfIterationsPerLoop < 0){
+        final long max = RuntimeSettings.maxNumberOfIterationsPerLoop;
+        if(max < 0){
             return; //do nothing, no check
         }
-        
-        //first check initialization
-        int size = counters.size();
-        if(index >= size){
-            for(int i=0; i < 1 + (index - size); i++){
-                counters.add(0l);
-            }
-        }
-        assert index < counters.size();
+
+        long[] table = RuntimeSettings.useThreadLocalLoopCounters ? getThreadCounters(index) : getSharedCounters(index);
 
         //do increment
-        try {
-            long value = counters.get(index) + 1l;
-            counters.set(index, value);
-
-            if(value >= RuntimeSettings.maxNumberOfIterationsPerLoop && !isInStaticInit()) {
-                this.reset();
-                throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
-                        RuntimeSettings.maxNumberOfIterationsPerLoop);
-            }
-        } catch(NullPointerException e) {
-            // Some weird Java internal NPE can happen:
-            // https://github.com/EvoSuite/evosuite/issues/143
-            // Seems safe to swallow this instead of crashing EvoSuite
+        long value = ++table[index];
+
+        if(value >= max && !isInStaticInit()) {
+            this.reset();
+            throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
+                    max);
+        }
+    }
+
+    private long[] getSharedCounters(int index) {
+        long[] table = counters;
+        if(index >= table.length){
+            //a loop index that was not registered through getNewIndex
+            table = ensureCapacity(index);
+        }
+        return table;
+    }
+
+    private long[] getThreadCounters(int index) {
+        ThreadCounters local = threadCounters.get();
+        int currentResetCount = resetCount;
+        if(local.resetCount != currentResetCount){
+            Arrays.fill(local.counters, 0L);
+            local.resetCount = currentResetCount;
+        }
+        if(index >= local.counters.length){
+            local.counters = Arrays.copyOf(local.counters, Math.max(index + 1, counters.length));
+        }
+        return local.counters;
+    }
+
+    private synchronized long[] ensureCapacity(int index) {
+        long[] table = counters;
+        if(index >= table.length){
+            table = Arrays.copyOf(table, Math.max(index + 1, 2 * table.length));
+            counters = table;
         }
+        return table;
     }
 
 
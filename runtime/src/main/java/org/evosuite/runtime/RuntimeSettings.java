@@ -92,6 +92,11 @@ public class RuntimeSettings {
      */
     public static long maxNumberOfIterationsPerLoop = 10_000;
 
+    /**
+     * Should loop iterations be counted separately for each thread?
+     */
+    public static boolean useThreadLocalLoopCounters = false;
+
     /**
      * Should tests be executed in a separate instrumenting class loader
      * or with the standard classloader and instrumentation via an agent?
@@ -21,7 +21,8 @@ package org.evosuite.runtime.classhandling;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
@@ -55,8 +56,27 @@ public class ClassResetter {
 	private static final ClassResetter instance = new ClassResetter();
 
 	private ClassLoader loader;
-	
-	private final Map<ClassLoader, Map<String, Method>> resetMethodCache;
+
+	/**
+	 * Cache of the resolved reset invokers for each loader. Classes without
+	 * a __STATIC_RESET method are cached too (with a null invoker), so that
+	 * they are not looked up reflectively over and over again
+	 */
+	private final Map<ClassLoader, Map<String, ResetInvoker>> resetMethodCache;
+
+	/**
+	 * The reflective reset method of a class, together with a method handle
+	 * for invoking it without the overhead of {@link Method#invoke}
+	 */
+	private static final class ResetInvoker {
+		private final Method method;
+		private final MethodHandle handle;
+
+		private ResetInvoker(Method method, MethodHandle handle) {
+			this.method = method;
+			this.handle = handle;
+		}
+	}
 
 	private ClassResetter(){
 		resetMethodCache = new HashMap<>();
@@ -87,39 +107,58 @@ public class ClassResetter {
 		AtMostOnceLogger.warn(logger,msg);
 	}
 
-	private void cacheResetMethod(String classNameWithDots) {
+	private ResetInvoker getResetInvoker(String classNameWithDots) {
 
-		if (!resetMethodCache.containsKey(loader)) {
-            resetMethodCache.put(loader, new HashMap<>());
-        }
+		Map<String, ResetInvoker> methodMap = resetMethodCache.get(loader);
+		if (methodMap == null) {
+			methodMap = new HashMap<>();
+			resetMethodCache.put(loader, methodMap);
+		}
 
-		Map<String, Method> methodMap = resetMethodCache.get(loader);
-        if (methodMap.containsKey(classNameWithDots)) {
-			return;
+		if (methodMap.containsKey(classNameWithDots)) {
+			return methodMap.get(classNameWithDots);
 		}
 
-        try {
-            Class<?> clazz = loader.loadClass(classNameWithDots);
+		// only cache a class that definitely has or has no reset method, a
+		// failure to load it may not happen again
+		ResetInvoker invoker = null;
+		try {
+			Class<?> clazz = loader.loadClass(classNameWithDots);
 
-			if(clazz.isInterface() || clazz.isAnonymousClass()) {
-				return;
+			if(!clazz.isInterface() && !clazz.isAnonymousClass()) {
+				Method m = clazz.getDeclaredMethod(STATIC_RESET, (Class<?>[]) null);
+				m.setAccessible(true);
+				MethodHandle handle = MethodHandles.lookup().unreflect(m);
+				invoker = new ResetInvoker(m, handle);
 			}
-            
-            Method m = clazz.getDeclaredMethod(STATIC_RESET, (Class<?>[]) null);
-            m.setAccessible(true);
-            methodMap.put(classNameWithDots, m);
+			methodMap.put(classNameWithDots, invoker);
 
-        } catch (NoSuchMethodException e) {
+		} catch (NoSuchMethodException e) {
 			//this can happen if class was not instrumented with a static reset
 			logger.debug("__STATIC_RESET() method does not exists in class {}", classNameWithDots);
+			methodMap.put(classNameWithDots, null);
 		} catch (Exception | Error e) {
 			logWarn(classNameWithDots, e.getClass() + " thrown while loading method  __STATIC_RESET() for class " + classNameWithDots);
 		}
+
+		return invoker;
 	}
-	
+
 	public Method getResetMethod(String classNameWithDots) {
-		cacheResetMethod(classNameWithDots);
-		return resetMethodCache.get(loader).get(classNameWithDots);
+		ResetInvoker invoker = getResetInvoker(classNameWithDots);
+		return invoker == null ? null : invoker.method;
+	}
+
+	/**
+	 * Returns a method handle of type <code>()V</code> for the __STATIC_RESET
+	 * method of the class, or null if the class has no such method
+	 * 
+	 * @param classNameWithDots
+	 * @return
+	 */
+	public MethodHandle getResetMethodHandle(String classNameWithDots) {
+		ResetInvoker invoker = getResetInvoker(classNameWithDots);
+		return invoker == null ? null : invoker.handle;
 	}
 
 	/**
@@ -136,7 +175,7 @@ public class ClassResetter {
 			throw new IllegalStateException("No specified loader");
 		}
 		
-		Method m = getResetMethod(classNameWithDots);
+		MethodHandle m = getResetMethodHandle(classNameWithDots);
 		if(m == null) {
             return;
         }
@@ -154,22 +193,14 @@ public class ClassResetter {
 				Sandbox.goingToExecuteUnsafeCodeOnSameThread();
 			}
 			LoopCounter.getInstance().setActive(false);
-			m.invoke(null, (Object[]) null);
-		} catch (IllegalAccessException | IllegalArgumentException e) {
-            logger.error(""+e,e);
-        } catch (NoClassDefFoundError e){
-			AtMostOnceLogger.error(logger,e.toString());
-        } catch(InvocationTargetException e){
-
-			Throwable cause = e.getCause();
-			if(cause instanceof TooManyResourcesException || cause instanceof NoClassDefFoundError){
-				logWarn(classNameWithDots, e.toString() + ", caused by: "+cause.toString());
-			} else {
-				StringWriter errors = new StringWriter();
-				cause.printStackTrace(new PrintWriter(errors));
-				logWarn(classNameWithDots, e.toString() + ", caused by: "+cause.toString()+"\n"+errors.toString());
-				// we are only interested in the stack trace of the cause
-			}
+			m.invokeExact();
+		} catch (TooManyResourcesException | NoClassDefFoundError e){
+			logWarn(classNameWithDots, e.toString());
+		} catch(Throwable cause){
+			// we are only interested in the stack trace of the exception thrown by the class initializer
+			StringWriter errors = new StringWriter();
+			cause.printStackTrace(new PrintWriter(errors));
+			logWarn(classNameWithDots, "Exception thrown by "+STATIC_RESET+", caused by: "+cause.toString()+"\n"+errors.toString());
         } finally {
 			if(!safe){
 				Sandbox.doneWithExecutingUnsafeCodeOnSameThread();
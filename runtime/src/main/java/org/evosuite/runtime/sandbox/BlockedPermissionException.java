@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.sandbox;
+
+import java.security.Permission;
+
+/**
+ * Thrown by {@link MSecurityManager} when it blocks a permission. The message
+ * contains the stack of the denied call, but it is only formatted when
+ * requested, as the SUT often catches and ignores these exceptions.
+ */
+public class BlockedPermissionException extends SecurityException {
+
+	private static final long serialVersionUID = -5016390398361939493L;
+
+	private final Permission permission;
+
+	private final StackTraceElement[] stack;
+
+	private String message;
+
+	public BlockedPermissionException(Permission permission, StackTraceElement[] stack) {
+		this.permission = permission;
+		this.stack = stack;
+	}
+
+	public Permission getPermission() {
+		return permission;
+	}
+
+	@Override
+	public synchronized String getMessage() {
+		if (message == null) {
+			StringBuilder builder = new StringBuilder("Security manager blocks ");
+			builder.append(permission).append('\n');
+			for (StackTraceElement e : stack) {
+				builder.append(e).append('\n');
+			}
+			message = builder.toString();
+		}
+		return message;
+	}
+}
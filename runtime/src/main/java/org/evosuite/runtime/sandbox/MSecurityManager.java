@@ -39,8 +39,11 @@ import java.sql.SQLPermission;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.PropertyPermission;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.logging.FileHandler;
 import java.util.logging.LoggingPermission;
@@ -103,6 +106,8 @@ public class MSecurityManager extends SecurityManager {
 
 	private static final String AWT_HEADLESS = System.getProperty("java.awt.headless");
 
+	private static final String OBJECT_FIELDS_CLASS_NAME = PackageInfo.getEvoSuitePackage() + ".regression.ObjectFields";
+
     private static final String LOCALHOST_NAME;
     static {
         String tmp = null;
@@ -185,6 +190,51 @@ public class MSecurityManager extends SecurityManager {
 	 */
 	private final Set<Permission>  unrecognizedPermissions;
 
+	/**
+	 * Maximum number of distinct permissions for which a decision is cached
+	 */
+	private static final int MAX_CACHED_DECISIONS = 10_000;
+
+	/**
+	 * Cache of the decisions taken for SUT threads on the permissions whose
+	 * check only depends on their type, name and actions (and not on the stack
+	 * of the calling thread, the VFS or the state of the test execution)
+	 */
+	private final Map<PermissionKey, Boolean> decisionCache;
+
+	/**
+	 * Key of the decision cache: permission class, name and actions
+	 */
+	private static final class PermissionKey {
+		private final Class<?> type;
+		private final String name;
+		private final String actions;
+		private final int hash;
+
+		private PermissionKey(Permission perm) {
+			this.type = perm.getClass();
+			this.name = perm.getName();
+			this.actions = perm.getActions();
+			this.hash = Objects.hash(type, name, actions);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof PermissionKey))
+				return false;
+			PermissionKey other = (PermissionKey) obj;
+			return type == other.type && Objects.equals(name, other.name)
+					&& Objects.equals(actions, other.actions);
+		}
+	}
+
 	/**
 	 * Create a custom security manager for the SUT. The thread that create this
 	 * instance is automatically added as "privileged"
@@ -196,6 +246,7 @@ public class MSecurityManager extends SecurityManager {
 		executingTestCase = false;
 		privilegedThreadToIgnore = null;
 		unrecognizedPermissions = new CopyOnWriteArraySet<>();
+		decisionCache = new ConcurrentHashMap<>();
 
 		filesToDelete = new CopyOnWriteArraySet<>();
 	}
@@ -430,15 +481,13 @@ public class MSecurityManager extends SecurityManager {
 	public void checkPermission(Permission perm) throws SecurityException {
 		// check access
 		if (!allowPermission(perm)) {
-			String stack = "\n";
-			for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-				if (e.toString().contains(
-						//FIXME use ObjectFields.class, but without adding Maven dependency (which would create a cycle)
-						PackageInfo.getEvoSuitePackage()+".regression.ObjectFields")) {
+			StackTraceElement[] elements = Thread.currentThread().getStackTrace();
+			for (StackTraceElement e : elements) {
+				//FIXME use ObjectFields.class, but without adding Maven dependency (which would create a cycle)
+				if (e.getClassName().startsWith(OBJECT_FIELDS_CLASS_NAME)) {
 					statistics.permissionAllowed(perm);
 					return;
 				}
-				stack += e + "\n";
 			}
 			if (executingTestCase) {
 				/*
@@ -447,9 +496,13 @@ public class MSecurityManager extends SecurityManager {
 				 */
 				statistics.permissionDenied(perm);
 			}
-			logger.debug("Security manager blocks permission " + perm + stack);
 
-			throw new SecurityException("Security manager blocks " + perm + stack);
+			BlockedPermissionException exception = new BlockedPermissionException(perm, elements);
+			if (logger.isDebugEnabled()) {
+				logger.debug(exception.getMessage());
+			}
+
+			throw exception;
 		} else {
 			if (executingTestCase) {
 				statistics.permissionAllowed(perm);
@@ -461,6 +514,14 @@ public class MSecurityManager extends SecurityManager {
 
 	// ------------------------------------------------------------------------------------------
 
+	/**
+	 * Runtime permissions that are granted when called from AWT. Checking the
+	 * name first avoids walking the stack for all the other permissions
+	 */
+	private static boolean isAWTRelevantRuntimePermission(String name) {
+		return name.equals("shutdownHooks") || name.equals("modifyThreadGroup") || name.equals("modifyThread");
+	}
+
 	private boolean isAWTThread() {
 		for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
 			if (e.getClassName().startsWith("java.awt"))
@@ -567,6 +628,49 @@ public class MSecurityManager extends SecurityManager {
 			return checkFilePermission((FilePermission) perm);
 		}
 
+		if (!isDecisionCacheable(perm)) {
+			return checkPermissionByType(perm);
+		}
+
+		PermissionKey key = new PermissionKey(perm);
+		Boolean decision = decisionCache.get(key);
+		if (decision == null) {
+			decision = checkPermissionByType(perm);
+			if (decisionCache.size() < MAX_CACHED_DECISIONS) {
+				decisionCache.put(key, decision);
+			}
+		}
+		return decision;
+	}
+
+	/**
+	 * Check whether the decision on the given permission only depends on its
+	 * class, name and actions, so that it can be cached
+	 * 
+	 * @param perm
+	 * @return
+	 */
+	private static boolean isDecisionCacheable(Permission perm) {
+		if (perm instanceof FilePermission || perm instanceof PropertyPermission) {
+			// these depend on the VFS, on the stack trace and on the test execution state
+			return false;
+		}
+		if (perm instanceof RuntimePermission && isAWTRelevantRuntimePermission(perm.getName().trim())) {
+			// these depend on whether the call comes from AWT
+			return false;
+		}
+		// permissions defined by the SUT might not be immutable
+		return perm.getClass().getName().startsWith("java");
+	}
+
+	/**
+	 * Decide on permissions other than file ones, solely based on their type
+	 * 
+	 * @param perm
+	 * @return
+	 */
+	private boolean checkPermissionByType(Permission perm) {
+
 		/*
 		 * following are not checked if sandbox is in IO mode, in which only FilePermissions are checked
 		 */
@@ -1028,13 +1132,8 @@ public class MSecurityManager extends SecurityManager {
 
 		// AWT needs to be treated specially
 		//FIXME handling of awt read permission
-		if ("true".equals(AWT_HEADLESS) && isAWTThread()) {
-			if (name.equals("shutdownHooks"))
-				return true;
-			if (name.equals("modifyThreadGroup"))
-				return true;
-			if (name.equals("modifyThread"))
-				return true;
+		if (isAWTRelevantRuntimePermission(name) && "true".equals(AWT_HEADLESS) && isAWTThread()) {
+			return true;
 		}
 
 		/*
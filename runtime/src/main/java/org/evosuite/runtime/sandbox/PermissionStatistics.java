@@ -54,8 +54,6 @@ public class PermissionStatistics {
 
 	private static PermissionStatistics instance = new PermissionStatistics();
 
-	private final Map<String, Map<String, Integer>> allowedCount;
-
 	/**
 	 * Keep track of the denied exceptions. Key -> name of the permission class
 	 * Value -> a map from type (name+action) to counter of times it was thrown
@@ -74,7 +72,6 @@ public class PermissionStatistics {
 
     // Private constructor
 	private PermissionStatistics() {
-		allowedCount = new ConcurrentHashMap<String, Map<String, Integer>>();
 		deniedCount = new ConcurrentHashMap<String, Map<String, Integer>>();
 		deniedClassCount = new ConcurrentHashMap<Class<?>, Integer>();
 		recentAccess = Collections.synchronizedSet(new HashSet<String>());
@@ -133,17 +130,12 @@ public class PermissionStatistics {
 	 *            a {@link java.security.Permission} object.
 	 */
 	public void permissionAllowed(Permission permission) {
-		rememberRecentReadFilePermissions(permission);
-		String name = permission.getClass().getName();
-		String type = getPermissionType(permission);
-		if (!allowedCount.containsKey(name)) {
-			allowedCount.put(name, new HashMap<String, Integer>());
-		}
-
-		if (allowedCount.get(name).containsKey(type)) {
-			allowedCount.get(name).put(type, allowedCount.get(name).get(type) + 1);
-		} else {
-			allowedCount.get(name).put(type, 1);
+		/*
+		 * this is called for (nearly) every permission check of the SUT, and
+		 * only read file permissions are of interest here
+		 */
+		if (permission instanceof FilePermission) {
+			rememberRecentReadFilePermissions(permission);
 		}
 	}
 
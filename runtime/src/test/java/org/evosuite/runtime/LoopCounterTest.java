@@ -69,4 +69,56 @@ public class LoopCounterTest {
 		LoopCounter.getInstance().checkLoop(5);
 		LoopCounter.getInstance().checkLoop(6);
     }
+
+    @Test
+    public void testResetClearsCounters(){
+        int index = LoopCounter.getInstance().getNewIndex();
+        long max = RuntimeSettings.maxNumberOfIterationsPerLoop;
+
+        for (int round = 0; round < 3; round++) {
+            for (long i = 0; i < max - 1; i++) {
+                LoopCounter.getInstance().checkLoop(index);
+            }
+            LoopCounter.getInstance().reset();
+        }
+    }
+
+    @Test
+    public void testThreadLocalCounters() throws Exception {
+        boolean previous = RuntimeSettings.useThreadLocalLoopCounters;
+        RuntimeSettings.useThreadLocalLoopCounters = true;
+        try {
+            final int index = LoopCounter.getInstance().getNewIndex();
+            final long max = RuntimeSettings.maxNumberOfIterationsPerLoop;
+
+            Runnable loop = () -> {
+                for (long i = 0; i < max - 1; i++) {
+                    LoopCounter.getInstance().checkLoop(index);
+                }
+            };
+            loop.run();
+
+            //iterations of another thread should not count towards the limit of this one
+            final Throwable[] failure = new Throwable[1];
+            Thread other = new Thread(() -> {
+                try {
+                    loop.run();
+                } catch (Throwable t) {
+                    failure[0] = t;
+                }
+            });
+            other.start();
+            other.join();
+            Assert.assertNull(failure[0]);
+
+            try {
+                LoopCounter.getInstance().checkLoop(index);
+                Assert.fail();
+            } catch (TooManyResourcesException e) {
+                //expected
+            }
+        } finally {
+            RuntimeSettings.useThreadLocalLoopCounters = previous;
+        }
+    }
 }
@@ -56,6 +56,30 @@ public class ClassResetterTest {
         Assert.assertTrue(val);
     }
 
+    @Test
+    public void testResetMethodIsLookedUpAgainAfterFailure() throws Exception{
+
+        String cut = "com.examples.with.different.packagename.classhandling.FooEnum";
+        final boolean[] fail = {true};
+        ClassLoader loader = new EvoClassLoader(){
+            @Override
+            public Class<?> loadClass(String name) throws ClassNotFoundException {
+                if(fail[0] && name.equals(cut)){
+                    throw new ClassNotFoundException(name);
+                }
+                return super.loadClass(name);
+            }
+        };
+        RuntimeSettings.resetStaticState = true;
+        ClassResetter.getInstance().setClassLoader(loader);
+
+        Assert.assertNull(ClassResetter.getInstance().getResetMethod(cut));
+
+        //a failure to load the class must not disable its reset for good
+        fail[0] = false;
+        Assert.assertNotNull(ClassResetter.getInstance().getResetMethod(cut));
+    }
+
     // TODO: We could consider providing a workaround to reset mutable enums.
     @Ignore
     @Test
@@ -352,4 +352,47 @@ public class MSecurityManagerTest {
 	}
 	
 	
+	@Test
+	public void testCachedDecisionsAreStable() throws Exception{
+
+		Future<?> future = executor.submit(new Runnable(){
+			@Override
+			public void run() {
+				for(int i=0; i<3; i++) {
+					//allowed every time
+					securityManager.checkPermission(new RuntimePermission("accessDeclaredMembers"));
+
+					//denied every time
+					try {
+						securityManager.checkPermission(new RuntimePermission("setSecurityManager"));
+						Assert.fail();
+					} catch(SecurityException e){
+						//expected
+					}
+				}
+			}
+		});
+		future.get(1000, TimeUnit.MILLISECONDS);
+	}
+
+	@Test
+	public void testBlockedPermissionException() throws Exception{
+
+		final RuntimePermission perm = new RuntimePermission("setSecurityManager");
+		Future<?> future = executor.submit(new Runnable(){
+			@Override
+			public void run() {
+				try {
+					securityManager.checkPermission(perm);
+					Assert.fail();
+				} catch(BlockedPermissionException e){
+					Assert.assertSame(perm, e.getPermission());
+					Assert.assertTrue(e.getMessage().startsWith("Security manager blocks " + perm + "\n"));
+					Assert.assertTrue(e.getMessage().contains(MSecurityManagerTest.class.getName()));
+				}
+			}
+		});
+		future.get(1000, TimeUnit.MILLISECONDS);
+	}
+
 }
@@ -10,12 +10,12 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 
-import evosuite.shell.excel.ExcelWriter;
+import evosuite.shell.excel.ResultJournal;
 import evosuite.shell.utils.LoggerUtils;
 
 public class ActualStatisticsRecorder extends ExperimentRecorder {
 	private Logger log = LoggerUtils.getLogger(ActualStatisticsRecorder.class);
-	private ExcelWriter excelWriter;
+	private ResultJournal excelWriter;
 	
 	private static String[] header = new String[]{
 			"Class", 
@@ -25,8 +25,8 @@ public class ActualStatisticsRecorder extends ExperimentRecorder {
 	
 	public ActualStatisticsRecorder() {
 		super();
-		excelWriter = new ExcelWriter(FileUtils.newFile(Settings.getReportFolder(), projectId + "_evotest_overall.xlsx"));
-		excelWriter.getSheet("data", header, 0);
+		excelWriter = new ResultJournal(FileUtils.newFile(Settings.getReportFolder(), projectId + "_evotest_overall.xlsx"));
+		excelWriter.initSheet("data", header, 0);
 	}
 
 	
@@ -70,4 +70,14 @@ public class ActualStatisticsRecorder extends ExperimentRecorder {
 	public String getFinalReportFilePath() {
 		return excelWriter.getFile().getAbsolutePath();
 	}
+
+	@Override
+	public void close() {
+		super.close();
+		try {
+			excelWriter.close();
+		} catch (IOException e) {
+			log.error("Error", e);
+		}
+	}
 }
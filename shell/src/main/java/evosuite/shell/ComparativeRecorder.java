@@ -10,12 +10,12 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 
-import evosuite.shell.excel.ExcelWriter;
+import evosuite.shell.excel.ResultJournal;
 import evosuite.shell.utils.LoggerUtils;
 
 public class ComparativeRecorder extends ExperimentRecorder {
 	private Logger log = LoggerUtils.getLogger(ComparativeRecorder.class);
-	private ExcelWriter excelWriter;
+	private ResultJournal excelWriter;
 	
 	public static String GOOD_COVERAGE = "good coverage";
 	public static String GOOD_TIME = "good time";
@@ -43,12 +43,12 @@ public class ComparativeRecorder extends ExperimentRecorder {
 	
 	public ComparativeRecorder() {
 		super();
-		excelWriter = new ExcelWriter(FileUtils.newFile(Settings.getReportFolder(), projectId + "_evotest_compare.xlsx"));
-		excelWriter.getSheet(GOOD_COVERAGE, header, 0);
-		excelWriter.getSheet(GOOD_TIME, header, 0);
-		excelWriter.getSheet(EQUAL, header, 0);
-		excelWriter.getSheet(WORSE_COVERAGE, header, 0);
-		excelWriter.getSheet(WOSE_TIME, header, 0);
+		excelWriter = new ResultJournal(FileUtils.newFile(Settings.getReportFolder(), projectId + "_evotest_compare.xlsx"));
+		excelWriter.initSheet(GOOD_COVERAGE, header, 0);
+		excelWriter.initSheet(GOOD_TIME, header, 0);
+		excelWriter.initSheet(EQUAL, header, 0);
+		excelWriter.initSheet(WORSE_COVERAGE, header, 0);
+		excelWriter.initSheet(WOSE_TIME, header, 0);
 	}
 
 	
@@ -106,4 +106,14 @@ public class ComparativeRecorder extends ExperimentRecorder {
 	public String getFinalReportFilePath() {
 		return excelWriter.getFile().getAbsolutePath();
 	}
+
+	@Override
+	public void close() {
+		super.close();
+		try {
+			excelWriter.close();
+		} catch (IOException e) {
+			log.error("Error", e);
+		}
+	}
 }
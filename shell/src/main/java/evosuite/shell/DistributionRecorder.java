@@ -12,33 +12,33 @@ import org.evosuite.result.TestGenerationResult;
 import org.mockito.internal.util.StringUtil;
 import org.slf4j.Logger;
 
-import evosuite.shell.excel.ExcelWriter;
+import evosuite.shell.excel.ResultJournal;
 import evosuite.shell.experiment.SFConfiguration;
 import evosuite.shell.utils.LoggerUtils;
 
 public class DistributionRecorder extends ExperimentRecorder {
 	private Logger log = LoggerUtils.getLogger(DistributionRecorder.class);
-	private ExcelWriter distributionExcelWriter;
+	private ResultJournal distributionExcelWriter;
 	public ArrayList<Double> distances = new ArrayList<Double>();
 	public List<EvoTestResult> allresults = new ArrayList<EvoTestResult>();
 
 	public DistributionRecorder() {
 		super();
-		distributionExcelWriter = new ExcelWriter(
+		distributionExcelWriter = new ResultJournal(
 				FileUtils.newFile(Settings.getReportFolder(), projectId + "_distribution.xlsx"));
-		distributionExcelWriter.getSheet("distribution",
+		distributionExcelWriter.initSheet("distribution",
 				new String[] { "Class", "Method", "distribution", "averagedistance", "map", "time", "coverage" }, 0);
-		distributionExcelWriter.getSheet("progress", new String[] { "Class", "Method", "" }, 0);
+		distributionExcelWriter.initSheet("progress", new String[] { "Class", "Method", "" }, 0);
 
 	}
 
 	public DistributionRecorder(String strategy) {
 		super();
-		distributionExcelWriter = new ExcelWriter(
+		distributionExcelWriter = new ResultJournal(
 				FileUtils.newFile(Settings.getReportFolder(), projectId + "_" + strategy + "_distribution.xlsx"));
-		distributionExcelWriter.getSheet("distribution",
+		distributionExcelWriter.initSheet("distribution",
 				new String[] { "Class", "Method", "distribution", "averagedistance", "map", "time", "coverage" }, 0);
-		distributionExcelWriter.getSheet("progress", new String[] { "Class", "Method", "" }, 0);
+		distributionExcelWriter.initSheet("progress", new String[] { "Class", "Method", "" }, 0);
 
 	}
 
@@ -113,4 +113,14 @@ public class DistributionRecorder extends ExperimentRecorder {
 		return distributionExcelWriter.getFile().getAbsolutePath();
 	}
 
+	@Override
+	public void close() {
+		super.close();
+		try {
+			distributionExcelWriter.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
 }
@@ -225,11 +225,17 @@ public class EvosuiteForMethod {
 
 				String[] truncatedArgs = extractArgs(args);
 
-				if (Settings.getTestLevel() == TestLevel.lMethod) {
-//					System.setProperty("java.io.tmpdir", "/temporary");
-					results = evoTest.runAllMethods(truncatedArgs, projectName, recorderList);
-				} else {
-					results = evoTest.runAllClasses(targetClasses, truncatedArgs, projectName, recorderList);
+				try {
+					if (Settings.getTestLevel() == TestLevel.lMethod) {
+//						System.setProperty("java.io.tmpdir", "/temporary");
+						results = evoTest.runAllMethods(truncatedArgs, projectName, recorderList);
+					} else {
+						results = evoTest.runAllClasses(targetClasses, truncatedArgs, projectName, recorderList);
+					}
+				} finally {
+					for (ExperimentRecorder recorder : recorderList) {
+						recorder.close();
+					}
 				}
 			}
 		} catch (Throwable e) {
@@ -442,7 +448,8 @@ public class EvosuiteForMethod {
 			}
 		}
 		
-		
+		comRecorder.close();
+		actRecorder.close();
 
 		return results;
 	}
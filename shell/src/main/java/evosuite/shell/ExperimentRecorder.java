@@ -52,4 +52,11 @@ public class ExperimentRecorder {
 		// TODO Auto-generated method stub
 		
 	}
+
+	/**
+	 * Called once all methods are done, e.g. to write the final reports.
+	 */
+	public void close() {
+		// override when needed.
+	}
 }
@@ -24,7 +24,7 @@ import org.slf4j.Logger;
 
 import com.alibaba.fastjson.JSON;
 
-import evosuite.shell.excel.ExcelWriter;
+import evosuite.shell.excel.ResultJournal;
 import evosuite.shell.utils.LoggerUtils;
 
 /**
@@ -34,22 +34,22 @@ import evosuite.shell.utils.LoggerUtils;
  */
 public class FitnessEffectiveRecorder extends ExperimentRecorder {
 	private Logger log = LoggerUtils.getLogger(FitnessEffectiveRecorder.class);
-	private ExcelWriter excelWriter;
-	private ExcelWriter evoSeedWriter;
+	private ResultJournal excelWriter;
+	private ResultJournal evoSeedWriter;
 	private OutputStreamWriter jsonWriter;
 
 	public FitnessEffectiveRecorder() throws IOException {
 		super();
 		
-		excelWriter = new ExcelWriter(FileUtils.newFile(Settings.getReportFolder(), projectId + "_evotest.xlsx"));
-		excelWriter.getSheet("data",
+		excelWriter = new ResultJournal(FileUtils.newFile(Settings.getReportFolder(), projectId + "_evotest.xlsx"));
+		excelWriter.initSheet("data",
 				new String[] { "Class", "Method", "Execution Time", "Coverage", "Age", "Call Availability",
 						"IP Flag Coverage", "Uncovered IF Flag", "Random Seed", "Unavailable Call", "Initial Coverage",
 						"Initialization Overhead", "CoveredBranchWithTest","Missing Branches","Missing InstructID"},
 				0);
 		
-		evoSeedWriter = new ExcelWriter(FileUtils.newFile(Settings.getReportFolder(), "evoseedType.xlsx"));
-		evoSeedWriter.getSheet("data",
+		evoSeedWriter = new ResultJournal(FileUtils.newFile(Settings.getReportFolder(), "evoseedType.xlsx"));
+		evoSeedWriter.initSheet("data",
 				new String[] { "PID","Class", "Method", "Branch-Type", "Num"},
 				0);
 		
@@ -152,6 +152,17 @@ public class FitnessEffectiveRecorder extends ExperimentRecorder {
 	public String getFinalReportFilePath() {
 		return excelWriter.getFile().getAbsolutePath();
 	}
+
+	@Override
+	public void close() {
+		super.close();
+		try {
+			excelWriter.close();
+			evoSeedWriter.close();
+		} catch (IOException e) {
+			log.error("Error", e);
+		}
+	}
 	
 	@Override
 	public void recordSeedingToJson(String className, String methodName, EvoTestResult r) throws IOException {
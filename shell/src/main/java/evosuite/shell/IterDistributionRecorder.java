@@ -12,20 +12,20 @@ import org.evosuite.result.TestGenerationResult;
 import org.mockito.internal.util.StringUtil;
 import org.slf4j.Logger;
 
-import evosuite.shell.excel.ExcelWriter;
+import evosuite.shell.excel.ResultJournal;
 import evosuite.shell.experiment.SFConfiguration;
 import evosuite.shell.utils.LoggerUtils;
 
 public class IterDistributionRecorder extends DistributionRecorder {
 
 	private Logger log = LoggerUtils.getLogger(DistributionRecorder.class);
-	private ExcelWriter iterdistributionExcelWriter;
+	private ResultJournal iterdistributionExcelWriter;
 
 	public IterDistributionRecorder() {
 		super();
-		iterdistributionExcelWriter = new ExcelWriter(
+		iterdistributionExcelWriter = new ResultJournal(
 				FileUtils.newFile(Settings.getReportFolder(), projectId + "_distribution_stat.xlsx"));
-		iterdistributionExcelWriter.getSheet("data",
+		iterdistributionExcelWriter.initSheet("data",
 				new String[] { "Class", "Method", "averagedistance", "time", "coverage" }, 0);
 		allresults = new ArrayList<EvoTestResult>();
 
@@ -33,9 +33,9 @@ public class IterDistributionRecorder extends DistributionRecorder {
 
 	public IterDistributionRecorder(String strategy) {
 		super(strategy);
-		iterdistributionExcelWriter = new ExcelWriter(
+		iterdistributionExcelWriter = new ResultJournal(
 				FileUtils.newFile(Settings.getReportFolder(), projectId + "_" + strategy + "_distribution_stat.xlsx"));
-		iterdistributionExcelWriter.getSheet("data",
+		iterdistributionExcelWriter.initSheet("data",
 				new String[] { "Class", "Method", "averagedistance", "time", "coverage" }, 0);
 		allresults = new ArrayList<EvoTestResult>();
 
@@ -93,4 +93,14 @@ public class IterDistributionRecorder extends DistributionRecorder {
 		return iterdistributionExcelWriter.getFile().getAbsolutePath();
 	}
 
+	@Override
+	public void close() {
+		super.close();
+		try {
+			iterdistributionExcelWriter.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
 }
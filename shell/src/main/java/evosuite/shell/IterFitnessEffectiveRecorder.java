@@ -13,7 +13,7 @@ import org.evosuite.coverage.branch.Branch;
 import org.evosuite.result.BranchInfo;
 import org.slf4j.Logger;
 
-import evosuite.shell.excel.ExcelWriter;
+import evosuite.shell.excel.ResultJournal;
 import evosuite.shell.utils.LoggerUtils;
 
 public class IterFitnessEffectiveRecorder extends FitnessEffectiveRecorder {
@@ -21,13 +21,13 @@ public class IterFitnessEffectiveRecorder extends FitnessEffectiveRecorder {
 	private List<EvoTestResult> currentResult = new ArrayList<>();
 
 	private Logger log = LoggerUtils.getLogger(FitnessEffectiveRecorder.class);
-	private ExcelWriter excelWriter;
+	private ResultJournal excelWriter;
 	private int iterator;
 
 	public IterFitnessEffectiveRecorder(int iterator) throws IOException {
 		super();
 		this.iterator = iterator;
-		excelWriter = new ExcelWriter(FileUtils.newFile(Settings.getReportFolder(), new StringBuilder()
+		excelWriter = new ResultJournal(FileUtils.newFile(Settings.getReportFolder(), new StringBuilder()
 				.append(projectId).append("_evotest_").append(iterator).append("times.xlsx").toString()));
 		List<String> header = new ArrayList<>();
 		header.add("Class");
@@ -48,7 +48,7 @@ public class IterFitnessEffectiveRecorder extends FitnessEffectiveRecorder {
 		header.add("Avg Initial Coverage");
 		header.add("Avg Initialization Overhead");
 		header.add("Age Age");
-		excelWriter.getSheet("data", header.toArray(new String[header.size()]), 0);
+		excelWriter.initSheet("data", header.toArray(new String[header.size()]), 0);
 	}
 
 	@Override
@@ -145,4 +145,14 @@ public class IterFitnessEffectiveRecorder extends FitnessEffectiveRecorder {
 	public String getFinalReportFilePath() {
 		return excelWriter.getFile().getAbsolutePath();
 	}
+
+	@Override
+	public void close() {
+		super.close();
+		try {
+			excelWriter.close();
+		} catch (IOException e) {
+			log.error("Error", e);
+		}
+	}
 }
@@ -13,28 +13,28 @@ import org.evosuite.result.TestGenerationResult;
 import org.mockito.internal.util.StringUtil;
 import org.slf4j.Logger;
 
-import evosuite.shell.excel.ExcelWriter;
+import evosuite.shell.excel.ResultJournal;
 import evosuite.shell.experiment.SFConfiguration;
 import evosuite.shell.utils.LoggerUtils;
 
 public class OneBranchRecorder extends ExperimentRecorder {
 	
 	private Logger log = LoggerUtils.getLogger(DistributionRecorder.class);
-	private ExcelWriter oneBranchExcelWriter;
+	private ResultJournal oneBranchExcelWriter;
 
 	public OneBranchRecorder() {
 		super();
-		oneBranchExcelWriter = new ExcelWriter(
+		oneBranchExcelWriter = new ResultJournal(
 				FileUtils.newFile(Settings.getReportFolder(), projectId + "_oneBranch.xlsx"));
-		oneBranchExcelWriter.getSheet("branch",
+		oneBranchExcelWriter.initSheet("branch",
 				new String[] { "Class", "Method", "branchID", "covered", "distance", "time", "fitness" }, 0);
 	}
 
 	public OneBranchRecorder(String strategy) {
 		super();
-		oneBranchExcelWriter = new ExcelWriter(
+		oneBranchExcelWriter = new ResultJournal(
 				FileUtils.newFile(Settings.getReportFolder(), projectId + "_" + strategy + "_oneBranch.xlsx"));
-		oneBranchExcelWriter.getSheet("branch",
+		oneBranchExcelWriter.initSheet("branch",
 				new String[] {"Class", "Method", "branchID", "covered", "distance", "time", "fitness" }, 0);
 
 	}
@@ -79,4 +79,14 @@ public class OneBranchRecorder extends ExperimentRecorder {
 		return oneBranchExcelWriter.getFile().getAbsolutePath();
 	}
 
+	@Override
+	public void close() {
+		super.close();
+		try {
+			oneBranchExcelWriter.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
 }
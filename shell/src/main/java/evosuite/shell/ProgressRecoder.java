@@ -10,21 +10,21 @@ import java.util.List;
 import org.evosuite.result.TestGenerationResult;
 import org.slf4j.Logger;
 
-import evosuite.shell.excel.ExcelWriter;
+import evosuite.shell.excel.ResultJournal;
 import evosuite.shell.experiment.SFConfiguration;
 import evosuite.shell.utils.LoggerUtils;
 
 public class ProgressRecoder extends ExperimentRecorder {
 	private Logger log = LoggerUtils.getLogger(ProgressRecoder.class);
-	private ExcelWriter distributionExcelWriter;
-	private ExcelWriter progressExcelWriter;
+	private ResultJournal distributionExcelWriter;
+	private ResultJournal progressExcelWriter;
 	
 	public ProgressRecoder() {
 		super();
-		distributionExcelWriter = new ExcelWriter(FileUtils.newFile(Settings.getReportFolder(), projectId + "_distribution.xlsx"));
-		distributionExcelWriter.getSheet("data", new String[] {"Class", "Method", ""}, 0);
-		progressExcelWriter = new ExcelWriter(FileUtils.newFile(Settings.getReportFolder(), projectId + "_progress.xlsx"));
-		progressExcelWriter.getSheet("data", new String[] {"Class", "Method", ""}, 0);
+		distributionExcelWriter = new ResultJournal(FileUtils.newFile(Settings.getReportFolder(), projectId + "_distribution.xlsx"));
+		distributionExcelWriter.initSheet("data", new String[] {"Class", "Method", ""}, 0);
+		progressExcelWriter = new ResultJournal(FileUtils.newFile(Settings.getReportFolder(), projectId + "_progress.xlsx"));
+		progressExcelWriter.initSheet("data", new String[] {"Class", "Method", ""}, 0);
 	}
 	
 	@Override
@@ -64,5 +64,15 @@ public class ProgressRecoder extends ExperimentRecorder {
 			e.printStackTrace();
 		}
 	}
-	
+
+	@Override
+	public void close() {
+		super.close();
+		try {
+			progressExcelWriter.close();
+			distributionExcelWriter.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
 }
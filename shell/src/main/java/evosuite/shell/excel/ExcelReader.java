@@ -45,12 +45,22 @@ public class ExcelReader {
 		reset(file);
 	}
 
+	/**
+	 * Reads the result journal of the file instead, if there is one, as it is
+	 * the most up to date, see {@link ResultJournal}
+	 */
 	public void reset(File file) {
 		try {
 			close();
-			in = new FileInputStream(file);
-			workbook = new XSSFWorkbook(in);
-			this.file = file;
+			File journal = ResultJournal.getJournalFile(file);
+			if (journal.exists()) {
+				in = null;
+				workbook = ResultJournal.readWorkbook(journal);
+			} else {
+				in = new FileInputStream(file);
+				workbook = new XSSFWorkbook(in);
+			}
+			this.file = ResultJournal.getExcelFile(file);
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
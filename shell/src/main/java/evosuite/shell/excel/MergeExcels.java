@@ -127,7 +127,7 @@ public class MergeExcels {
 			
 			@Override
 			public boolean accept(File dir, String name) {
-				return name.endsWith(excelSuffix) && !name.startsWith("~");
+				return ResultJournal.isResultFile(new File(dir, name), excelSuffix) && !name.startsWith("~");
 			}
 		});
 		List<File> excels = CollectionUtil.toArrayList(files);
@@ -0,0 +1,469 @@
+package evosuite.shell.excel;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Append-only store for the rows of the experiment recorders. Unlike
+ * {@link ExcelWriter}, which keeps the whole workbook in memory and writes it
+ * again for every recorded method, each row is appended to a journal file
+ * next to the excel file ({@code <name>.xlsx.journal}).
+ *
+ * <p>
+ * Every record is written as {@code [length][crc32][payload]}, so after a
+ * crash the journal is cut back to its last complete record. Records are
+ * forced to disk in batches. Several journals (also in different processes)
+ * may append to the same file: each record is written under a lock on the
+ * file, after reading the records the others appended. The excel file is produced from the journal by
+ * {@link #exportExcel()} (also done by {@link #close()}) or on demand with
+ * {@link #main(String[])}, and {@link ExcelReader} reads a journal directly if
+ * there is one.
+ *
+ * cmd: ResultJournal file.xlsx[.journal]...
+ */
+public class ResultJournal implements Closeable {
+	public static final String JOURNAL_SUFFIX = ".journal";
+
+	private static final byte HEADER = 0;
+	private static final byte ROW = 1;
+
+	private static final byte NULL_CELL = 0;
+	private static final byte BOOLEAN_CELL = 1;
+	private static final byte NUMBER_CELL = 2;
+	private static final byte STRING_CELL = 3;
+
+	/** Records written before they are forced to disk */
+	private static final int SYNC_BATCH = 32;
+	private static final long SYNC_INTERVAL_MS = 5000;
+
+	/** Rows kept in memory per sheet when exporting */
+	private static final int EXPORT_WINDOW = 100;
+
+	/** Journals of this process on the same file, as file locks are held per process */
+	private static final Map<String, Object> monitors = new ConcurrentHashMap<>();
+
+	private final File file;
+	private final File journalFile;
+	private final Object monitor;
+	private FileChannel channel;
+	/** End of the records read or written by this journal */
+	private long end = 0;
+	private final Set<String> sheets = new HashSet<>();
+	private int unsynced = 0;
+	private long lastSync = System.currentTimeMillis();
+
+	public ResultJournal(File file) {
+		this.file = file;
+		this.journalFile = getJournalFile(file);
+		this.monitor = monitors.computeIfAbsent(journalFile.getAbsolutePath(), path -> new Object());
+		try {
+			channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			synchronized (monitor) {
+				try (FileLock lock = channel.lock()) {
+					catchUp();
+					if (end == 0 && file.exists()) {
+						importExcel();
+					}
+				}
+			}
+			sync();
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public static File getJournalFile(File excelFile) {
+		if (excelFile.getName().endsWith(JOURNAL_SUFFIX)) {
+			return excelFile;
+		}
+		return new File(excelFile.getPath() + JOURNAL_SUFFIX);
+	}
+
+	public static File getExcelFile(File journalFile) {
+		String path = journalFile.getPath();
+		if (path.endsWith(JOURNAL_SUFFIX)) {
+			return new File(path.substring(0, path.length() - JOURNAL_SUFFIX.length()));
+		}
+		return journalFile;
+	}
+
+	/**
+	 * Whether the file holds the results for the given suffix: either a journal,
+	 * or an excel file without journal
+	 */
+	public static boolean isResultFile(File file, String excelSuffix) {
+		String name = file.getName();
+		if (name.endsWith(excelSuffix + JOURNAL_SUFFIX)) {
+			return true;
+		}
+		return name.endsWith(excelSuffix) && !getJournalFile(file).exists();
+	}
+
+	/**
+	 * Adds the header of the sheet, unless the journal already has one
+	 */
+	public synchronized void initSheet(String sheetName, String[] headers, int headerRowIdx) {
+		if (sheets.contains(sheetName)) {
+			return;
+		}
+		try {
+			append(Arrays.asList(
+					new Record(HEADER, sheetName, headerRowIdx, new ArrayList<Object>(Arrays.asList(headers)))));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public synchronized void writeSheet(String sheetName, List<List<Object>> data) throws IOException {
+		List<Record> records = new ArrayList<>(data.size());
+		for (List<Object> rowData : data) {
+			records.add(new Record(ROW, sheetName, -1, rowData));
+		}
+		append(records);
+	}
+
+	public synchronized void sync() throws IOException {
+		channel.force(false);
+		unsynced = 0;
+		lastSync = System.currentTimeMillis();
+	}
+
+	/**
+	 * Writes the journal as excel file
+	 */
+	public synchronized void exportExcel() throws IOException {
+		sync();
+		synchronized (monitor) {
+			try (FileLock lock = channel.lock()) {
+				writeExcel(journalFile, file);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (!channel.isOpen()) {
+			return;
+		}
+		exportExcel();
+		channel.close();
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	private void append(List<Record> records) throws IOException {
+		synchronized (monitor) {
+			try (FileLock lock = channel.lock()) {
+				catchUp();
+				for (Record record : records) {
+					write(record);
+				}
+			}
+		}
+		if (unsynced >= SYNC_BATCH || System.currentTimeMillis() - lastSync > SYNC_INTERVAL_MS) {
+			sync();
+		}
+	}
+
+	/**
+	 * Writes the record at the end of the journal, the file has to be locked
+	 */
+	private void write(Record record) throws IOException {
+		if (record.kind == HEADER && sheets.contains(record.sheet)) {
+			/* another journal added the header in the meantime */
+			return;
+		}
+		byte[] payload = record.toBytes();
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		ByteBuffer buffer = ByteBuffer.allocate(8 + payload.length);
+		buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			end += channel.write(buffer, end);
+		}
+		if (record.kind == HEADER) {
+			sheets.add(record.sheet);
+		}
+		unsynced++;
+	}
+
+	/**
+	 * Reads the records appended by other journals, and drops an incomplete
+	 * record at the end, left by a crash. The file has to be locked.
+	 */
+	private void catchUp() throws IOException {
+		long size = channel.size();
+		if (size == end) {
+			return;
+		}
+		channel.position(end);
+		/* not closed, that would close the channel */
+		RecordReader reader = new RecordReader(Channels.newInputStream(channel), size - end);
+		Record record;
+		while ((record = reader.next()) != null) {
+			if (record.kind == HEADER) {
+				sheets.add(record.sheet);
+			}
+		}
+		end += reader.validEnd;
+		if (end < size) {
+			System.out.println("Dropping incomplete records at the end of " + journalFile);
+			channel.truncate(end);
+		}
+	}
+
+	/**
+	 * Keeps the rows of an excel file written by an earlier version, the
+	 * journal has to be locked
+	 */
+	private void importExcel() throws IOException {
+		try (InputStream in = new FileInputStream(file); Workbook workbook = WorkbookFactory.create(in)) {
+			for (Sheet sheet : workbook) {
+				for (Row row : sheet) {
+					List<Object> cells = new ArrayList<>();
+					for (int i = 0; i < row.getLastCellNum(); i++) {
+						cells.add(getCellValue(row.getCell(i)));
+					}
+					boolean header = row.getRowNum() == sheet.getFirstRowNum() && !sheets.contains(sheet.getSheetName());
+					write(new Record(header ? HEADER : ROW, sheet.getSheetName(), header ? row.getRowNum() : -1, cells));
+				}
+			}
+		} catch (Exception e) {
+			System.out.println("Cannot import " + file + ": " + e.getMessage());
+		}
+	}
+
+	private static Object getCellValue(Cell cell) {
+		if (cell == null) {
+			return null;
+		}
+		CellType cellType = cell.getCellType();
+		switch (cellType) {
+		case BOOLEAN:
+			return cell.getBooleanCellValue();
+		case STRING:
+			return cell.getStringCellValue();
+		case NUMERIC:
+			return cell.getNumericCellValue();
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the complete records of a journal into an in-memory workbook, e.g.
+	 * for analyzing the results of a sweep that is still running
+	 */
+	public static Workbook readWorkbook(File journalFile) throws IOException {
+		Workbook workbook = new XSSFWorkbook();
+		fillWorkbook(journalFile, workbook);
+		return workbook;
+	}
+
+	/**
+	 * Writes the journal as excel file with a streaming workbook, so only a few
+	 * rows of each sheet are in memory at any time
+	 */
+	public static void writeExcel(File journalFile, File excelFile) throws IOException {
+		SXSSFWorkbook workbook = new SXSSFWorkbook(EXPORT_WINDOW);
+		try {
+			fillWorkbook(journalFile, workbook);
+			File tmp = new File(excelFile.getPath() + ".tmp");
+			try (OutputStream out = new FileOutputStream(tmp)) {
+				workbook.write(out);
+			}
+			if (excelFile.exists() && !excelFile.delete()) {
+				throw new IOException("Cannot replace " + excelFile);
+			}
+			if (!tmp.renameTo(excelFile)) {
+				throw new IOException("Cannot rename " + tmp + " to " + excelFile);
+			}
+		} finally {
+			workbook.dispose();
+			workbook.close();
+		}
+	}
+
+	private static void fillWorkbook(File journalFile, Workbook workbook) throws IOException {
+		Map<String, Integer> nextRow = new HashMap<>();
+		try (InputStream in = new FileInputStream(journalFile)) {
+			RecordReader reader = new RecordReader(in, journalFile.length());
+			Record record;
+			while ((record = reader.next()) != null) {
+				Sheet sheet = workbook.getSheet(record.sheet);
+				if (sheet == null) {
+					sheet = workbook.createSheet(record.sheet);
+				}
+				int next = nextRow.getOrDefault(record.sheet, 0);
+				int rowNum = record.kind == HEADER ? Math.max(record.rowIdx, next) : next;
+				Row row = sheet.createRow(rowNum);
+				int cellNum = 0;
+				for (Object value : record.cells) {
+					if (value instanceof Boolean) {
+						row.createCell(cellNum).setCellValue((Boolean) value);
+					} else if (value instanceof String) {
+						row.createCell(cellNum).setCellValue((String) value);
+					} else if (value instanceof Number) {
+						row.createCell(cellNum).setCellValue(((Number) value).doubleValue());
+					}
+					cellNum++;
+				}
+				nextRow.put(record.sheet, rowNum + 1);
+			}
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		for (String arg : args) {
+			File journal = getJournalFile(new File(arg));
+			File excel = getExcelFile(journal);
+			writeExcel(journal, excel);
+			System.out.println("Written " + excel);
+		}
+	}
+
+	private static class Record {
+		private final byte kind;
+		private final String sheet;
+		private final int rowIdx;
+		private final List<Object> cells;
+
+		private Record(byte kind, String sheet, int rowIdx, List<Object> cells) {
+			this.kind = kind;
+			this.sheet = sheet;
+			this.rowIdx = rowIdx;
+			this.cells = cells;
+		}
+
+		private byte[] toBytes() throws IOException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeByte(kind);
+			out.writeUTF(sheet);
+			out.writeInt(rowIdx);
+			out.writeInt(cells.size());
+			for (Object value : cells) {
+				if (value instanceof Boolean) {
+					out.writeByte(BOOLEAN_CELL);
+					out.writeBoolean((Boolean) value);
+				} else if (value instanceof Number) {
+					out.writeByte(NUMBER_CELL);
+					out.writeDouble(((Number) value).doubleValue());
+				} else if (value instanceof String) {
+					/* not writeUTF, as e.g. the missing branches can be longer than 64k */
+					byte[] string = ((String) value).getBytes(StandardCharsets.UTF_8);
+					out.writeByte(STRING_CELL);
+					out.writeInt(string.length);
+					out.write(string);
+				} else {
+					out.writeByte(NULL_CELL);
+				}
+			}
+			out.flush();
+			return bytes.toByteArray();
+		}
+
+		private static Record fromBytes(byte[] payload) throws IOException {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+			byte kind = in.readByte();
+			String sheet = in.readUTF();
+			int rowIdx = in.readInt();
+			int size = in.readInt();
+			List<Object> cells = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				byte type = in.readByte();
+				switch (type) {
+				case BOOLEAN_CELL:
+					cells.add(in.readBoolean());
+					break;
+				case NUMBER_CELL:
+					cells.add(in.readDouble());
+					break;
+				case STRING_CELL:
+					byte[] string = new byte[in.readInt()];
+					in.readFully(string);
+					cells.add(new String(string, StandardCharsets.UTF_8));
+					break;
+				default:
+					cells.add(null);
+				}
+			}
+			return new Record(kind, sheet, rowIdx, cells);
+		}
+	}
+
+	/**
+	 * Reads records up to the first incomplete or corrupted one
+	 */
+	private static class RecordReader {
+		private final DataInputStream in;
+		private final long size;
+		private long validEnd = 0;
+
+		private RecordReader(InputStream in, long size) {
+			this.in = new DataInputStream(new BufferedInputStream(in));
+			this.size = size;
+		}
+
+		private Record next() throws IOException {
+			try {
+				int length = in.readInt();
+				int crc = in.readInt();
+				if (length < 0 || validEnd + 8 + length > size) {
+					return null;
+				}
+				byte[] payload = new byte[length];
+				in.readFully(payload);
+				CRC32 check = new CRC32();
+				check.update(payload);
+				if ((int) check.getValue() != crc) {
+					return null;
+				}
+				Record record = Record.fromBytes(payload);
+				validEnd += 8 + length;
+				return record;
+			} catch (EOFException e) {
+				return null;
+			}
+		}
+	}
+}
@@ -7,6 +7,7 @@ import java.util.List;
 
 import evosuite.shell.excel.ExcelReader;
 import evosuite.shell.excel.ExcelWriter;
+import evosuite.shell.excel.ResultJournal;
 import evosuite.shell.experiment.SFConfiguration;
 
 public class ResultAnalzyer {
@@ -26,7 +27,7 @@ public class ResultAnalzyer {
 		
 		File reportRoot = new File(reportRootFolder);
 		for(File f: reportRoot.listFiles()) {
-			if(f.getName().endsWith("evotest.xlsx")) {
+			if(ResultJournal.isResultFile(f, "evotest.xlsx")) {
 				ExcelReader reader = new ExcelReader(f, 0);
 				List<List<Object>> datas = reader.listData("data");
 				if(datas != null) {
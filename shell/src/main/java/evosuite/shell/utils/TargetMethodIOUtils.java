@@ -17,6 +17,7 @@ import org.evosuite.utils.CollectionUtil;
 
 import evosuite.shell.excel.ExcelReader;
 import evosuite.shell.excel.ExcelWriter;
+import evosuite.shell.excel.ResultJournal;
 import evosuite.shell.experiment.SFBenchmarkUtils;
 
 public class TargetMethodIOUtils {
@@ -293,7 +294,7 @@ public class TargetMethodIOUtils {
 	public static Set<String> collectMethods(String reportFile) {
 		Set<String> methods = new HashSet<>();
 		File file = new File(reportFile);
-		if (!file.exists()) {
+		if (!file.exists() && !ResultJournal.getJournalFile(file).exists()) {
 			return methods;
 		}
 		try {
@@ -0,0 +1,183 @@
+package utiltest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import evosuite.shell.excel.ResultJournal;
+
+public class ResultJournalTest {
+	private static final String SHEET = "data";
+	private static final String[] HEADERS = new String[] { "method", "coverage", "done" };
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		File file = new File(folder.getRoot(), "result.xlsx");
+		try (ResultJournal journal = new ResultJournal(file)) {
+			journal.initSheet(SHEET, HEADERS, 0);
+			journal.writeSheet(SHEET, Arrays.asList(row("a", 0.5, true), row("b", 1.0, null)));
+			journal.initSheet(SHEET, HEADERS, 0);
+			journal.sync();
+
+			assertEquals(Arrays.asList("method|coverage|done", "a|0.5|true", "b|1.0|"), readJournal(file));
+		}
+		assertEquals(Arrays.asList("method|coverage|done", "a|0.5|true", "b|1.0|"), readExcel(file));
+
+		try (ResultJournal journal = new ResultJournal(file)) {
+			journal.initSheet(SHEET, HEADERS, 0);
+			journal.writeSheet(SHEET, Arrays.asList(row("c", 0.0, false)));
+		}
+		assertEquals(Arrays.asList("method|coverage|done", "a|0.5|true", "b|1.0|", "c|0.0|false"),
+				readJournal(file));
+	}
+
+	@Test
+	public void testTruncatedRecordIsDropped() throws IOException {
+		File file = writeTwoRows();
+		File journalFile = ResultJournal.getJournalFile(file);
+		long length = journalFile.length();
+		try (RandomAccessFile raf = new RandomAccessFile(journalFile, "rw")) {
+			raf.setLength(length - 3);
+		}
+		assertEquals(Arrays.asList("method|coverage|done", "a|0.5|true"), readJournal(file));
+
+		try (ResultJournal journal = new ResultJournal(file)) {
+			journal.writeSheet(SHEET, Arrays.asList(row("c", 0.0, false)));
+		}
+		assertEquals(Arrays.asList("method|coverage|done", "a|0.5|true", "c|0.0|false"), readJournal(file));
+	}
+
+	@Test
+	public void testCorruptedRecordIsRejected() throws IOException {
+		File file = writeTwoRows();
+		File journalFile = ResultJournal.getJournalFile(file);
+		long length = journalFile.length();
+		try (RandomAccessFile raf = new RandomAccessFile(journalFile, "rw")) {
+			raf.seek(length - 1);
+			int last = raf.read();
+			raf.seek(length - 1);
+			raf.write(last ^ 0xff);
+		}
+		assertEquals(Arrays.asList("method|coverage|done", "a|0.5|true"), readJournal(file));
+
+		try (ResultJournal journal = new ResultJournal(file)) {
+			journal.writeSheet(SHEET, Arrays.asList(row("c", 0.0, false)));
+		}
+		assertEquals(Arrays.asList("method|coverage|done", "a|0.5|true", "c|0.0|false"), readJournal(file));
+	}
+
+	@Test
+	public void testImportThenExport() throws IOException {
+		File file = new File(folder.getRoot(), "old.xlsx");
+		try (Workbook workbook = new XSSFWorkbook(); OutputStream out = new FileOutputStream(file)) {
+			Sheet sheet = workbook.createSheet(SHEET);
+			Row header = sheet.createRow(0);
+			for (int i = 0; i < HEADERS.length; i++) {
+				header.createCell(i).setCellValue(HEADERS[i]);
+			}
+			Row row = sheet.createRow(1);
+			row.createCell(0).setCellValue("a");
+			row.createCell(1).setCellValue(0.5);
+			row.createCell(2).setCellValue(true);
+			workbook.write(out);
+		}
+
+		try (ResultJournal journal = new ResultJournal(file)) {
+			journal.initSheet(SHEET, HEADERS, 0);
+			journal.writeSheet(SHEET, Arrays.asList(row("b", 1.0, false)));
+		}
+		assertTrue(ResultJournal.getJournalFile(file).exists());
+		assertEquals(Arrays.asList("method|coverage|done", "a|0.5|true", "b|1.0|false"), readExcel(file));
+	}
+
+	@Test
+	public void testTwoJournalsOnSameFile() throws IOException {
+		File file = new File(folder.getRoot(), "shared.xlsx");
+		try (ResultJournal first = new ResultJournal(file); ResultJournal second = new ResultJournal(file)) {
+			first.initSheet(SHEET, HEADERS, 0);
+			second.initSheet(SHEET, HEADERS, 0);
+			first.writeSheet(SHEET, Arrays.asList(row("a", 0.5, true)));
+			second.writeSheet(SHEET, Arrays.asList(row("b", 1.0, false)));
+			first.writeSheet(SHEET, Arrays.asList(row("c", 0.0, null)));
+		}
+		assertEquals(Arrays.asList("method|coverage|done", "a|0.5|true", "b|1.0|false", "c|0.0|"),
+				readJournal(file));
+		assertEquals(readJournal(file), readExcel(file));
+	}
+
+	private File writeTwoRows() throws IOException {
+		File file = new File(folder.getRoot(), "result.xlsx");
+		try (ResultJournal journal = new ResultJournal(file)) {
+			journal.initSheet(SHEET, HEADERS, 0);
+			journal.writeSheet(SHEET, Arrays.asList(row("a", 0.5, true), row("b", 1.0, null)));
+		}
+		return file;
+	}
+
+	private static List<Object> row(Object... values) {
+		return new ArrayList<>(Arrays.asList(values));
+	}
+
+	private static List<String> readJournal(File file) throws IOException {
+		try (Workbook workbook = ResultJournal.readWorkbook(ResultJournal.getJournalFile(file))) {
+			return getRows(workbook.getSheet(SHEET));
+		}
+	}
+
+	private static List<String> readExcel(File file) throws IOException {
+		try (InputStream in = new FileInputStream(file); Workbook workbook = WorkbookFactory.create(in)) {
+			return getRows(workbook.getSheet(SHEET));
+		}
+	}
+
+	private static List<String> getRows(Sheet sheet) {
+		List<String> rows = new ArrayList<>();
+		for (Row row : sheet) {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < HEADERS.length; i++) {
+				if (i > 0) {
+					sb.append("|");
+				}
+				Cell cell = row.getCell(i);
+				if (cell == null) {
+					continue;
+				}
+				switch (cell.getCellType()) {
+				case BOOLEAN:
+					sb.append(cell.getBooleanCellValue());
+					break;
+				case NUMERIC:
+					sb.append(cell.getNumericCellValue());
+					break;
+				default:
+					sb.append(cell.getStringCellValue());
+				}
+			}
+			rows.add(sb.toString());
+		}
+		return rows;
+	}
+}